@@ -0,0 +1,85 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.config.AmortizationEngineConfig;
+import com.kuzminac.loan_service.loan_calculator.config.CalculationProperties;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentScheduleDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the amortization math of {@link LoanServiceImpl} in isolation from persistence.
+ * Run with {@code mvn -Pjmh test-compile exec:exec}; the gc profiler adds gc.alloc.rate.norm (bytes/op).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanServiceImplBenchmark {
+
+    @Param({"12", "360", "600", "10000"})
+    private int numberOfPayments;
+
+    @Param({"0", "5.5"})
+    private String interestRate;
+
+    @Param({"BIG_DECIMAL", "FIXED_POINT", "CLOSED_FORM"})
+    private CalculationProperties.Engine engine;
+
+    // Whether the rate is on the rate sheet, i.e. its annuity factors are precomputed
+    @Param({"false", "true"})
+    private boolean rateSheet;
+
+    private BatchCalculationExecutor batchExecutor;
+    private LoanCalculator loanCalculator;
+    private BigDecimal principal;
+    private BigDecimal monthlyInterestRate;
+    private BigDecimal payment;
+
+    @Setup
+    public void setUp() {
+        // The repository is never touched by the math under test
+        CalculationProperties properties = new CalculationProperties();
+        properties.setEngine(engine);
+        properties.getRateSheet().setMaxTerm(numberOfPayments);
+        if (rateSheet) {
+            properties.getRateSheet().getAnnualRates().add(new BigDecimal(interestRate));
+        }
+        AmortizationEngineConfig config = new AmortizationEngineConfig(properties);
+        batchExecutor = new BatchCalculationExecutor(properties);
+        loanCalculator = new LoanCalculator(config.amortizationEngine(config.annuityFactorTable(), batchExecutor), null, null);
+        principal = new BigDecimal("250000.00");
+        monthlyInterestRate = loanCalculator.calculateMonthlyInterestRate(new BigDecimal(interestRate));
+        payment = loanCalculator.calculateMonthlyPayment(principal, monthlyInterestRate, numberOfPayments);
+    }
+
+    @TearDown
+    public void tearDown() {
+        batchExecutor.destroy();
+    }
+
+    @Benchmark
+    public BigDecimal calculateMonthlyPayment() {
+        return loanCalculator.calculateMonthlyPayment(principal, monthlyInterestRate, numberOfPayments);
+    }
+
+    @Benchmark
+    public List<PaymentScheduleDTO> generatePaymentSchedule() {
+        return loanCalculator.generatePaymentSchedule(principal, monthlyInterestRate, numberOfPayments, payment);
+    }
+}
@@ -0,0 +1,67 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.config.CalculationProperties;
+import com.kuzminac.loan_service.loan_calculator.dto.PricingGridAxisDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PricingGridDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PricingGridRequestDTO;
+import com.kuzminac.loan_service.loan_calculator.service.engine.AnnuityFactorTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a pricing grid of 20 rates by 10 terms by {@code loanAmounts} amounts, i.e. 10,000 or 100,000 cells.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingGridCalculatorBenchmark {
+
+    @Param({"50", "500"})
+    private int loanAmounts;
+
+    private BatchCalculationExecutor batchExecutor;
+    private PricingGridCalculator calculator;
+    private PricingGridRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        CalculationProperties properties = new CalculationProperties();
+        batchExecutor = new BatchCalculationExecutor(properties);
+        calculator = new PricingGridCalculator(new AnnuityFactorTable(600), batchExecutor, properties);
+        request = PricingGridRequestDTO.builder()
+                .loanAmounts(range("10000", String.valueOf(10000 + (loanAmounts - 1) * 1000), "1000"))
+                .interestRates(range("3.00", "7.75", "0.25"))
+                .numberOfPayments(range("36", "360", "36"))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        batchExecutor.destroy();
+    }
+
+    @Benchmark
+    public PricingGridDTO calculate() {
+        return calculator.calculate(request);
+    }
+
+    private static PricingGridAxisDTO range(String from, String to, String step) {
+        return PricingGridAxisDTO.builder().from(new BigDecimal(from)).to(new BigDecimal(to)).step(new BigDecimal(step)).build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.kuzminac.loan_service.loan_calculator.config;
+
+import com.kuzminac.loan_service.loan_calculator.service.BatchCalculationExecutor;
+import com.kuzminac.loan_service.loan_calculator.service.engine.AmortizationEngine;
+import com.kuzminac.loan_service.loan_calculator.service.engine.AnnuityFactorTable;
+import com.kuzminac.loan_service.loan_calculator.service.engine.BigDecimalAmortizationEngine;
+import com.kuzminac.loan_service.loan_calculator.service.engine.ClosedFormAmortizationEngine;
+import com.kuzminac.loan_service.loan_calculator.service.engine.FixedPointAmortizationEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class AmortizationEngineConfig {
+
+    private final CalculationProperties properties;
+
+    @Bean
+    public AnnuityFactorTable annuityFactorTable() {
+        CalculationProperties.RateSheet rateSheet = properties.getRateSheet();
+        AnnuityFactorTable table = new AnnuityFactorTable(rateSheet.getMaxTerm());
+        table.load(rateSheet.getAnnualRates());
+        return table;
+    }
+
+    @Bean
+    public AmortizationEngine amortizationEngine(AnnuityFactorTable annuityFactorTable, BatchCalculationExecutor batchExecutor) {
+        BigDecimalAmortizationEngine reference = new BigDecimalAmortizationEngine(annuityFactorTable);
+        log.info("Using {} amortization engine", properties.getEngine());
+        return switch (properties.getEngine()) {
+            case BIG_DECIMAL -> reference;
+            case FIXED_POINT -> new FixedPointAmortizationEngine(reference);
+            case CLOSED_FORM -> new ClosedFormAmortizationEngine(new FixedPointAmortizationEngine(reference), batchExecutor);
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.kuzminac.loan_service.loan_calculator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * The file batch job of the batch profile.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.batch-file")
+@Getter
+@Setter
+public class BatchFileProperties {
+
+    private Path input;
+    private Path output;
+    private boolean includeSchedules = false;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    // Input is split at line boundaries until the pieces are at most this large; each is mapped and calculated as one task
+    private DataSize chunkSize = DataSize.ofMegabytes(16);
+    private long progressInterval = 100_000;
+}
@@ -0,0 +1,67 @@
+package com.kuzminac.loan_service.loan_calculator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.calculation")
+@Getter
+@Setter
+public class CalculationProperties {
+
+    private Engine engine = Engine.FIXED_POINT;
+    private Batch batch = new Batch();
+    private Cache cache = new Cache();
+    private RateSheet rateSheet = new RateSheet();
+    private PricingGrid pricingGrid = new PricingGrid();
+    private CashFlow cashFlow = new CashFlow();
+
+    public enum Engine {
+        BIG_DECIMAL,
+        FIXED_POINT,
+        CLOSED_FORM
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+        private int maxSize = 1000;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private int queueCapacity = 1024;
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = true;
+        // Summaries weigh 1, full results 1 + their number of periods
+        private long maximumWeight = 500_000;
+    }
+
+    @Getter
+    @Setter
+    public static class RateSheet {
+        // Annual rates in percent whose annuity factors are precomputed
+        private List<BigDecimal> annualRates = new ArrayList<>();
+        private int maxTerm = 600;
+    }
+
+    @Getter
+    @Setter
+    public static class PricingGrid {
+        private int maxCells = 250_000;
+    }
+
+    @Getter
+    @Setter
+    public static class CashFlow {
+        // Loan rows read from the database per round trip
+        private int fetchSize = 1000;
+    }
+}
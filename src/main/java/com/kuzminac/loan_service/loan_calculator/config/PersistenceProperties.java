@@ -0,0 +1,48 @@
+package com.kuzminac.loan_service.loan_calculator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.persistence")
+@Getter
+@Setter
+public class PersistenceProperties {
+
+    // Summary calculations store their schedule too; otherwise it is regenerated when the loan is read
+    private boolean storeSummarySchedules = false;
+    private WriteBehind writeBehind = new WriteBehind();
+    private Partitions partitions = new Partitions();
+
+    @Getter
+    @Setter
+    public static class WriteBehind {
+        private boolean enabled = false;
+        private int queueCapacity = 10_000;
+        private int batchSize = 500;
+        private Duration flushInterval = Duration.ofMillis(100);
+        // How long a request waits for queue space before it is rejected
+        private Duration offerTimeout = Duration.ofSeconds(1);
+        private int maxAttempts = 3;
+        private Duration drainTimeout = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Partitions {
+        private boolean maintenanceEnabled = true;
+        private String cron = "0 30 2 * * *";
+        // Monthly partitions created ahead of the current month
+        private int monthsAhead = 3;
+        // Past months kept besides the current one; older partitions are archived. 0 keeps everything
+        private int retentionMonths = 0;
+        private Path archiveDirectory = Path.of("archive");
+        // Creating and detaching partitions locks loans exclusively; a step that waits longer is retried on the next run
+        private Duration lockTimeout = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,44 @@
+package com.kuzminac.loan_service.loan_calculator.controller;
+
+import com.kuzminac.loan_service.loan_calculator.dto.CashFlowProjectionDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.ErrorResponseDTO;
+import com.kuzminac.loan_service.loan_calculator.service.CashFlowProjector;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/cash-flow")
+@Profile("!reactive & !batch")
+@Slf4j
+@RequiredArgsConstructor
+public class CashFlowController {
+
+    private final CashFlowProjector cashFlowProjector;
+
+    @Operation(summary = "Project Portfolio Cash Flow",
+            description = "Sums the scheduled payment, principal and interest of all stored loans per month, "
+                    + "from next month (UTC) to the last payment due. A loan's first payment is due the month after it was created.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully projected the cash flow",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CashFlowProjectionDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @GetMapping
+    public ResponseEntity<CashFlowProjectionDTO> projectCashFlow() {
+        log.info("Received cash flow projection request");
+        return ResponseEntity.ok(cashFlowProjector.project());
+    }
+}
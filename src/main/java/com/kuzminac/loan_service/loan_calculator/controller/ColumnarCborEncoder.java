@@ -0,0 +1,48 @@
+package com.kuzminac.loan_service.loan_calculator.controller;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractSingleValueEncoder;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Reactive counterpart of {@link ColumnarCborHttpMessageConverter}.
+ */
+class ColumnarCborEncoder extends AbstractSingleValueEncoder<Object> {
+
+    ColumnarCborEncoder() {
+        super(MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        return super.canEncode(elementType, mimeType) && ColumnarCborWriter.supports(elementType.toClass());
+    }
+
+    @Override
+    protected Flux<DataBuffer> encode(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                      MimeType mimeType, Map<String, Object> hints) {
+        return Flux.just(encodeValue(value, bufferFactory, valueType, mimeType, hints));
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                 MimeType mimeType, Map<String, Object> hints) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(1024);
+        try {
+            ColumnarCborWriter.write(value, buffer.asOutputStream());
+            return buffer;
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new EncodingException("Could not write columnar CBOR", e);
+        }
+    }
+}
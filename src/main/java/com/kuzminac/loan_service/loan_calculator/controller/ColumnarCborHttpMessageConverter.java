@@ -0,0 +1,39 @@
+package com.kuzminac.loan_service.loan_calculator.controller;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+
+import java.io.IOException;
+
+/**
+ * Writes loan responses requested with {@code Accept: application/cbor} through {@link ColumnarCborWriter}.
+ * Jackson's generic CBOR converter still reads CBOR request bodies and writes every other type.
+ */
+class ColumnarCborHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    ColumnarCborHttpMessageConverter() {
+        super(MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ColumnarCborWriter.supports(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new UnsupportedOperationException("Columnar CBOR is a response format only");
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        ColumnarCborWriter.write(value, outputMessage.getBody());
+    }
+}
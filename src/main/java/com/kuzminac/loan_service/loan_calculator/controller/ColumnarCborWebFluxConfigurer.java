@@ -0,0 +1,23 @@
+package com.kuzminac.loan_service.loan_calculator.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Registers {@link ColumnarCborEncoder}, and Jackson's CBOR decoder for request bodies, with the reactive stack's
+ * codecs. Custom codecs always precede the JSON encoder, so the mappings that offer CBOR list JSON first in
+ * {@code produces}; that keeps JSON the answer for clients that accept any media type.
+ */
+@Component
+@Profile("reactive")
+class ColumnarCborWebFluxConfigurer implements WebFluxConfigurer {
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.customCodecs().register(new ColumnarCborEncoder());
+        configurer.customCodecs().register(new Jackson2CborDecoder());
+    }
+}
@@ -0,0 +1,28 @@
+package com.kuzminac.loan_service.loan_calculator.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registers {@link ColumnarCborHttpMessageConverter} just ahead of Jackson's CBOR converter. Not as a converter
+ * bean: those are put in front of the JSON converter, and clients that accept any media type would then get
+ * CBOR instead of JSON.
+ */
+@Component
+@Profile("!reactive")
+class ColumnarCborWebMvcConfigurer implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        int index = 0;
+        while (index < converters.size() && !(converters.get(index) instanceof MappingJackson2CborHttpMessageConverter)) {
+            index++;
+        }
+        converters.add(index, new ColumnarCborHttpMessageConverter());
+    }
+}
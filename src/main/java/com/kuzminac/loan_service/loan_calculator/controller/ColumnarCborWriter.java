@@ -0,0 +1,188 @@
+package com.kuzminac.loan_service.loan_calculator.controller;
+
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.kuzminac.loan_service.loan_calculator.dto.LazyPaymentSchedule;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanResponseDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedule;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedulePageDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.RecalculatedScheduleDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Compact {@code application/cbor} encoding of loan responses and schedules for service-to-service callers. Scalar amounts and
+ * rates are CBOR decimal fractions, so they round-trip exactly. The payment schedule is columnar: one array per
+ * field, amounts as integers scaled by {@code amountScale} (cents), which is what makes long schedules small and
+ * cheap to decode compared to one text-encoded object per period.
+ * <pre>
+ * { "loanId": 1, "loanAmount": 4([-2, 100000]), ..., "paymentSchedule": {
+ *     "amountScale": 2, "period": [1, 2, 3], "payment": [33611, 33611, 33611], ... } }
+ * </pre>
+ */
+final class ColumnarCborWriter {
+
+    static final int AMOUNT_SCALE = 2;
+
+    private static final CBORFactory CBOR_FACTORY = CBORFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private ColumnarCborWriter() {
+    }
+
+    static boolean supports(Class<?> clazz) {
+        return LoanResponseDTO.class.isAssignableFrom(clazz) || PaymentSchedulePageDTO.class.isAssignableFrom(clazz)
+                || RecalculatedScheduleDTO.class.isAssignableFrom(clazz);
+    }
+
+    static void write(Object value, OutputStream outputStream) throws IOException {
+        try (CBORGenerator generator = CBOR_FACTORY.createGenerator(outputStream)) {
+            if (value instanceof LoanResponseDTO response) {
+                write(generator, response);
+            } else if (value instanceof PaymentSchedulePageDTO page) {
+                write(generator, page);
+            } else if (value instanceof RecalculatedScheduleDTO recalculated) {
+                write(generator, recalculated);
+            } else {
+                throw new IllegalArgumentException("Unsupported type: " + value.getClass().getName());
+            }
+        }
+    }
+
+    private static void write(CBORGenerator generator, LoanResponseDTO response) throws IOException {
+        generator.writeStartObject(response, response.getPaymentSchedule() == null ? 6 : 7);
+        generator.writeFieldName("loanId");
+        writeNullable(generator, response.getLoanId());
+        writeDecimal(generator, "loanAmount", response.getLoanAmount());
+        writeDecimal(generator, "interestRate", response.getInterestRate());
+        generator.writeFieldName("numberOfPayments");
+        writeNullable(generator, response.getNumberOfPayments());
+        writeDecimal(generator, "totalPayment", response.getTotalPayment());
+        writeDecimal(generator, "totalInterest", response.getTotalInterest());
+        // Omitted for summary-only responses, as in JSON
+        if (response.getPaymentSchedule() != null) {
+            generator.writeFieldName("paymentSchedule");
+            writeSchedule(generator, response.getPaymentSchedule());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void write(CBORGenerator generator, PaymentSchedulePageDTO page) throws IOException {
+        generator.writeStartObject(page, 5);
+        generator.writeFieldName("loanId");
+        writeNullable(generator, page.getLoanId());
+        generator.writeFieldName("numberOfPayments");
+        writeNullable(generator, page.getNumberOfPayments());
+        generator.writeFieldName("fromPeriod");
+        writeNullable(generator, page.getFromPeriod());
+        generator.writeFieldName("toPeriod");
+        writeNullable(generator, page.getToPeriod());
+        generator.writeFieldName("paymentSchedule");
+        writeSchedule(generator, page.getPaymentSchedule() == null ? List.of() : page.getPaymentSchedule());
+        generator.writeEndObject();
+    }
+
+    private static void write(CBORGenerator generator, RecalculatedScheduleDTO recalculated) throws IOException {
+        generator.writeStartObject(recalculated, 8);
+        generator.writeFieldName("loanId");
+        writeNullable(generator, recalculated.getLoanId());
+        writeDecimal(generator, "loanAmount", recalculated.getLoanAmount());
+        writeDecimal(generator, "interestRate", recalculated.getInterestRate());
+        generator.writeFieldName("numberOfPayments");
+        writeNullable(generator, recalculated.getNumberOfPayments());
+        generator.writeFieldName("recalculatedFromPeriod");
+        writeNullable(generator, recalculated.getRecalculatedFromPeriod());
+        writeDecimal(generator, "totalPayment", recalculated.getTotalPayment());
+        writeDecimal(generator, "totalInterest", recalculated.getTotalInterest());
+        generator.writeFieldName("paymentSchedule");
+        writeSchedule(generator, recalculated.getPaymentSchedule() == null ? List.of() : recalculated.getPaymentSchedule());
+        generator.writeEndObject();
+    }
+
+    private static void writeSchedule(CBORGenerator generator, List<PaymentScheduleDTO> schedule) throws IOException {
+        if (schedule instanceof LazyPaymentSchedule lazy) {
+            schedule = lazy.resolve();
+        }
+        if (schedule instanceof PaymentSchedule columns) {
+            writeSchedule(generator, columns);
+            return;
+        }
+        generator.writeStartObject(schedule, 6);
+        generator.writeNumberField("amountScale", AMOUNT_SCALE);
+        generator.writeFieldName("period");
+        generator.writeStartArray(schedule, schedule.size());
+        for (PaymentScheduleDTO row : schedule) {
+            generator.writeNumber(row.getPeriod());
+        }
+        generator.writeEndArray();
+        writeAmountColumn(generator, "payment", schedule, PaymentScheduleDTO::getPayment);
+        writeAmountColumn(generator, "principalAmount", schedule, PaymentScheduleDTO::getPrincipalAmount);
+        writeAmountColumn(generator, "interestAmount", schedule, PaymentScheduleDTO::getInterestAmount);
+        writeAmountColumn(generator, "balanceOwed", schedule, PaymentScheduleDTO::getBalanceOwed);
+        generator.writeEndObject();
+    }
+
+    private static void writeSchedule(CBORGenerator generator, PaymentSchedule schedule) throws IOException {
+        // Already columnar and in cents, so the values are copied as they are
+        int size = schedule.size();
+        generator.writeStartObject(schedule, 6);
+        generator.writeNumberField("amountScale", AMOUNT_SCALE);
+        generator.writeFieldName("period");
+        generator.writeStartArray(schedule, size);
+        for (int i = 0; i < size; i++) {
+            generator.writeNumber(schedule.getPeriod(i));
+        }
+        generator.writeEndArray();
+        writeCentsColumn(generator, "payment", size, schedule::getPaymentCents);
+        writeCentsColumn(generator, "principalAmount", size, schedule::getPrincipalAmountCents);
+        writeCentsColumn(generator, "interestAmount", size, schedule::getInterestAmountCents);
+        writeCentsColumn(generator, "balanceOwed", size, schedule::getBalanceOwedCents);
+        generator.writeEndObject();
+    }
+
+    private static void writeCentsColumn(CBORGenerator generator, String fieldName, int size, IntToLongFunction column) throws IOException {
+        generator.writeFieldName(fieldName);
+        generator.writeStartArray(null, size);
+        for (int i = 0; i < size; i++) {
+            generator.writeNumber(column.applyAsLong(i));
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeAmountColumn(CBORGenerator generator, String fieldName, List<PaymentScheduleDTO> schedule,
+                                          Function<PaymentScheduleDTO, BigDecimal> column) throws IOException {
+        generator.writeFieldName(fieldName);
+        generator.writeStartArray(schedule, schedule.size());
+        for (PaymentScheduleDTO row : schedule) {
+            // Schedule amounts always have two decimals, so this never rounds
+            generator.writeNumber(column.apply(row).setScale(AMOUNT_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeDecimal(CBORGenerator generator, String fieldName, BigDecimal value) throws IOException {
+        generator.writeFieldName(fieldName);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writeNullable(CBORGenerator generator, Number value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value.longValue());
+        }
+    }
+}
@@ -1,11 +1,19 @@
 package com.kuzminac.loan_service.loan_calculator.controller;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kuzminac.loan_service.loan_calculator.dto.ErrorResponseDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanBatchItemDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanPageDTO;
 import com.kuzminac.loan_service.loan_calculator.dto.LoanRequestDTO;
 import com.kuzminac.loan_service.loan_calculator.dto.LoanResponseDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedulePageDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.RecalculatedScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.ScheduleRecalculationRequestDTO;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanSearchCriteria;
 import com.kuzminac.loan_service.loan_calculator.service.LoanService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,27 +21,43 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.math.BigDecimal;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/loans")
+@Profile("!reactive & !batch")
 @Slf4j
 @RequiredArgsConstructor
 public class LoanController {
 
+    private static final String INCLUDE_SUMMARY = "summary";
+    private static final String DEFAULT_PAGE_SIZE = "50";
+
     private final LoanService loanService;
+    private final ObjectMapper objectMapper;
 
 
     @Operation(summary = "Calculate Loan Details",
-            description = "Calculates loan details including payment schedule based on the provided loan amount, interest rate, and number of payments.")
+            description = "Calculates loan details including payment schedule based on the provided loan amount, interest rate, and number of payments. "
+                    + "Use include=summary to skip the payment schedule.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully calculated loan details",
-                    content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = LoanResponseDTO.class))),
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = LoanResponseDTO.class)),
+                            @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE)}),
             @ApiResponse(responseCode = "400", description = "Invalid input parameters",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorResponseDTO.class))),
@@ -42,9 +66,143 @@ public class LoanController {
                             schema = @Schema(implementation = ErrorResponseDTO.class)))
     })
     @PostMapping("/calculate")
-    public ResponseEntity<LoanResponseDTO> calculateLoan(@Valid @RequestBody LoanRequestDTO requestDTO) {
+    public ResponseEntity<LoanResponseDTO> calculateLoan(@Valid @RequestBody LoanRequestDTO requestDTO,
+                                                         @RequestParam(name = "include", required = false) String include) {
         log.info("Received loan calculation request: {}", requestDTO);
-        LoanResponseDTO responseDTO = loanService.calculateLoan(requestDTO);
+        boolean includeSchedule = !INCLUDE_SUMMARY.equalsIgnoreCase(include);
+        LoanResponseDTO responseDTO = loanService.calculateLoan(requestDTO, includeSchedule);
         return ResponseEntity.ok(responseDTO);
     }
+
+    @Operation(summary = "Calculate Loan Details (streaming)",
+            description = "Same calculation as the JSON variant, returned as newline-delimited JSON: the loan summary on the first line, "
+                    + "then one line per payment period, written as each period is computed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully calculated loan details",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)),
+            @ApiResponse(responseCode = "400", description = "Invalid input parameters",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @PostMapping(value = "/calculate", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> calculateLoanStreaming(@Valid @RequestBody LoanRequestDTO requestDTO) {
+        log.info("Received streaming loan calculation request: {}", requestDTO);
+        // The loan is validated and persisted before the response is committed, so errors still map to a status code
+        LoanResponseDTO summary = loanService.calculateLoan(requestDTO, false);
+        StreamingResponseBody body = outputStream -> {
+            try (NdjsonScheduleWriter writer = new NdjsonScheduleWriter(objectMapper, outputStream)) {
+                writer.writeLine(summary);
+                loanService.generatePaymentSchedule(requestDTO, writer);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @Operation(summary = "Calculate Loans in Bulk",
+            description = "Validates and calculates every loan of the batch independently and saves the valid ones together. "
+                    + "Returns one result per item in input order, carrying either the loan or the item's error. "
+                    + "Use include=summary to skip the payment schedules.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see the status of every item",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = LoanBatchItemDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @PostMapping("/calculate/batch")
+    public ResponseEntity<List<LoanBatchItemDTO>> calculateLoans(@RequestBody List<LoanRequestDTO> requests,
+                                                                 @RequestParam(name = "include", required = false) String include) {
+        log.info("Received batch loan calculation request with {} loans", requests.size());
+        boolean includeSchedule = !INCLUDE_SUMMARY.equalsIgnoreCase(include);
+        return ResponseEntity.ok(loanService.calculateLoans(requests, includeSchedule));
+    }
+
+    @Operation(summary = "Get Payment Schedule Periods",
+            description = "Computes only the requested periods of a stored loan's payment schedule. toPeriod defaults to the last payment.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully calculated the requested periods",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PaymentSchedulePageDTO.class)),
+                            @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE)}),
+            @ApiResponse(responseCode = "400", description = "Invalid period range",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Loan not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @GetMapping("/{id}/schedule")
+    public ResponseEntity<PaymentSchedulePageDTO> getPaymentSchedule(@PathVariable("id") Long loanId,
+                                                                     @RequestParam(name = "fromPeriod", defaultValue = "1") int fromPeriod,
+                                                                     @RequestParam(name = "toPeriod", required = false) Integer toPeriod) {
+        log.info("Received payment schedule request for loan ID: {}, periods {}..{}", loanId, fromPeriod, toPeriod);
+        return ResponseEntity.ok(loanService.getPaymentSchedule(loanId, fromPeriod, toPeriod));
+    }
+
+    @Operation(summary = "Recalculate Payment Schedule",
+            description = "Applies extra payments and rate changes to a stored loan's payment schedule without saving anything. "
+                    + "Periods before the first event are the stored ones; from it on the schedule is recomputed from the balance owed, "
+                    + "re-amortizing the balance over the remaining periods after every event.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully recalculated the schedule",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RecalculatedScheduleDTO.class)),
+                            @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE)}),
+            @ApiResponse(responseCode = "400", description = "Invalid events",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Loan not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @PostMapping("/{id}/schedule/recalculate")
+    public ResponseEntity<RecalculatedScheduleDTO> recalculateSchedule(@PathVariable("id") Long loanId,
+                                                                       @Valid @RequestBody ScheduleRecalculationRequestDTO requestDTO) {
+        log.info("Received schedule recalculation request for loan ID: {}, {}", loanId, requestDTO);
+        return ResponseEntity.ok(loanService.recalculateSchedule(loanId, requestDTO));
+    }
+
+    @Operation(summary = "List Loans",
+            description = "Lists saved loans newest first, optionally filtered by inclusive loan amount, interest rate and term "
+                    + "(number of payments) ranges. Pass nextCursor of a page as after to get the next one; limit is at most 500.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully listed the loans",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = LoanPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid limit or cursor",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @GetMapping
+    public ResponseEntity<LoanPageDTO> findLoans(@RequestParam(name = "minAmount", required = false) BigDecimal minAmount,
+                                                 @RequestParam(name = "maxAmount", required = false) BigDecimal maxAmount,
+                                                 @RequestParam(name = "minRate", required = false) BigDecimal minRate,
+                                                 @RequestParam(name = "maxRate", required = false) BigDecimal maxRate,
+                                                 @RequestParam(name = "minTerm", required = false) Integer minTerm,
+                                                 @RequestParam(name = "maxTerm", required = false) Integer maxTerm,
+                                                 @RequestParam(name = "after", required = false) String after,
+                                                 @RequestParam(name = "limit", defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        log.info("Received loan listing request after {} with limit {}", after, limit);
+        LoanSearchCriteria criteria = new LoanSearchCriteria(minAmount, maxAmount, minRate, maxRate, minTerm, maxTerm);
+        return ResponseEntity.ok(loanService.findLoans(criteria, after, limit));
+    }
+
+    @Operation(summary = "Get Loan",
+            description = "Returns a saved loan with the payment schedule stored when it was calculated, so it matches the original "
+                    + "response. Loans saved before schedules were stored are returned without a schedule.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the loan",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = LoanResponseDTO.class)),
+                            @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE)}),
+            @ApiResponse(responseCode = "404", description = "Loan not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<LoanResponseDTO> getLoan(@PathVariable("id") Long loanId) {
+        log.info("Received loan request for loan ID: {}", loanId);
+        return ResponseEntity.ok(loanService.getLoan(loanId));
+    }
 }
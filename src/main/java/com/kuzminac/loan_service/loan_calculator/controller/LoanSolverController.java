@@ -0,0 +1,63 @@
+package com.kuzminac.loan_service.loan_calculator.controller;
+
+import com.kuzminac.loan_service.loan_calculator.dto.ErrorResponseDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanSolutionDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanSolverRequestDTO;
+import com.kuzminac.loan_service.loan_calculator.service.LoanSolver;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/loans/solve")
+@Slf4j
+@RequiredArgsConstructor
+@ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully solved",
+                content = @Content(mediaType = "application/json",
+                        schema = @Schema(implementation = LoanSolutionDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Missing or invalid input, or no solution",
+                content = @Content(mediaType = "application/json",
+                        schema = @Schema(implementation = ErrorResponseDTO.class)))
+})
+public class LoanSolverController {
+
+    private final LoanSolver loanSolver;
+
+    @Operation(summary = "Solve for Loan Amount",
+            description = "The largest loan amount whose monthly payment does not exceed the given payment, "
+                    + "for the given interest rate and number of payments. Nothing is saved.")
+    @PostMapping("/loan-amount")
+    public ResponseEntity<LoanSolutionDTO> solveLoanAmount(@Valid @RequestBody LoanSolverRequestDTO requestDTO) {
+        log.info("Received loan amount solver request: {}", requestDTO);
+        return ResponseEntity.ok(loanSolver.solveLoanAmount(requestDTO));
+    }
+
+    @Operation(summary = "Solve for Number of Payments",
+            description = "The fewest payments, up to 1200, whose monthly payment does not exceed the given payment, "
+                    + "for the given loan amount and interest rate. Nothing is saved.")
+    @PostMapping("/number-of-payments")
+    public ResponseEntity<LoanSolutionDTO> solveNumberOfPayments(@Valid @RequestBody LoanSolverRequestDTO requestDTO) {
+        log.info("Received number of payments solver request: {}", requestDTO);
+        return ResponseEntity.ok(loanSolver.solveNumberOfPayments(requestDTO));
+    }
+
+    @Operation(summary = "Solve for Interest Rate",
+            description = "The lowest annual interest rate, to six decimals, whose monthly payment is at least the given payment, "
+                    + "for the given loan amount and number of payments. Nothing is saved.")
+    @PostMapping("/interest-rate")
+    public ResponseEntity<LoanSolutionDTO> solveInterestRate(@Valid @RequestBody LoanSolverRequestDTO requestDTO) {
+        log.info("Received interest rate solver request: {}", requestDTO);
+        return ResponseEntity.ok(loanSolver.solveInterestRate(requestDTO));
+    }
+}
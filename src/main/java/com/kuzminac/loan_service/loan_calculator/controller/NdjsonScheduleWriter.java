@@ -0,0 +1,80 @@
+package com.kuzminac.loan_service.loan_calculator.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedule;
+import com.kuzminac.loan_service.loan_calculator.service.engine.ScheduleSink;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+
+/**
+ * Writes one JSON document per line straight to the response stream. Periods are formatted from cents into a
+ * reused buffer, so memory stays constant however long the schedule is.
+ */
+class NdjsonScheduleWriter implements ScheduleSink, Closeable {
+
+    private final ObjectMapper objectMapper;
+    private final JsonGenerator generator;
+    private final char[] amountBuffer = new char[21];
+
+    NdjsonScheduleWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        this.objectMapper = objectMapper;
+        this.generator = objectMapper.getFactory().createGenerator(outputStream);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    /**
+     * Writes a line and flushes it, so the client gets its first bytes before the schedule is computed.
+     */
+    void writeLine(Object value) throws IOException {
+        objectMapper.writeValue(generator, value);
+        generator.writeRaw('\n');
+        generator.flush();
+    }
+
+    @Override
+    public void accept(int period, long payment, long principalAmount, long interestAmount, long balanceOwed) {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("period", period);
+            writeAmount("payment", payment);
+            writeAmount("principalAmount", principalAmount);
+            writeAmount("interestAmount", interestAmount);
+            writeAmount("balanceOwed", balanceOwed);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void accept(int period, BigDecimal payment, BigDecimal principalAmount, BigDecimal interestAmount, BigDecimal balanceOwed) {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("period", period);
+            generator.writeNumberField("payment", payment);
+            generator.writeNumberField("principalAmount", principalAmount);
+            generator.writeNumberField("interestAmount", interestAmount);
+            generator.writeNumberField("balanceOwed", balanceOwed);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+    private void writeAmount(String fieldName, long cents) throws IOException {
+        generator.writeFieldName(fieldName);
+        PaymentSchedule.writeCents(generator, cents, amountBuffer);
+    }
+}
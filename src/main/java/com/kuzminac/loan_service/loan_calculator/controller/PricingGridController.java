@@ -0,0 +1,46 @@
+package com.kuzminac.loan_service.loan_calculator.controller;
+
+import com.kuzminac.loan_service.loan_calculator.dto.ErrorResponseDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PricingGridDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PricingGridRequestDTO;
+import com.kuzminac.loan_service.loan_calculator.service.PricingGridCalculator;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/pricing-grid")
+@Slf4j
+@RequiredArgsConstructor
+public class PricingGridController {
+
+    private final PricingGridCalculator pricingGridCalculator;
+
+    @Operation(summary = "Calculate Pricing Grid",
+            description = "Calculates the monthly payment, total payment and total interest of every combination of the given loan amounts, "
+                    + "interest rates and numbers of payments, each given as a list of values or as a from/to/step range. "
+                    + "Nothing is saved. Results are identical to calculating every cell on its own.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully calculated the grid",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PricingGridDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid axes or too many cells",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @PostMapping
+    public ResponseEntity<PricingGridDTO> calculatePricingGrid(@Valid @RequestBody PricingGridRequestDTO requestDTO) {
+        log.info("Received pricing grid request: {}", requestDTO);
+        return ResponseEntity.ok(pricingGridCalculator.calculate(requestDTO));
+    }
+}
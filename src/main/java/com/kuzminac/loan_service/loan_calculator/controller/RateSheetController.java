@@ -0,0 +1,60 @@
+package com.kuzminac.loan_service.loan_calculator.controller;
+
+import com.kuzminac.loan_service.loan_calculator.dto.ErrorResponseDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.RateSheetDTO;
+import com.kuzminac.loan_service.loan_calculator.service.engine.AnnuityFactorTable;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/rate-sheet")
+@Slf4j
+@RequiredArgsConstructor
+public class RateSheetController {
+
+    private final AnnuityFactorTable annuityFactorTable;
+
+    @Operation(summary = "Get Rate Sheet",
+            description = "Lists the annual rates whose annuity factors are precomputed.")
+    @GetMapping
+    public ResponseEntity<RateSheetDTO> getRateSheet() {
+        return ResponseEntity.ok(currentRateSheet());
+    }
+
+    @Operation(summary = "Replace Rate Sheet",
+            description = "Precomputes the annuity factors of the given annual rates for every term up to maxTerm and replaces the previous sheet. "
+                    + "Payments are identical with and without the sheet; rates on it are only calculated faster.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rate sheet loaded",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RateSheetDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid rates",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @PutMapping
+    public ResponseEntity<RateSheetDTO> replaceRateSheet(@Valid @RequestBody RateSheetDTO rateSheetDTO) {
+        log.info("Loading rate sheet with {} rates", rateSheetDTO.getAnnualRates().size());
+        annuityFactorTable.load(rateSheetDTO.getAnnualRates());
+        return ResponseEntity.ok(currentRateSheet());
+    }
+
+    private RateSheetDTO currentRateSheet() {
+        return RateSheetDTO.builder()
+                .annualRates(annuityFactorTable.getAnnualRates())
+                .maxTerm(annuityFactorTable.getMaxTerm())
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.kuzminac.loan_service.loan_calculator.controller;
+
+import com.kuzminac.loan_service.loan_calculator.dto.LoanPageDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanRequestDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanResponseDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedulePageDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.RecalculatedScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.ScheduleRecalculationRequestDTO;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanSearchCriteria;
+import com.kuzminac.loan_service.loan_calculator.service.ReactiveLoanService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * WebFlux counterpart of {@link LoanController}, active with the reactive profile. Same paths and payloads; the
+ * batch endpoint is only offered by the servlet stack.
+ */
+@RestController
+@RequestMapping("/api/v1/loans")
+@Profile("reactive")
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveLoanController {
+
+    private static final String INCLUDE_SUMMARY = "summary";
+    private static final String DEFAULT_PAGE_SIZE = "50";
+
+    private final ReactiveLoanService loanService;
+
+    @PostMapping(value = "/calculate", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<LoanResponseDTO> calculateLoan(@Valid @RequestBody LoanRequestDTO requestDTO,
+                                               @RequestParam(name = "include", required = false) String include) {
+        log.info("Received loan calculation request: {}", requestDTO);
+        boolean includeSchedule = !INCLUDE_SUMMARY.equalsIgnoreCase(include);
+        return loanService.calculateLoan(requestDTO, includeSchedule);
+    }
+
+    @PostMapping(value = "/calculate", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Object> calculateLoanStreaming(@Valid @RequestBody LoanRequestDTO requestDTO) {
+        log.info("Received streaming loan calculation request: {}", requestDTO);
+        // The summary comes first, so a failed calculation still maps to a status code; periods follow on demand
+        return Flux.concat(loanService.calculateLoan(requestDTO, false), loanService.generatePaymentSchedule(requestDTO));
+    }
+
+    @GetMapping(value = "/{id}/schedule", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<PaymentSchedulePageDTO> getPaymentSchedule(@PathVariable("id") Long loanId,
+                                                           @RequestParam(name = "fromPeriod", defaultValue = "1") int fromPeriod,
+                                                           @RequestParam(name = "toPeriod", required = false) Integer toPeriod) {
+        log.info("Received payment schedule request for loan ID: {}, periods {}..{}", loanId, fromPeriod, toPeriod);
+        return loanService.getPaymentSchedule(loanId, fromPeriod, toPeriod);
+    }
+
+    @PostMapping(value = "/{id}/schedule/recalculate", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<RecalculatedScheduleDTO> recalculateSchedule(@PathVariable("id") Long loanId,
+                                                             @Valid @RequestBody ScheduleRecalculationRequestDTO requestDTO) {
+        log.info("Received schedule recalculation request for loan ID: {}, {}", loanId, requestDTO);
+        return loanService.recalculateSchedule(loanId, requestDTO);
+    }
+
+    @GetMapping
+    public Mono<LoanPageDTO> findLoans(@RequestParam(name = "minAmount", required = false) BigDecimal minAmount,
+                                       @RequestParam(name = "maxAmount", required = false) BigDecimal maxAmount,
+                                       @RequestParam(name = "minRate", required = false) BigDecimal minRate,
+                                       @RequestParam(name = "maxRate", required = false) BigDecimal maxRate,
+                                       @RequestParam(name = "minTerm", required = false) Integer minTerm,
+                                       @RequestParam(name = "maxTerm", required = false) Integer maxTerm,
+                                       @RequestParam(name = "after", required = false) String after,
+                                       @RequestParam(name = "limit", defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        log.info("Received loan listing request after {} with limit {}", after, limit);
+        LoanSearchCriteria criteria = new LoanSearchCriteria(minAmount, maxAmount, minRate, maxRate, minTerm, maxTerm);
+        return loanService.findLoans(criteria, after, limit);
+    }
+
+    @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<LoanResponseDTO> getLoan(@PathVariable("id") Long loanId) {
+        log.info("Received loan request for loan ID: {}", loanId);
+        return loanService.getLoan(loanId);
+    }
+}
@@ -0,0 +1,25 @@
+package com.kuzminac.loan_service.loan_calculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * The scheduled payments of all loans due in one month.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CashFlowMonthDTO {
+    @Schema(type = "string", example = "2026-11")
+    private YearMonth month;
+    @Schema(description = "Number of loans with a payment due in the month")
+    private Integer payments;
+    private BigDecimal payment;
+    private BigDecimal principalAmount;
+    private BigDecimal interestAmount;
+}
@@ -0,0 +1,27 @@
+package com.kuzminac.loan_service.loan_calculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Expected cash flow of the stored loans, one entry per month from {@code fromMonth} to the last payment due.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CashFlowProjectionDTO {
+    @Schema(type = "string", example = "2026-11")
+    private YearMonth fromMonth;
+    @Schema(description = "Number of loans with payments due from fromMonth on")
+    private Long loans;
+    private BigDecimal totalPayment;
+    private BigDecimal totalPrincipal;
+    private BigDecimal totalInterest;
+    private List<CashFlowMonthDTO> months;
+}
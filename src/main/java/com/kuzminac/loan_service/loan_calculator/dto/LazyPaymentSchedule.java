@@ -0,0 +1,75 @@
+package com.kuzminac.loan_service.loan_calculator.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Supplier;
+
+/**
+ * Payment schedule of a known length whose periods are generated the first time they are read, typically while
+ * the response is serialized. Callers that only look at the totals never pay for the schedule. Generated once,
+ * also when shared between threads through the result cache.
+ */
+@JsonSerialize(using = LazyPaymentSchedule.Serializer.class)
+public final class LazyPaymentSchedule extends AbstractList<PaymentScheduleDTO> implements RandomAccess {
+
+    private final int size;
+    private Supplier<List<PaymentScheduleDTO>> generator;
+    private volatile List<PaymentScheduleDTO> schedule;
+
+    public LazyPaymentSchedule(int size, Supplier<List<PaymentScheduleDTO>> generator) {
+        this.size = size;
+        this.generator = generator;
+    }
+
+    /**
+     * Generates the schedule unless that already happened, and returns it.
+     */
+    public List<PaymentScheduleDTO> resolve() {
+        List<PaymentScheduleDTO> resolved = schedule;
+        if (resolved == null) {
+            synchronized (this) {
+                resolved = schedule;
+                if (resolved == null) {
+                    resolved = generator.get();
+                    schedule = resolved;
+                    generator = null;
+                }
+            }
+        }
+        return resolved;
+    }
+
+    public boolean isResolved() {
+        return schedule != null;
+    }
+
+    @Override
+    public PaymentScheduleDTO get(int index) {
+        return resolve().get(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public static final class Serializer extends StdSerializer<LazyPaymentSchedule> {
+
+        public Serializer() {
+            super(LazyPaymentSchedule.class);
+        }
+
+        @Override
+        public void serialize(LazyPaymentSchedule schedule, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            // Serialized as whatever was generated, usually a columnar PaymentSchedule
+            provider.defaultSerializeValue(schedule.resolve(), generator);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.kuzminac.loan_service.loan_calculator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Outcome of one item of a batch calculation: the calculated loan, or the error that item alone would have produced.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LoanBatchItemDTO {
+    private int index;
+    private int status;
+    private LoanResponseDTO loan;
+    private String error;
+    private String message;
+    private List<String> details;
+}
@@ -0,0 +1,19 @@
+package com.kuzminac.loan_service.loan_calculator.dto;
+
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoanPageDTO {
+    private List<LoanSummaryDTO> loans;
+    // Pass as "after" to get the next page; omitted on the last page
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+}
@@ -1,6 +1,7 @@
 package com.kuzminac.loan_service.loan_calculator.dto;
 
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.math.BigDecimal;
@@ -18,5 +19,7 @@ public class LoanResponseDTO {
     private Integer numberOfPayments;
     private BigDecimal totalPayment;
     private BigDecimal totalInterest;
+    // Omitted for summary-only responses
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<PaymentScheduleDTO> paymentSchedule;
 }
@@ -0,0 +1,22 @@
+package com.kuzminac.loan_service.loan_calculator.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * A solved loan, with the payment and totals {@code calculate} returns for it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoanSolutionDTO {
+    private BigDecimal loanAmount;
+    private BigDecimal interestRate;
+    private Integer numberOfPayments;
+    private BigDecimal payment;
+    private BigDecimal totalPayment;
+    private BigDecimal totalInterest;
+}
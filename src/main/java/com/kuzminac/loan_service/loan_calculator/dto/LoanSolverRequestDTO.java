@@ -0,0 +1,43 @@
+package com.kuzminac.loan_service.loan_calculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import com.kuzminac.loan_service.loan_calculator.service.LoanSolver;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Input of the solvers: the monthly payment and all but the solved-for one of loan amount, interest rate and
+ * number of payments.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class LoanSolverRequestDTO {
+
+    // The largest amount the loans table stores, NUMERIC(15, 2); also keeps the searches within a long of cents
+    private static final String MAX_AMOUNT = "9999999999999.99";
+
+    @DecimalMin(value = "0.01", message = "Loan amount must be greater than 0")
+    @DecimalMax(value = MAX_AMOUNT, message = "Loan amount must be at most " + MAX_AMOUNT)
+    private BigDecimal loanAmount;
+
+    @DecimalMin(value = "0.0", message = "Interest rate must be at least 0")
+    private BigDecimal interestRate;
+
+    @Min(value = 1, message = "Number of payments must be at least 1")
+    @Max(value = LoanSolver.MAX_NUMBER_OF_PAYMENTS, message = "Number of payments must be at most " + LoanSolver.MAX_NUMBER_OF_PAYMENTS)
+    private Integer numberOfPayments;
+
+    @Schema(description = "Monthly payment, the budget when solving for loan amount or number of payments")
+    @DecimalMin(value = "0.01", message = "Payment must be greater than 0")
+    @DecimalMax(value = MAX_AMOUNT, message = "Payment must be at most " + MAX_AMOUNT)
+    private BigDecimal payment;
+}
@@ -0,0 +1,22 @@
+package com.kuzminac.loan_service.loan_calculator.dto;
+
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoanSummaryDTO {
+    private Long loanId;
+    private BigDecimal loanAmount;
+    private BigDecimal interestRate;
+    private Integer numberOfPayments;
+    private BigDecimal totalPayment;
+    private BigDecimal totalInterest;
+    private LocalDateTime createdAt;
+}
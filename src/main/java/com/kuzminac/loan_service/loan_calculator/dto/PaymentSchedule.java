@@ -0,0 +1,137 @@
+package com.kuzminac.loan_service.loan_calculator.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable payment schedule stored column by column, amounts in cents. A period costs 36 bytes instead of a
+ * {@link PaymentScheduleDTO} with four {@link BigDecimal}s; rows are only created when {@link #get} is called.
+ * Serializes to the same JSON as a list of {@link PaymentScheduleDTO}, written straight from the columns.
+ */
+@JsonSerialize(using = PaymentSchedule.Serializer.class)
+public final class PaymentSchedule extends AbstractList<PaymentScheduleDTO> implements RandomAccess {
+
+    private final int[] periods;
+    private final long[] payments;
+    private final long[] principalAmounts;
+    private final long[] interestAmounts;
+    private final long[] balancesOwed;
+    private final int size;
+
+    /**
+     * Takes ownership of the arrays, of which the first {@code size} entries are used.
+     */
+    public PaymentSchedule(int[] periods, long[] payments, long[] principalAmounts, long[] interestAmounts,
+                           long[] balancesOwed, int size) {
+        this.periods = periods;
+        this.payments = payments;
+        this.principalAmounts = principalAmounts;
+        this.interestAmounts = interestAmounts;
+        this.balancesOwed = balancesOwed;
+        this.size = size;
+    }
+
+    @Override
+    public PaymentScheduleDTO get(int index) {
+        Objects.checkIndex(index, size);
+        return PaymentScheduleDTO.builder()
+                .period(periods[index])
+                .payment(BigDecimal.valueOf(payments[index], 2))
+                .principalAmount(BigDecimal.valueOf(principalAmounts[index], 2))
+                .interestAmount(BigDecimal.valueOf(interestAmounts[index], 2))
+                .balanceOwed(BigDecimal.valueOf(balancesOwed[index], 2))
+                .build();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int getPeriod(int index) {
+        Objects.checkIndex(index, size);
+        return periods[index];
+    }
+
+    public long getPaymentCents(int index) {
+        Objects.checkIndex(index, size);
+        return payments[index];
+    }
+
+    public long getPrincipalAmountCents(int index) {
+        Objects.checkIndex(index, size);
+        return principalAmounts[index];
+    }
+
+    public long getInterestAmountCents(int index) {
+        Objects.checkIndex(index, size);
+        return interestAmounts[index];
+    }
+
+    public long getBalanceOwedCents(int index) {
+        Objects.checkIndex(index, size);
+        return balancesOwed[index];
+    }
+
+    /**
+     * Writes an amount in cents as a number, with the same text as {@code BigDecimal.valueOf(cents, 2)} in JSON.
+     * {@code buffer} is scratch space of at least 21 chars, so nothing is allocated per amount. Binary formats such
+     * as CBOR would write the characters as a string, so they get the {@link BigDecimal}.
+     */
+    public static void writeCents(JsonGenerator generator, long cents, char[] buffer) throws IOException {
+        if (cents == Long.MIN_VALUE || !(generator instanceof JsonGeneratorImpl)) {
+            generator.writeNumber(BigDecimal.valueOf(cents, 2));
+            return;
+        }
+        long magnitude = Math.abs(cents);
+        int position = buffer.length;
+        buffer[--position] = (char) ('0' + magnitude % 10);
+        buffer[--position] = (char) ('0' + magnitude / 10 % 10);
+        buffer[--position] = '.';
+        long units = magnitude / 100;
+        do {
+            buffer[--position] = (char) ('0' + units % 10);
+            units /= 10;
+        } while (units > 0);
+        if (cents < 0) {
+            buffer[--position] = '-';
+        }
+        generator.writeNumber(buffer, position, buffer.length - position);
+    }
+
+    public static final class Serializer extends StdSerializer<PaymentSchedule> {
+
+        public Serializer() {
+            super(PaymentSchedule.class);
+        }
+
+        @Override
+        public void serialize(PaymentSchedule schedule, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            char[] buffer = new char[21];
+            generator.writeStartArray(schedule, schedule.size);
+            for (int i = 0; i < schedule.size; i++) {
+                generator.writeStartObject();
+                generator.writeNumberField("period", schedule.periods[i]);
+                generator.writeFieldName("payment");
+                writeCents(generator, schedule.payments[i], buffer);
+                generator.writeFieldName("principalAmount");
+                writeCents(generator, schedule.principalAmounts[i], buffer);
+                generator.writeFieldName("interestAmount");
+                writeCents(generator, schedule.interestAmounts[i], buffer);
+                generator.writeFieldName("balanceOwed");
+                writeCents(generator, schedule.balancesOwed[i], buffer);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+}
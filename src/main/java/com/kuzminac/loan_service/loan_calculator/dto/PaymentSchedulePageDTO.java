@@ -0,0 +1,19 @@
+package com.kuzminac.loan_service.loan_calculator.dto;
+
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentSchedulePageDTO {
+    private Long loanId;
+    private Integer numberOfPayments;
+    private Integer fromPeriod;
+    private Integer toPeriod;
+    private List<PaymentScheduleDTO> paymentSchedule;
+}
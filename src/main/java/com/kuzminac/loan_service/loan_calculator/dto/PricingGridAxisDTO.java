@@ -0,0 +1,30 @@
+package com.kuzminac.loan_service.loan_calculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One dimension of a pricing grid: either a list of {@code values}, or the range {@code from}, {@code from + step},
+ * ... up to and including {@code to}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class PricingGridAxisDTO {
+
+    @Schema(description = "Explicit values, instead of a range")
+    private List<@NotNull(message = "Value is required") BigDecimal> values;
+
+    private BigDecimal from;
+
+    private BigDecimal to;
+
+    private BigDecimal step;
+}
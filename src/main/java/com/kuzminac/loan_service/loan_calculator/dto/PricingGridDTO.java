@@ -0,0 +1,30 @@
+package com.kuzminac.loan_service.loan_calculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A pricing grid, one column per result. The cell of {@code interestRates[r]}, {@code numberOfPayments[t]} and
+ * {@code loanAmounts[a]} is at index {@code (r * numberOfPayments.size() + t) * loanAmounts.size() + a}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PricingGridDTO {
+
+    private List<BigDecimal> loanAmounts;
+    private List<BigDecimal> interestRates;
+    private List<Integer> numberOfPayments;
+
+    @Schema(description = "Monthly payment per cell, ordered by interest rate, then number of payments, then loan amount")
+    private List<BigDecimal> payments;
+    @Schema(description = "Total payment per cell, in the order of payments")
+    private List<BigDecimal> totalPayments;
+    @Schema(description = "Total interest per cell, in the order of payments")
+    private List<BigDecimal> totalInterests;
+}
@@ -0,0 +1,26 @@
+package com.kuzminac.loan_service.loan_calculator.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class PricingGridRequestDTO {
+
+    @NotNull(message = "Loan amounts are required")
+    @Valid
+    private PricingGridAxisDTO loanAmounts;
+
+    @NotNull(message = "Interest rates are required")
+    @Valid
+    private PricingGridAxisDTO interestRates;
+
+    @NotNull(message = "Numbers of payments are required")
+    @Valid
+    private PricingGridAxisDTO numberOfPayments;
+}
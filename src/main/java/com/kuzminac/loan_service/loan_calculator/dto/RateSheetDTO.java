@@ -0,0 +1,25 @@
+package com.kuzminac.loan_service.loan_calculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateSheetDTO {
+
+    @NotNull(message = "Annual rates are required")
+    @Size(max = 200, message = "Rate sheet must not contain more than 200 rates")
+    private List<@NotNull(message = "Annual rate is required") @DecimalMin(value = "0.0", message = "Annual rate must be at least 0") BigDecimal> annualRates;
+
+    @Schema(accessMode = Schema.AccessMode.READ_ONLY, description = "Longest term with precomputed annuity factors")
+    private Integer maxTerm;
+}
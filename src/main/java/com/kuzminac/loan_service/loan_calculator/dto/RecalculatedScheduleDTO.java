@@ -0,0 +1,26 @@
+package com.kuzminac.loan_service.loan_calculator.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A saved loan's schedule with events applied. Periods before {@code recalculatedFromPeriod} are the loan's own;
+ * the totals are those of the whole recalculated schedule.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecalculatedScheduleDTO {
+    private Long loanId;
+    private BigDecimal loanAmount;
+    private BigDecimal interestRate;
+    private Integer numberOfPayments;
+    private Integer recalculatedFromPeriod;
+    private BigDecimal totalPayment;
+    private BigDecimal totalInterest;
+    private List<PaymentScheduleDTO> paymentSchedule;
+}
@@ -0,0 +1,42 @@
+package com.kuzminac.loan_service.loan_calculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * A change to a loan from a given period on: an extra payment on top of that period's payment, or a new interest rate
+ * from that period's interest on.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class ScheduleEventDTO {
+
+    public enum Type {
+        EXTRA_PAYMENT,
+        RATE_CHANGE
+    }
+
+    @NotNull(message = "Event type is required")
+    private Type type;
+
+    @NotNull(message = "Event period is required")
+    @Min(value = 1, message = "Event period must be at least 1")
+    private Integer period;
+
+    @Schema(description = "Extra payment, required for EXTRA_PAYMENT")
+    @DecimalMin(value = "0.01", message = "Extra payment must be greater than 0")
+    private BigDecimal amount;
+
+    @Schema(description = "New annual interest rate, required for RATE_CHANGE")
+    @DecimalMin(value = "0.0", message = "Interest rate must be at least 0")
+    private BigDecimal interestRate;
+}
@@ -0,0 +1,20 @@
+package com.kuzminac.loan_service.loan_calculator.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class ScheduleRecalculationRequestDTO {
+
+    @NotEmpty(message = "At least one event is required")
+    @Valid
+    private List<ScheduleEventDTO> events;
+}
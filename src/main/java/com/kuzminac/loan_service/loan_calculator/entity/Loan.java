@@ -1,11 +1,13 @@
 package com.kuzminac.loan_service.loan_calculator.entity;
 
 
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentScheduleDTO;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
 @Table(name = "loans")
@@ -16,8 +18,14 @@ import java.time.LocalDateTime;
 @Builder
 public class Loan {
 
+    public static final String ID_SEQUENCE = "loans_id_seq";
+    // Must match the sequence increment, see V2__pooled_loan_id_sequence.sql
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled allocation instead of IDENTITY, which would force an immediate insert per entity and disable batching
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "loan_amount", nullable = false)
@@ -37,4 +45,8 @@ public class Loan {
 
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
+
+    // Calculated schedule, stored in loan_schedule by the writers; not loaded with the entity
+    @Transient
+    private List<PaymentScheduleDTO> paymentSchedule;
 }
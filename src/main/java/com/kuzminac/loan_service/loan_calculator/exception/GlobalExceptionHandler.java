@@ -5,8 +5,11 @@ import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import com.kuzminac.loan_service.loan_calculator.dto.ErrorResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -14,15 +17,20 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
+@Profile("!reactive")
 @Slf4j
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler(LoanCalculationException.class)
     public ResponseEntity<ErrorResponseDTO> handleLoanCalculationException(LoanCalculationException ex, HttpServletRequest request) {
         log.error("LoanCalculationException: {} | Path: {}", ex.getMessage(), request.getRequestURI(), ex);
@@ -33,7 +41,70 @@ public class GlobalExceptionHandler {
                 .message(ex.getMessage())
                 .path(request.getRequestURI())
                 .build();
-        return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+        return respond(error, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @ExceptionHandler(LoanNotFoundException.class)
+    public ResponseEntity<ErrorResponseDTO> handleLoanNotFoundException(LoanNotFoundException ex, HttpServletRequest request) {
+        log.warn("LoanNotFoundException: {} | Path: {}", ex.getMessage(), request.getRequestURI());
+        ErrorResponseDTO error = ErrorResponseDTO.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.NOT_FOUND.value())
+                .error("Loan Not Found")
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+        return respond(error, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(InvalidLoanParametersException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidLoanParametersException(InvalidLoanParametersException ex, HttpServletRequest request) {
+        List<String> details = ex.getBindingResult() == null ? null : ex.getBindingResult()
+                .getFieldErrors()
+                .stream()
+                .map(this::formatFieldError)
+                .collect(Collectors.toList());
+
+        log.warn("Invalid loan parameters for request to {}: {}", request.getRequestURI(), ex.getMessage());
+        ErrorResponseDTO error = ErrorResponseDTO.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Invalid Loan Parameters")
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .details(details)
+                .build();
+        return respond(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(PersistenceUnavailableException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePersistenceUnavailableException(PersistenceUnavailableException ex, HttpServletRequest request) {
+        log.warn("PersistenceUnavailableException: {} | Path: {}", ex.getMessage(), request.getRequestURI());
+        ErrorResponseDTO error = ErrorResponseDTO.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+        return respond(error, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponseDTO> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
+        String targetType = ex.getRequiredType() != null ? ex.getRequiredType().getSimpleName() : "Unknown";
+        String message = String.format("Invalid value '%s' for parameter '%s'. Expected type: %s.",
+                ex.getValue(), ex.getName(), targetType);
+
+        log.warn("Invalid request parameter for request to {}: {}", request.getRequestURI(), message);
+        ErrorResponseDTO error = ErrorResponseDTO.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Invalid Request Parameter")
+                .message(message)
+                .path(request.getRequestURI())
+                .build();
+        return respond(error, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -53,7 +124,7 @@ public class GlobalExceptionHandler {
                 .path(request.getRequestURI())
                 .details(details)
                 .build();
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        return respond(error, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
@@ -86,7 +157,7 @@ public class GlobalExceptionHandler {
                 .path(request.getRequestURI())
                 .details(null)
                 .build();
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        return respond(error, HttpStatus.BAD_REQUEST);
     }
 
 
@@ -101,7 +172,12 @@ public class GlobalExceptionHandler {
                 .message(ex.getMessage())
                 .path(request.getRequestURI())
                 .build();
-        return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+        return respond(error, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private ResponseEntity<ErrorResponseDTO> respond(ErrorResponseDTO error, HttpStatus status) {
+        meterRegistry.counter("loans.errors", "error", error.getError(), "status", String.valueOf(status.value())).increment();
+        return new ResponseEntity<>(error, status);
     }
 
     private String formatFieldError(FieldError fieldError) {
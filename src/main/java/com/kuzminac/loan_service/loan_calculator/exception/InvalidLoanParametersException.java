@@ -5,6 +5,10 @@ import org.springframework.validation.BindingResult;
 public class InvalidLoanParametersException extends RuntimeException {
     private final BindingResult bindingResult;
 
+    public InvalidLoanParametersException(String message) {
+        this(message, null);
+    }
+
     public InvalidLoanParametersException(String message, BindingResult bindingResult) {
         super(message);
         this.bindingResult = bindingResult;
@@ -0,0 +1,7 @@
+package com.kuzminac.loan_service.loan_calculator.exception;
+
+public class LoanNotFoundException extends RuntimeException {
+    public LoanNotFoundException(Long loanId) {
+        super("Loan with ID " + loanId + " not found");
+    }
+}
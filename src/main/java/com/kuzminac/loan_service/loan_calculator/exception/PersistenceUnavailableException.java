@@ -0,0 +1,7 @@
+package com.kuzminac.loan_service.loan_calculator.exception;
+
+public class PersistenceUnavailableException extends RuntimeException {
+    public PersistenceUnavailableException(String message) {
+        super(message);
+    }
+}
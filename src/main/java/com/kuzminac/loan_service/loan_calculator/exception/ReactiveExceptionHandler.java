@@ -0,0 +1,108 @@
+package com.kuzminac.loan_service.loan_calculator.exception;
+
+import com.kuzminac.loan_service.loan_calculator.dto.ErrorResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * WebFlux counterpart of {@link GlobalExceptionHandler}, producing the same error bodies and {@code loans.errors}
+ * counts for the reactive profile.
+ */
+@RestControllerAdvice
+@Profile("reactive")
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveExceptionHandler {
+
+    private final MeterRegistry meterRegistry;
+
+    @ExceptionHandler(LoanCalculationException.class)
+    public ResponseEntity<ErrorResponseDTO> handleLoanCalculationException(LoanCalculationException ex, ServerHttpRequest request) {
+        log.error("LoanCalculationException: {} | Path: {}", ex.getMessage(), request.getPath(), ex);
+        return respond(HttpStatus.INTERNAL_SERVER_ERROR, "Loan Calculation Error", ex.getMessage(), null, request);
+    }
+
+    @ExceptionHandler(LoanNotFoundException.class)
+    public ResponseEntity<ErrorResponseDTO> handleLoanNotFoundException(LoanNotFoundException ex, ServerHttpRequest request) {
+        log.warn("LoanNotFoundException: {} | Path: {}", ex.getMessage(), request.getPath());
+        return respond(HttpStatus.NOT_FOUND, "Loan Not Found", ex.getMessage(), null, request);
+    }
+
+    @ExceptionHandler(InvalidLoanParametersException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidLoanParametersException(InvalidLoanParametersException ex, ServerHttpRequest request) {
+        List<String> details = ex.getBindingResult() == null ? null : ex.getBindingResult()
+                .getFieldErrors()
+                .stream()
+                .map(this::formatFieldError)
+                .toList();
+
+        log.warn("Invalid loan parameters for request to {}: {}", request.getPath(), ex.getMessage());
+        return respond(HttpStatus.BAD_REQUEST, "Invalid Loan Parameters", ex.getMessage(), details, request);
+    }
+
+    @ExceptionHandler(PersistenceUnavailableException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePersistenceUnavailableException(PersistenceUnavailableException ex, ServerHttpRequest request) {
+        log.warn("PersistenceUnavailableException: {} | Path: {}", ex.getMessage(), request.getPath());
+        return respond(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", ex.getMessage(), null, request);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponseDTO> handleValidationExceptions(WebExchangeBindException ex, ServerHttpRequest request) {
+        List<String> details = ex.getBindingResult()
+                .getFieldErrors()
+                .stream()
+                .map(this::formatFieldError)
+                .toList();
+
+        log.warn("Validation failed for request to {}: {}", request.getPath(), details);
+        return respond(HttpStatus.BAD_REQUEST, "Validation Failed", "Invalid input parameters", details, request);
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponseDTO> handleServerWebInputException(ServerWebInputException ex, ServerHttpRequest request) {
+        // Covers both unreadable bodies and request parameters of the wrong type
+        boolean body = ex.getMethodParameter() != null && ex.getMethodParameter().hasParameterAnnotation(RequestBody.class);
+        log.warn("Invalid request to {}: {}", request.getPath(), ex.getMessage());
+        return body
+                ? respond(HttpStatus.BAD_REQUEST, "Malformed JSON Request", "Malformed JSON request", null, request)
+                : respond(HttpStatus.BAD_REQUEST, "Invalid Request Parameter", ex.getReason(), null, request);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponseDTO> handleGenericException(Exception ex, ServerHttpRequest request) {
+        log.error("Unhandled exception: {} | Path: {}", ex.getMessage(), request.getPath(), ex);
+        return respond(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", ex.getMessage(), null, request);
+    }
+
+    private ResponseEntity<ErrorResponseDTO> respond(HttpStatus status, String error, String message, List<String> details,
+                                                     ServerHttpRequest request) {
+        meterRegistry.counter("loans.errors", "error", error, "status", String.valueOf(status.value())).increment();
+        ErrorResponseDTO body = ErrorResponseDTO.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(error)
+                .message(message)
+                .path(request.getPath().value())
+                .details(details)
+                .build();
+        return new ResponseEntity<>(body, status);
+    }
+
+    private String formatFieldError(FieldError fieldError) {
+        return String.format("Field '%s' %s", fieldError.getField(), fieldError.getDefaultMessage());
+    }
+}
@@ -0,0 +1,49 @@
+package com.kuzminac.loan_service.loan_calculator.repository;
+
+import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Streams the loans that still have payments due, for portfolio projections. pgjdbc only fetches in batches of
+ * the fetch size inside a transaction, otherwise it reads the whole result into memory, so callers must hold one.
+ */
+@Repository
+@Profile("!reactive & !batch")
+@RequiredArgsConstructor
+public class LoanCashFlowRepository {
+
+    // The first payment is due the month after the loan was created, the last number_of_payments months after it
+    private static final String SELECT_OUTSTANDING_SQL = """
+            SELECT id, loan_amount, interest_rate, number_of_payments, created_at FROM loans
+            WHERE date_trunc('month', created_at) + make_interval(months => number_of_payments) >= ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Passes every loan with a payment due in or after the month starting at {@code firstMonth} to {@code action},
+     * reading {@code fetchSize} rows at a time. Loans come without their schedule and in no particular order.
+     */
+    public void forEachOutstanding(LocalDateTime firstMonth, int fetchSize, Consumer<Loan> action) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_OUTSTANDING_SQL);
+            ps.setFetchSize(fetchSize);
+            ps.setObject(1, firstMonth);
+            return ps;
+        }, rs -> {
+            action.accept(Loan.builder()
+                    .id(rs.getLong(1))
+                    .loanAmount(rs.getBigDecimal(2))
+                    .interestRate(rs.getBigDecimal(3))
+                    .numberOfPayments(rs.getInt(4))
+                    .createdAt(rs.getObject(5, LocalDateTime.class))
+                    .build());
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package com.kuzminac.loan_service.loan_calculator.repository;
+
+import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+
+/**
+ * Identifies a calculation by its inputs: the first 128 bits of the SHA-256 of loan amount, interest rate and
+ * number of payments as requested. Amounts compare by value, so 5.5 and 5.50 are the same loan, but unlike the
+ * {@code loans} columns nothing is rounded, as the calculated results differ.
+ */
+public final class LoanFingerprint {
+
+    private LoanFingerprint() {
+    }
+
+    public static UUID of(Loan loan) {
+        String inputs = canonical(loan.getLoanAmount()) + "|" + canonical(loan.getInterestRate()) + "|" + loan.getNumberOfPayments();
+        try {
+            ByteBuffer digest = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(inputs.getBytes(StandardCharsets.UTF_8)));
+            return new UUID(digest.getLong(), digest.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String canonical(BigDecimal value) {
+        return value.stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.kuzminac.loan_service.loan_calculator.repository;
+
+import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Decides which calculated loans are new, see {@link LoanFingerprint}. Joins the caller's transaction, which
+ * inserts the claimed loans.
+ */
+@Repository
+@Profile("!reactive & !batch")
+@RequiredArgsConstructor
+public class LoanFingerprintRepository {
+
+    private static final String CLAIM_SQL = """
+            INSERT INTO loan_fingerprints (fingerprint, loan_id)
+            SELECT * FROM unnest(?::uuid[], ?::int8[])
+            ON CONFLICT DO NOTHING
+            RETURNING loan_id""";
+
+    private static final String SELECT_SQL = "SELECT fingerprint, loan_id FROM loan_fingerprints WHERE fingerprint = ANY(?::uuid[])";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Claims the fingerprints of loans that already carry their new ids, and returns the ids of the loans that
+     * are new. The others were stored before, by a concurrent transaction that has committed by now, or earlier in
+     * the same list. No read precedes the insert, so concurrent writers of the same loan cannot both win.
+     */
+    public Set<Long> claim(List<Loan> loans) {
+        String[] fingerprints = new String[loans.size()];
+        long[] loanIds = new long[loans.size()];
+        for (int i = 0; i < loans.size(); i++) {
+            fingerprints[i] = LoanFingerprint.of(loans.get(i)).toString();
+            loanIds[i] = loans.get(i).getId();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(CLAIM_SQL, Long.class, fingerprints, loanIds));
+    }
+
+    /**
+     * Gives loans that were not claimed the id of the stored loan with the same fingerprint.
+     */
+    public void resolveStored(List<Loan> loans) {
+        List<UUID> fingerprints = loans.stream().map(LoanFingerprint::of).toList();
+        Map<UUID, Long> storedIds = new HashMap<>();
+        jdbcTemplate.query(SELECT_SQL, rs -> {
+            storedIds.put(rs.getObject(1, UUID.class), rs.getLong(2));
+        }, (Object) fingerprints.stream().distinct().map(UUID::toString).toArray(String[]::new));
+        for (int i = 0; i < loans.size(); i++) {
+            loans.get(i).setId(storedIds.get(fingerprints.get(i)));
+        }
+    }
+}
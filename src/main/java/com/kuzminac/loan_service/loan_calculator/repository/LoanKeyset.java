@@ -0,0 +1,9 @@
+package com.kuzminac.loan_service.loan_calculator.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position of a loan in the newest-first listing order; a page continues with the loans after it.
+ */
+public record LoanKeyset(LocalDateTime createdAt, long id) {
+}
@@ -0,0 +1,118 @@
+package com.kuzminac.loan_service.loan_calculator.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The monthly partitions of {@code loans}, see {@code V6__partition_loans_by_month.sql}. Statements join the
+ * caller's transaction.
+ */
+@Repository
+@Profile("!reactive & !batch")
+@RequiredArgsConstructor
+public class LoanPartitionRepository {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    // Also finds partitions detached by an archival that did not get to drop them
+    private static final String SELECT_PARTITIONS_SQL = """
+            SELECT relname, relispartition FROM pg_class
+            WHERE relkind = 'r' AND relnamespace = current_schema()::regnamespace AND relname ~ '^loans_[0-9]{4}_[0-9]{2}$'
+            ORDER BY relname""";
+
+    // Held until the end of the transaction, so only one instance maintains the partitions at a time
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(hashtext('loans_partition_maintenance'))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<LoanPartition> findAll() {
+        List<LoanPartition> partitions = new ArrayList<>();
+        jdbcTemplate.query(SELECT_PARTITIONS_SQL, rs -> {
+            partitions.add(new LoanPartition(YearMonth.parse(rs.getString(1).substring("loans_".length()), SUFFIX), rs.getBoolean(2)));
+        });
+        return partitions;
+    }
+
+    public boolean tryLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class));
+    }
+
+    /**
+     * Limits how long the statements of the current transaction wait for a lock. One that waits longer fails with
+     * a {@link org.springframework.dao.CannotAcquireLockException}.
+     */
+    public void setLockTimeout(Duration timeout) {
+        jdbcTemplate.execute("SET LOCAL lock_timeout = " + timeout.toMillis());
+    }
+
+    /**
+     * Fails if {@code loans_default} already holds loans of that month.
+     */
+    public void create(YearMonth month) {
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        jdbcTemplate.execute("CREATE TABLE " + tableName(month) + " PARTITION OF loans FOR VALUES FROM ('"
+                + from + "') TO ('" + from.plusMonths(1) + "')");
+    }
+
+    public void detach(YearMonth month) {
+        jdbcTemplate.execute("ALTER TABLE loans DETACH PARTITION " + tableName(month));
+    }
+
+    /**
+     * Writes the loans of a detached partition as CSV with a header, and returns how many there were.
+     */
+    public long exportLoans(YearMonth month, OutputStream out) {
+        return copyOut("COPY " + tableName(month) + " TO STDOUT (FORMAT csv, HEADER)", out);
+    }
+
+    /**
+     * Writes the stored schedules of the loans of a detached partition as CSV with a header.
+     */
+    public long exportSchedules(YearMonth month, OutputStream out) {
+        return copyOut("COPY (SELECT * FROM loan_schedule WHERE loan_id IN (SELECT id FROM " + tableName(month)
+                + ") ORDER BY loan_id, period) TO STDOUT (FORMAT csv, HEADER)", out);
+    }
+
+    /**
+     * Drops a detached partition together with the schedules and fingerprints of its loans, so a repeated
+     * calculation is stored again instead of resolving to an archived id.
+     */
+    public void drop(YearMonth month) {
+        String table = tableName(month);
+        jdbcTemplate.update("DELETE FROM loan_schedule WHERE loan_id IN (SELECT id FROM " + table + ")");
+        // loan_fingerprints has no index on loan_id; one scan a month is cheaper than maintaining one per insert
+        jdbcTemplate.update("DELETE FROM loan_fingerprints WHERE loan_id IN (SELECT id FROM " + table + ")");
+        jdbcTemplate.execute("DROP TABLE " + table);
+    }
+
+    public static String tableName(YearMonth month) {
+        return "loans_" + month.format(SUFFIX);
+    }
+
+    private long copyOut(String sql, OutputStream out) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public record LoanPartition(YearMonth month, boolean attached) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.kuzminac.loan_service.loan_calculator.repository;
+
+import com.kuzminac.loan_service.loan_calculator.dto.LazyPaymentSchedule;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedule;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentScheduleDTO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@code loan_schedule} rows held as one array per column, the shape in which they are bound to a single
+ * {@code unnest} insert and in which they are read back into a {@link PaymentSchedule}. Amounts are in cents.
+ */
+final class LoanScheduleColumns {
+
+    private long[] loanIds;
+    private int[] periods;
+    private long[] payments;
+    private long[] principalAmounts;
+    private long[] interestAmounts;
+    private long[] balancesOwed;
+    private int size;
+
+    LoanScheduleColumns(int capacity) {
+        capacity = Math.max(capacity, 1);
+        loanIds = new long[capacity];
+        periods = new int[capacity];
+        payments = new long[capacity];
+        principalAmounts = new long[capacity];
+        interestAmounts = new long[capacity];
+        balancesOwed = new long[capacity];
+    }
+
+    void add(long loanId, List<PaymentScheduleDTO> schedule) {
+        if (schedule instanceof LazyPaymentSchedule lazy) {
+            schedule = lazy.resolve();
+        }
+        if (schedule instanceof PaymentSchedule columns) {
+            // Already in cents
+            for (int i = 0; i < columns.size(); i++) {
+                add(loanId, columns.getPeriod(i), columns.getPaymentCents(i), columns.getPrincipalAmountCents(i),
+                        columns.getInterestAmountCents(i), columns.getBalanceOwedCents(i));
+            }
+            return;
+        }
+        for (PaymentScheduleDTO row : schedule) {
+            add(loanId, row.getPeriod(), cents(row.getPayment()), cents(row.getPrincipalAmount()),
+                    cents(row.getInterestAmount()), cents(row.getBalanceOwed()));
+        }
+    }
+
+    void add(long loanId, int period, long payment, long principalAmount, long interestAmount, long balanceOwed) {
+        if (size == periods.length) {
+            grow();
+        }
+        loanIds[size] = loanId;
+        periods[size] = period;
+        payments[size] = payment;
+        principalAmounts[size] = principalAmount;
+        interestAmounts[size] = interestAmount;
+        balancesOwed[size] = balanceOwed;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * loan_id, period, payment, principal, interest and balance, trimmed to the rows added.
+     */
+    Object[] toInsertParameters() {
+        return new Object[]{
+                Arrays.copyOf(loanIds, size), Arrays.copyOf(periods, size), Arrays.copyOf(payments, size),
+                Arrays.copyOf(principalAmounts, size), Arrays.copyOf(interestAmounts, size), Arrays.copyOf(balancesOwed, size)};
+    }
+
+    /**
+     * Hands the columns over to a schedule; meant for rows of a single loan.
+     */
+    PaymentSchedule toPaymentSchedule() {
+        return new PaymentSchedule(periods, payments, principalAmounts, interestAmounts, balancesOwed, size);
+    }
+
+    private void grow() {
+        int capacity = periods.length * 2;
+        loanIds = Arrays.copyOf(loanIds, capacity);
+        periods = Arrays.copyOf(periods, capacity);
+        payments = Arrays.copyOf(payments, capacity);
+        principalAmounts = Arrays.copyOf(principalAmounts, capacity);
+        interestAmounts = Arrays.copyOf(interestAmounts, capacity);
+        balancesOwed = Arrays.copyOf(balancesOwed, capacity);
+    }
+
+    private static long cents(BigDecimal amount) {
+        // Schedule amounts always have two decimals, so this never rounds
+        return amount.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+}
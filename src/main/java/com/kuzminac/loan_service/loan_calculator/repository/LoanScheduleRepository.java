@@ -0,0 +1,90 @@
+package com.kuzminac.loan_service.loan_calculator.repository;
+
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedule;
+import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stored payment schedules in {@code loan_schedule}. Rows are inserted as column arrays expanded by
+ * {@code unnest}, one statement for many loans instead of one row per statement, and read back straight into
+ * the columns of a {@link PaymentSchedule}. Joins the caller's transaction.
+ */
+@Repository
+@Profile("!reactive & !batch")
+@RequiredArgsConstructor
+public class LoanScheduleRepository {
+
+    // Bounds the size of a single statement, a 500 loan batch of 30 year loans is 180,000 rows
+    static final int MAX_ROWS_PER_INSERT = 50_000;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO loan_schedule (loan_id, period, payment_cents, principal_cents, interest_cents, balance_cents)
+            SELECT * FROM unnest(?::int8[], ?::int4[], ?::int8[], ?::int8[], ?::int8[], ?::int8[])""";
+
+    private static final String SELECT_SQL = """
+            SELECT period, payment_cents, principal_cents, interest_cents, balance_cents
+            FROM loan_schedule WHERE loan_id = ? ORDER BY period""";
+
+    private static final String SELECT_BEFORE_SQL = """
+            SELECT period, payment_cents, principal_cents, interest_cents, balance_cents
+            FROM loan_schedule WHERE loan_id = ? AND period < ? ORDER BY period""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the {@link Loan#getPaymentSchedule() schedule} of every loan, generating lazy ones on the way.
+     * Loans must have their id already.
+     */
+    public void insertAll(List<Loan> loans) {
+        LoanScheduleColumns columns = new LoanScheduleColumns(Math.min(MAX_ROWS_PER_INSERT, rowCount(loans)));
+        for (Loan loan : loans) {
+            if (loan.getPaymentSchedule() == null) {
+                continue;
+            }
+            columns.add(loan.getId(), loan.getPaymentSchedule());
+            if (columns.size() >= MAX_ROWS_PER_INSERT) {
+                jdbcTemplate.update(INSERT_SQL, columns.toInsertParameters());
+                columns = new LoanScheduleColumns(MAX_ROWS_PER_INSERT);
+            }
+        }
+        if (columns.size() > 0) {
+            jdbcTemplate.update(INSERT_SQL, columns.toInsertParameters());
+        }
+    }
+
+    /**
+     * The stored schedule, empty for loans saved before schedules were stored.
+     */
+    public Optional<PaymentSchedule> findByLoanId(long loanId, int numberOfPayments) {
+        LoanScheduleColumns columns = new LoanScheduleColumns(numberOfPayments);
+        jdbcTemplate.query(SELECT_SQL, rs -> {
+            columns.add(loanId, rs.getInt(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5));
+        }, loanId);
+        return columns.size() == 0 ? Optional.empty() : Optional.of(columns.toPaymentSchedule());
+    }
+
+    /**
+     * The stored periods before {@code period}, a range read on the primary key; empty as for {@link #findByLoanId}.
+     */
+    public Optional<PaymentSchedule> findPeriodsBefore(long loanId, int period) {
+        LoanScheduleColumns columns = new LoanScheduleColumns(period - 1);
+        jdbcTemplate.query(SELECT_BEFORE_SQL, rs -> {
+            columns.add(loanId, rs.getInt(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5));
+        }, loanId, period);
+        return columns.size() == 0 ? Optional.empty() : Optional.of(columns.toPaymentSchedule());
+    }
+
+    private static int rowCount(List<Loan> loans) {
+        long rows = 0;
+        for (Loan loan : loans) {
+            rows += loan.getPaymentSchedule() == null ? 0 : loan.getPaymentSchedule().size();
+        }
+        return (int) Math.min(rows, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,10 @@
+package com.kuzminac.loan_service.loan_calculator.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Inclusive range filters for listing loans; {@code null} bounds are not applied. Terms are numbers of payments.
+ */
+public record LoanSearchCriteria(BigDecimal minAmount, BigDecimal maxAmount, BigDecimal minRate, BigDecimal maxRate,
+                                 Integer minTerm, Integer maxTerm) {
+}
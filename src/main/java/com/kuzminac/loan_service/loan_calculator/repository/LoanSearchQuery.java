@@ -0,0 +1,67 @@
+package com.kuzminac.loan_service.loan_calculator.repository;
+
+import com.kuzminac.loan_service.loan_calculator.dto.LoanSummaryDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Newest-first listing of {@code loans} with named parameters, shared by the JDBC and R2DBC repositories. Pages
+ * continue from a keyset instead of an offset, so a deep page costs the same as the first one, and only the
+ * summary columns are selected, which the covering index of V4 holds without visiting the table.
+ */
+final class LoanSearchQuery {
+
+    private static final String COLUMNS = "id, loan_amount, interest_rate, number_of_payments, total_payment, total_interest, created_at";
+
+    private final String sql;
+    private final Map<String, Object> parameters = new HashMap<>();
+
+    LoanSearchQuery(LoanSearchCriteria criteria, LoanKeyset after, int limit) {
+        StringBuilder where = new StringBuilder();
+        condition(where, "loan_amount >= :minAmount", "minAmount", criteria.minAmount());
+        condition(where, "loan_amount <= :maxAmount", "maxAmount", criteria.maxAmount());
+        condition(where, "interest_rate >= :minRate", "minRate", criteria.minRate());
+        condition(where, "interest_rate <= :maxRate", "maxRate", criteria.maxRate());
+        condition(where, "number_of_payments >= :minTerm", "minTerm", criteria.minTerm());
+        condition(where, "number_of_payments <= :maxTerm", "maxTerm", criteria.maxTerm());
+        if (after != null) {
+            // A row comparison, which the (created_at, id) index can seek to directly
+            condition(where, "(created_at, id) < (:afterCreatedAt, :afterId)", "afterCreatedAt", after.createdAt());
+            parameters.put("afterId", after.id());
+        }
+        parameters.put("limit", limit);
+        sql = "SELECT " + COLUMNS + " FROM loans" + where + " ORDER BY created_at DESC, id DESC LIMIT :limit";
+    }
+
+    String sql() {
+        return sql;
+    }
+
+    Map<String, Object> parameters() {
+        return parameters;
+    }
+
+    static LoanSummaryDTO toSummary(long id, BigDecimal loanAmount, BigDecimal interestRate, int numberOfPayments,
+                                    BigDecimal totalPayment, BigDecimal totalInterest, LocalDateTime createdAt) {
+        return LoanSummaryDTO.builder()
+                .loanId(id)
+                .loanAmount(loanAmount)
+                .interestRate(interestRate)
+                .numberOfPayments(numberOfPayments)
+                .totalPayment(totalPayment)
+                .totalInterest(totalInterest)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private void condition(StringBuilder where, String condition, String name, Object value) {
+        if (value == null) {
+            return;
+        }
+        where.append(where.isEmpty() ? " WHERE " : " AND ").append(condition);
+        parameters.put(name, value);
+    }
+}
@@ -0,0 +1,31 @@
+package com.kuzminac.loan_service.loan_calculator.repository;
+
+import com.kuzminac.loan_service.loan_calculator.dto.LoanSummaryDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Lists loans as {@link LoanSummaryDTO} projections straight from JDBC, without loading entities.
+ */
+@Repository
+@Profile("!reactive & !batch")
+@RequiredArgsConstructor
+public class LoanSearchRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Up to {@code limit} loans matching the criteria, newest first, starting after {@code after} if given.
+     */
+    public List<LoanSummaryDTO> find(LoanSearchCriteria criteria, LoanKeyset after, int limit) {
+        LoanSearchQuery query = new LoanSearchQuery(criteria, after, limit);
+        return jdbcTemplate.query(query.sql(), query.parameters(), (rs, rowNum) -> LoanSearchQuery.toSummary(
+                rs.getLong(1), rs.getBigDecimal(2), rs.getBigDecimal(3), rs.getInt(4), rs.getBigDecimal(5),
+                rs.getBigDecimal(6), rs.getObject(7, LocalDateTime.class)));
+    }
+}
@@ -0,0 +1,191 @@
+package com.kuzminac.loan_service.loan_calculator.repository;
+
+import com.kuzminac.loan_service.loan_calculator.dto.LoanSummaryDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedule;
+import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Non-blocking access to the {@code loans} table for the reactive profile. Ids are drawn from {@code loans_id_seq}
+ * in blocks of {@link Loan#ID_ALLOCATION_SIZE}, the same pooled scheme Hibernate uses, so both stacks can write to
+ * the table side by side. Claiming the {@link LoanFingerprint}, inserting the loan and inserting its schedule is
+ * one statement, which keeps them atomic without a transaction manager; a loan calculated before is not inserted
+ * again and gets the id of the stored one.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveLoanRepository {
+
+    private static final String INSERT_SQL = """
+            WITH claimed AS (
+                INSERT INTO loan_fingerprints (fingerprint, loan_id) VALUES (:fingerprint, :id)
+                ON CONFLICT DO NOTHING
+                RETURNING loan_id),
+            loan AS (
+                INSERT INTO loans (id, loan_amount, interest_rate, number_of_payments, total_payment, total_interest, created_at)
+                SELECT loan_id, :loanAmount::numeric, :interestRate::numeric, :numberOfPayments::int4, :totalPayment::numeric,
+                       :totalInterest::numeric, :createdAt::timestamp
+                FROM claimed),
+            schedule AS (
+                INSERT INTO loan_schedule (loan_id, period, payment_cents, principal_cents, interest_cents, balance_cents)
+                SELECT claimed.loan_id, periods.*
+                FROM claimed, unnest(:periods::int4[], :payments::int8[], :principalAmounts::int8[], :interestAmounts::int8[],
+                                     :balancesOwed::int8[]) AS periods)
+            SELECT loan_id FROM claimed""";
+
+    private static final String SELECT_STORED_ID_SQL = "SELECT loan_id FROM loan_fingerprints WHERE fingerprint = :fingerprint";
+
+    private static final String SELECT_SCHEDULE_SQL = """
+            SELECT period, payment_cents, principal_cents, interest_cents, balance_cents
+            FROM loan_schedule WHERE loan_id = :loanId ORDER BY period""";
+
+    private static final String SELECT_SCHEDULE_BEFORE_SQL = """
+            SELECT period, payment_cents, principal_cents, interest_cents, balance_cents
+            FROM loan_schedule WHERE loan_id = :loanId AND period < :period ORDER BY period""";
+
+    private final DatabaseClient databaseClient;
+
+    private long nextId;
+    private long lastId = -1;
+
+    public ReactiveLoanRepository(ConnectionFactory connectionFactory) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+    }
+
+    public Mono<Loan> save(Loan loan) {
+        return nextId()
+                .flatMap(id -> {
+                    LoanScheduleColumns schedule = new LoanScheduleColumns(loan.getNumberOfPayments());
+                    if (loan.getPaymentSchedule() != null) {
+                        schedule.add(id, loan.getPaymentSchedule());
+                    }
+                    Object[] columns = schedule.toInsertParameters();
+                    UUID fingerprint = LoanFingerprint.of(loan);
+                    return databaseClient.sql(INSERT_SQL)
+                            .bind("fingerprint", fingerprint)
+                            .bind("id", id)
+                            .bind("loanAmount", loan.getLoanAmount())
+                            .bind("interestRate", loan.getInterestRate())
+                            .bind("numberOfPayments", loan.getNumberOfPayments())
+                            .bind("totalPayment", loan.getTotalPayment())
+                            .bind("totalInterest", loan.getTotalInterest())
+                            .bind("createdAt", loan.getCreatedAt())
+                            .bind("periods", Arrays.stream((int[]) columns[1]).boxed().toArray(Integer[]::new))
+                            .bind("payments", boxed(columns[2]))
+                            .bind("principalAmounts", boxed(columns[3]))
+                            .bind("interestAmounts", boxed(columns[4]))
+                            .bind("balancesOwed", boxed(columns[5]))
+                            .map(row -> row.get(0, Long.class))
+                            .one()
+                            // Not claimed: stored before, and committed by now if that was concurrent
+                            .switchIfEmpty(Mono.defer(() -> databaseClient.sql(SELECT_STORED_ID_SQL)
+                                    .bind("fingerprint", fingerprint)
+                                    .map(row -> row.get(0, Long.class))
+                                    .one()))
+                            .map(loanId -> {
+                                loan.setId(loanId);
+                                return loan;
+                            });
+                });
+    }
+
+    public Mono<Loan> findById(Long id) {
+        return databaseClient.sql("SELECT * FROM loans WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveLoanRepository::toLoan)
+                .one();
+    }
+
+    /**
+     * Up to {@code limit} loans matching the criteria, newest first, starting after {@code after} if given.
+     */
+    public Flux<LoanSummaryDTO> find(LoanSearchCriteria criteria, LoanKeyset after, int limit) {
+        LoanSearchQuery query = new LoanSearchQuery(criteria, after, limit);
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(query.sql());
+        for (Map.Entry<String, Object> parameter : query.parameters().entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec.map(row -> LoanSearchQuery.toSummary(row.get(0, Long.class), row.get(1, BigDecimal.class),
+                        row.get(2, BigDecimal.class), row.get(3, Integer.class), row.get(4, BigDecimal.class),
+                        row.get(5, BigDecimal.class), row.get(6, LocalDateTime.class)))
+                .all();
+    }
+
+    /**
+     * The stored schedule, empty for loans saved before schedules were stored.
+     */
+    public Mono<PaymentSchedule> findScheduleByLoanId(long loanId, int numberOfPayments) {
+        return toSchedule(loanId, numberOfPayments, databaseClient.sql(SELECT_SCHEDULE_SQL).bind("loanId", loanId));
+    }
+
+    /**
+     * The stored periods before {@code period}; empty as for {@link #findScheduleByLoanId}.
+     */
+    public Mono<PaymentSchedule> findSchedulePeriodsBefore(long loanId, int period) {
+        return toSchedule(loanId, period - 1, databaseClient.sql(SELECT_SCHEDULE_BEFORE_SQL)
+                .bind("loanId", loanId)
+                .bind("period", period));
+    }
+
+    private static Mono<PaymentSchedule> toSchedule(long loanId, int expectedPeriods, DatabaseClient.GenericExecuteSpec spec) {
+        return spec.map(row -> new StoredPeriod(row.get(0, Integer.class), row.get(1, Long.class), row.get(2, Long.class),
+                        row.get(3, Long.class), row.get(4, Long.class)))
+                .all()
+                .collect(() -> new LoanScheduleColumns(expectedPeriods), (columns, period) -> columns.add(loanId,
+                        period.period(), period.payment(), period.principalAmount(), period.interestAmount(), period.balanceOwed()))
+                .filter(columns -> columns.size() > 0)
+                .map(LoanScheduleColumns::toPaymentSchedule);
+    }
+
+    private Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            synchronized (this) {
+                if (nextId <= lastId) {
+                    return Mono.just(nextId++);
+                }
+            }
+            // Concurrent callers may each fetch a block; the one installed last wins and the rest of the other is skipped
+            return databaseClient.sql("SELECT nextval('" + Loan.ID_SEQUENCE + "')")
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .map(this::installBlock);
+        });
+    }
+
+    private synchronized long installBlock(long high) {
+        lastId = high;
+        nextId = high - Loan.ID_ALLOCATION_SIZE + 1;
+        return nextId++;
+    }
+
+    private static Long[] boxed(Object column) {
+        return Arrays.stream((long[]) column).boxed().toArray(Long[]::new);
+    }
+
+    private static Loan toLoan(Readable row) {
+        return Loan.builder()
+                .id(row.get("id", Long.class))
+                .loanAmount(row.get("loan_amount", BigDecimal.class))
+                .interestRate(row.get("interest_rate", BigDecimal.class))
+                .numberOfPayments(row.get("number_of_payments", Integer.class))
+                .totalPayment(row.get("total_payment", BigDecimal.class))
+                .totalInterest(row.get("total_interest", BigDecimal.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .build();
+    }
+
+    private record StoredPeriod(int period, long payment, long principalAmount, long interestAmount, long balanceOwed) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.config.CalculationProperties;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Bounded worker pool for batch calculations. Deliberately not exposed as an {@code Executor} bean, which would
+ * replace Spring Boot's {@code applicationTaskExecutor}. When the queue is full the submitting thread runs the
+ * calculation itself, so a large batch slows its own caller down instead of piling up work. The workers stay platform
+ * threads in the virtual-threads profile too: the calculations are CPU bound and never block.
+ */
+@Component
+@Slf4j
+public class BatchCalculationExecutor implements DisposableBean {
+
+    @Getter
+    private final int maxBatchSize;
+    private final ThreadPoolExecutor executor;
+    private final ThreadLocal<Boolean> workerThread = ThreadLocal.withInitial(() -> false);
+
+    public BatchCalculationExecutor(CalculationProperties properties) {
+        CalculationProperties.Batch batch = properties.getBatch();
+        this.maxBatchSize = batch.getMaxSize();
+        ThreadFactory threads = Thread.ofPlatform().name("loan-batch-", 0).daemon(true).factory();
+        this.executor = new ThreadPoolExecutor(batch.getParallelism(), batch.getParallelism(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(batch.getQueueCapacity()),
+                worker -> threads.newThread(() -> {
+                    workerThread.set(true);
+                    worker.run();
+                }),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        log.info("Batch calculations use {} threads, at most {} loans per batch", batch.getParallelism(), maxBatchSize);
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /**
+     * Runs {@code task} for the indexes {@code 0..count - 1} on the pool and waits for all of them. Called from a
+     * worker, the tasks run on that worker one after another instead, as waiting there for queued tasks could leave
+     * no thread to run them.
+     */
+    public void forEachIndex(int count, IntConsumer task) {
+        if (workerThread.get()) {
+            for (int index = 0; index < count; index++) {
+                task.accept(index);
+            }
+            return;
+        }
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[count];
+        for (int index = 0; index < count; index++) {
+            int taskIndex = index;
+            tasks[index] = CompletableFuture.runAsync(() -> task.accept(taskIndex), executor);
+        }
+        try {
+            CompletableFuture.allOf(tasks).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
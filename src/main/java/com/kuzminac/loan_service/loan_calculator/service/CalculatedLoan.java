@@ -0,0 +1,12 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentScheduleDTO;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Everything calculated for a loan request; {@code schedule} is {@code null} for summary-only calculations.
+ */
+record CalculatedLoan(BigDecimal totalPayment, BigDecimal totalInterest, List<PaymentScheduleDTO> schedule) {
+}
@@ -0,0 +1,225 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.config.CalculationProperties;
+import com.kuzminac.loan_service.loan_calculator.dto.CashFlowMonthDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.CashFlowProjectionDTO;
+import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanCashFlowRepository;
+import com.kuzminac.loan_service.loan_calculator.service.engine.ScheduleSink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expected payments of the whole portfolio per future month. Loans are streamed from the database and handed to
+ * the batch pool in chunks; each chunk generates the remaining periods of its loans straight into per-month cent
+ * totals, and the reading thread merges the chunk totals as they complete. No schedule is kept, so memory depends
+ * on the number of months only. Period {@code p} of a loan created in month {@code c} is due in month {@code c + p}.
+ */
+@Component
+@Profile("!reactive & !batch")
+@Slf4j
+public class CashFlowProjector {
+
+    // Loans per task; a chunk of 30 year loans is up to 360,000 periods
+    static final int CHUNK_SIZE = 1000;
+
+    private final LoanCashFlowRepository cashFlowRepository;
+    private final LoanCalculator loanCalculator;
+    private final BatchCalculationExecutor batchExecutor;
+    private final int fetchSize;
+
+    public CashFlowProjector(LoanCashFlowRepository cashFlowRepository, LoanCalculator loanCalculator,
+                             BatchCalculationExecutor batchExecutor, CalculationProperties properties) {
+        this.cashFlowRepository = cashFlowRepository;
+        this.loanCalculator = loanCalculator;
+        this.batchExecutor = batchExecutor;
+        this.fetchSize = properties.getCashFlow().getFetchSize();
+    }
+
+    /**
+     * The projection from next month on, in UTC like the loans' creation times. The read-only transaction lets the
+     * loans be fetched in batches instead of all at once.
+     */
+    @Transactional(readOnly = true)
+    public CashFlowProjectionDTO project() {
+        return project(YearMonth.now(ZoneOffset.UTC).plusMonths(1));
+    }
+
+    CashFlowProjectionDTO project(YearMonth fromMonth) {
+        long start = System.nanoTime();
+        Aggregation aggregation = new Aggregation(fromMonth);
+        cashFlowRepository.forEachOutstanding(fromMonth.atDay(1).atStartOfDay(), fetchSize, aggregation::add);
+        CashFlow cashFlow = aggregation.finish();
+        log.info("Projected cash flow of {} loans over {} months in {} ms", cashFlow.loans, cashFlow.months,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return cashFlow.toProjection(fromMonth);
+    }
+
+    private CashFlow accumulate(List<Loan> loans, YearMonth fromMonth) {
+        CashFlow cashFlow = new CashFlow();
+        for (Loan loan : loans) {
+            int firstDuePeriod = (int) ChronoUnit.MONTHS.between(YearMonth.from(loan.getCreatedAt()), fromMonth);
+            int fromPeriod = Math.max(1, firstDuePeriod);
+            if (fromPeriod > loan.getNumberOfPayments()) {
+                continue;
+            }
+            cashFlow.startLoan(firstDuePeriod, loan.getNumberOfPayments());
+            loanCalculator.generateRemainingSchedule(loan, fromPeriod, cashFlow);
+        }
+        return cashFlow;
+    }
+
+    private static CashFlow join(CompletableFuture<CashFlow> task) {
+        try {
+            return task.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    /**
+     * Chunks of the streamed loans and their pending totals. Only used by the reading thread. The batch pool runs a
+     * chunk on the reading thread when its queue is full, which keeps the number of pending chunks bounded.
+     */
+    private final class Aggregation {
+
+        private final YearMonth fromMonth;
+        private final CashFlow total = new CashFlow();
+        private final Deque<CompletableFuture<CashFlow>> pending = new ArrayDeque<>();
+        private List<Loan> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        Aggregation(YearMonth fromMonth) {
+            this.fromMonth = fromMonth;
+        }
+
+        void add(Loan loan) {
+            chunk.add(loan);
+            if (chunk.size() == CHUNK_SIZE) {
+                submit();
+                mergeCompleted();
+            }
+        }
+
+        CashFlow finish() {
+            if (!chunk.isEmpty()) {
+                submit();
+            }
+            while (!pending.isEmpty()) {
+                total.merge(join(pending.poll()));
+            }
+            return total;
+        }
+
+        private void submit() {
+            List<Loan> loans = chunk;
+            chunk = new ArrayList<>(CHUNK_SIZE);
+            pending.add(batchExecutor.submit(() -> accumulate(loans, fromMonth)));
+        }
+
+        private void mergeCompleted() {
+            for (Iterator<CompletableFuture<CashFlow>> tasks = pending.iterator(); tasks.hasNext(); ) {
+                CompletableFuture<CashFlow> task = tasks.next();
+                if (task.isDone()) {
+                    total.merge(join(task));
+                    tasks.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Totals in cents per month, index 0 being the first projected month. Grows with the longest remaining term.
+     */
+    private static final class CashFlow implements ScheduleSink {
+
+        private static final int INITIAL_MONTHS = 360;
+
+        private int[] payments = new int[INITIAL_MONTHS];
+        private long[] paymentAmounts = new long[INITIAL_MONTHS];
+        private long[] principalAmounts = new long[INITIAL_MONTHS];
+        private long[] interestAmounts = new long[INITIAL_MONTHS];
+        private int months;
+        private long loans;
+        private int firstDuePeriod;
+
+        void startLoan(int firstDuePeriod, int numberOfPayments) {
+            this.firstDuePeriod = firstDuePeriod;
+            ensureMonths(numberOfPayments - firstDuePeriod + 1);
+            loans++;
+        }
+
+        @Override
+        public void accept(int period, long payment, long principalAmount, long interestAmount, long balanceOwed) {
+            int month = period - firstDuePeriod;
+            payments[month]++;
+            paymentAmounts[month] = Math.addExact(paymentAmounts[month], payment);
+            principalAmounts[month] = Math.addExact(principalAmounts[month], principalAmount);
+            interestAmounts[month] = Math.addExact(interestAmounts[month], interestAmount);
+        }
+
+        void merge(CashFlow other) {
+            ensureMonths(other.months);
+            for (int month = 0; month < other.months; month++) {
+                payments[month] += other.payments[month];
+                paymentAmounts[month] = Math.addExact(paymentAmounts[month], other.paymentAmounts[month]);
+                principalAmounts[month] = Math.addExact(principalAmounts[month], other.principalAmounts[month]);
+                interestAmounts[month] = Math.addExact(interestAmounts[month], other.interestAmounts[month]);
+            }
+            loans += other.loans;
+        }
+
+        CashFlowProjectionDTO toProjection(YearMonth fromMonth) {
+            List<CashFlowMonthDTO> projectedMonths = new ArrayList<>(months);
+            long totalPayment = 0;
+            long totalPrincipal = 0;
+            long totalInterest = 0;
+            for (int month = 0; month < months; month++) {
+                projectedMonths.add(CashFlowMonthDTO.builder()
+                        .month(fromMonth.plusMonths(month))
+                        .payments(payments[month])
+                        .payment(BigDecimal.valueOf(paymentAmounts[month], 2))
+                        .principalAmount(BigDecimal.valueOf(principalAmounts[month], 2))
+                        .interestAmount(BigDecimal.valueOf(interestAmounts[month], 2))
+                        .build());
+                totalPayment = Math.addExact(totalPayment, paymentAmounts[month]);
+                totalPrincipal = Math.addExact(totalPrincipal, principalAmounts[month]);
+                totalInterest = Math.addExact(totalInterest, interestAmounts[month]);
+            }
+            return CashFlowProjectionDTO.builder()
+                    .fromMonth(fromMonth)
+                    .loans(loans)
+                    .totalPayment(BigDecimal.valueOf(totalPayment, 2))
+                    .totalPrincipal(BigDecimal.valueOf(totalPrincipal, 2))
+                    .totalInterest(BigDecimal.valueOf(totalInterest, 2))
+                    .months(projectedMonths)
+                    .build();
+        }
+
+        private void ensureMonths(int required) {
+            if (required > payments.length) {
+                int length = Math.max(required, payments.length * 2);
+                payments = Arrays.copyOf(payments, length);
+                paymentAmounts = Arrays.copyOf(paymentAmounts, length);
+                principalAmounts = Arrays.copyOf(principalAmounts, length);
+                interestAmounts = Arrays.copyOf(interestAmounts, length);
+            }
+            months = Math.max(months, required);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.dto.LazyPaymentSchedule;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+
+import java.util.List;
+
+/**
+ * Calculated loan that has not been persisted yet.
+ */
+record LoanCalculation(Loan loan, List<PaymentScheduleDTO> schedule) {
+
+    /**
+     * Generates lazy schedules now, on the calling thread, instead of while the loan or the response is written.
+     */
+    LoanCalculation generateSchedule() {
+        if (schedule instanceof LazyPaymentSchedule lazy) {
+            lazy.resolve();
+        }
+        if (loan.getPaymentSchedule() instanceof LazyPaymentSchedule lazy) {
+            lazy.resolve();
+        }
+        return this;
+    }
+}
@@ -0,0 +1,65 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kuzminac.loan_service.loan_calculator.config.CalculationProperties;
+import com.kuzminac.loan_service.loan_calculator.dto.LazyPaymentSchedule;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of calculation results for repeated loan products. Keys compare amounts by value, so 5.5 and 5.50
+ * hit the same entry; the results do not depend on the scale of the inputs. Hit, miss and eviction statistics are
+ * published as {@code cache.*} metrics tagged {@code cache=loan.calculations}.
+ */
+@Component
+@Slf4j
+public class LoanCalculationCache {
+
+    private final Cache<Key, CalculatedLoan> cache;
+
+    public LoanCalculationCache(CalculationProperties properties, MeterRegistry meterRegistry) {
+        CalculationProperties.Cache cacheProperties = properties.getCache();
+        if (!cacheProperties.isEnabled()) {
+            this.cache = null;
+            log.info("Loan calculation cache disabled");
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(cacheProperties.getMaximumWeight())
+                .weigher((Key key, CalculatedLoan value) -> value.schedule() == null ? 1 : 1 + value.schedule().size())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "loan.calculations");
+    }
+
+    CalculatedLoan get(BigDecimal loanAmount, BigDecimal interestRate, int numberOfPayments, boolean includeSchedule,
+                       Supplier<CalculatedLoan> calculation) {
+        if (cache == null) {
+            return calculation.get();
+        }
+        Key key = new Key(loanAmount.stripTrailingZeros(), interestRate.stripTrailingZeros(), numberOfPayments, includeSchedule);
+        return cache.get(key, ignored -> shareable(calculation.get()));
+    }
+
+    private static CalculatedLoan shareable(CalculatedLoan calculated) {
+        // Cached schedules are handed to every matching response, so nobody may change them.
+        // The calculator's schedules are read-only already; wrapping them would hide their serializers.
+        if (calculated.schedule() == null || calculated.schedule() instanceof PaymentSchedule
+                || calculated.schedule() instanceof LazyPaymentSchedule) {
+            return calculated;
+        }
+        return new CalculatedLoan(calculated.totalPayment(),
+                calculated.totalInterest(), Collections.unmodifiableList(calculated.schedule()));
+    }
+
+    private record Key(BigDecimal loanAmount, BigDecimal interestRate, int numberOfPayments, boolean includeSchedule) {
+    }
+}
@@ -0,0 +1,311 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.dto.LazyPaymentSchedule;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanRequestDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanResponseDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedule;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedulePageDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.RecalculatedScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+import com.kuzminac.loan_service.loan_calculator.exception.InvalidLoanParametersException;
+import com.kuzminac.loan_service.loan_calculator.service.engine.AmortizationEngine;
+import com.kuzminac.loan_service.loan_calculator.service.engine.AmortizationMath;
+import com.kuzminac.loan_service.loan_calculator.service.engine.ScheduleSink;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static com.kuzminac.loan_service.loan_calculator.service.engine.AmortizationMath.MC;
+
+/**
+ * The loan math behind both the servlet and the reactive service: payments, totals, schedules and response
+ * building. CPU bound and free of I/O, so it can run on any thread.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoanCalculator {
+
+    private final AmortizationEngine amortizationEngine;
+    private final LoanCalculationCache calculationCache;
+    private final LoanMetrics loanMetrics;
+
+    PaymentSchedulePageDTO getPaymentSchedule(Loan loan, int fromPeriod, Integer toPeriod) {
+        int numberOfPayments = loan.getNumberOfPayments();
+        int lastPeriod = toPeriod == null ? numberOfPayments : Math.min(toPeriod, numberOfPayments);
+
+        if (fromPeriod < 1 || fromPeriod > numberOfPayments) {
+            throw new InvalidLoanParametersException(
+                    String.format("fromPeriod must be between 1 and %d", numberOfPayments));
+        }
+        if (lastPeriod < fromPeriod) {
+            throw new InvalidLoanParametersException("toPeriod must not be before fromPeriod");
+        }
+
+        // Only the requested slice is computed; the closed-form engine jumps straight to fromPeriod
+        BigDecimal monthlyInterestRate = calculateMonthlyInterestRate(loan.getInterestRate());
+        BigDecimal payment = calculateMonthlyPayment(loan.getLoanAmount(), monthlyInterestRate, numberOfPayments);
+        PaymentScheduleCollector collector = new PaymentScheduleCollector(lastPeriod - fromPeriod + 1);
+        amortizationEngine.generatePaymentSchedule(loan.getLoanAmount(), monthlyInterestRate, numberOfPayments, payment,
+                fromPeriod, lastPeriod, collector);
+        log.debug("Generated periods {}..{} of loan ID: {}", fromPeriod, lastPeriod, loan.getId());
+        loanMetrics.recordScheduleSize(lastPeriod - fromPeriod + 1);
+
+        return PaymentSchedulePageDTO.builder()
+                .loanId(loan.getId())
+                .numberOfPayments(numberOfPayments)
+                .fromPeriod(fromPeriod)
+                .toPeriod(lastPeriod)
+                .paymentSchedule(collector.getSchedule())
+                .build();
+    }
+
+    BigDecimal calculateMonthlyInterestRate(BigDecimal annualRate) {
+        return AmortizationMath.monthlyInterestRate(annualRate);
+    }
+
+    BigDecimal calculateMonthlyPayment(BigDecimal principal, BigDecimal monthlyInterestRate, int numberOfPayments) {
+        return amortizationEngine.calculateMonthlyPayment(principal, monthlyInterestRate, numberOfPayments);
+    }
+
+    List<PaymentScheduleDTO> generatePaymentSchedule(BigDecimal principal, BigDecimal monthlyInterestRate, int numberOfPayments, BigDecimal payment) {
+        PaymentScheduleCollector collector = new PaymentScheduleCollector(numberOfPayments);
+        amortizationEngine.generatePaymentSchedule(principal, monthlyInterestRate, numberOfPayments, payment, collector);
+        return collector.getSchedule();
+    }
+
+    /**
+     * With {@code includeSchedule}, the loan is stored with the schedule of the response. Otherwise it is stored
+     * with a schedule generated only when written if {@code storeSummarySchedule}, and without one if not.
+     */
+    LoanCalculation calculate(LoanRequestDTO requestDTO, boolean includeSchedule, boolean storeSummarySchedule) {
+
+        // Extract loan details from request
+        BigDecimal principal = requestDTO.getLoanAmount();
+        BigDecimal annualInterestRate = requestDTO.getInterestRate();
+        int numberOfPayments = requestDTO.getNumberOfPayments();
+        loanMetrics.recordNumberOfPayments(numberOfPayments);
+
+        // Standard products repeat, so the math is skipped for anything calculated before
+        CalculatedLoan calculated = calculationCache.get(principal, annualInterestRate, numberOfPayments, includeSchedule,
+                () -> calculate(principal, annualInterestRate, numberOfPayments, includeSchedule));
+
+        List<PaymentScheduleDTO> storedSchedule = calculated.schedule();
+        if (storedSchedule == null && storeSummarySchedule) {
+            storedSchedule = new LazyPaymentSchedule(numberOfPayments, () -> generatePaymentSchedule(principal, annualInterestRate, numberOfPayments));
+        }
+        return new LoanCalculation(createLoanEntity(principal, annualInterestRate, numberOfPayments,
+                calculated.totalPayment(), calculated.totalInterest(), storedSchedule), calculated.schedule());
+    }
+
+    private CalculatedLoan calculate(BigDecimal principal, BigDecimal annualInterestRate, int numberOfPayments, boolean includeSchedule) {
+
+        // Calculate monthly interest rate
+        BigDecimal monthlyInterestRate = calculateMonthlyInterestRate(annualInterestRate);
+
+        // Calculate monthly payment using the loan formula
+        BigDecimal payment = loanMetrics.timePayment(() -> calculateMonthlyPayment(principal, monthlyInterestRate, numberOfPayments));
+
+        // Calculate total payment and total interest with high precision
+        BigDecimal totalPayment = totalPayment(payment, numberOfPayments);
+        BigDecimal totalInterest = totalInterest(totalPayment, principal);
+        log.debug("Total Payment: {}, Total Interest: {}", totalPayment, totalInterest);
+
+        // The schedule is generated when it is first read, usually while the response is written
+        List<PaymentScheduleDTO> schedule = null;
+        if (includeSchedule) {
+            schedule = new LazyPaymentSchedule(numberOfPayments, () -> loanMetrics.timeSchedule(() -> {
+                List<PaymentScheduleDTO> generated = generatePaymentSchedule(principal, monthlyInterestRate, numberOfPayments, payment);
+                log.debug("Generated payment schedule with {} periods", generated.size());
+                return generated;
+            }));
+        }
+
+        return new CalculatedLoan(totalPayment, totalInterest, schedule);
+    }
+
+    /**
+     * The full schedule of a saved loan, for loans stored without one.
+     */
+    List<PaymentScheduleDTO> generatePaymentSchedule(Loan loan) {
+        return generatePaymentSchedule(loan.getLoanAmount(), loan.getInterestRate(), loan.getNumberOfPayments());
+    }
+
+    private List<PaymentScheduleDTO> generatePaymentSchedule(BigDecimal principal, BigDecimal annualInterestRate, int numberOfPayments) {
+        BigDecimal monthlyInterestRate = calculateMonthlyInterestRate(annualInterestRate);
+        BigDecimal payment = calculateMonthlyPayment(principal, monthlyInterestRate, numberOfPayments);
+        return generatePaymentSchedule(principal, monthlyInterestRate, numberOfPayments, payment);
+    }
+
+    static BigDecimal totalPayment(BigDecimal payment, int numberOfPayments) {
+        return payment.multiply(BigDecimal.valueOf(numberOfPayments), MC).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    static BigDecimal totalInterest(BigDecimal totalPayment, BigDecimal principal) {
+        return totalPayment.subtract(principal).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    void generatePaymentSchedule(LoanRequestDTO requestDTO, ScheduleSink sink) {
+        BigDecimal principal = requestDTO.getLoanAmount();
+        int numberOfPayments = requestDTO.getNumberOfPayments();
+        BigDecimal monthlyInterestRate = calculateMonthlyInterestRate(requestDTO.getInterestRate());
+        BigDecimal payment = calculateMonthlyPayment(principal, monthlyInterestRate, numberOfPayments);
+        amortizationEngine.generatePaymentSchedule(principal, monthlyInterestRate, numberOfPayments, payment, sink);
+        loanMetrics.recordScheduleSize(numberOfPayments);
+    }
+
+    /**
+     * Periods {@code fromPeriod..numberOfPayments} of a stored loan's schedule, without recording request metrics.
+     */
+    void generateRemainingSchedule(Loan loan, int fromPeriod, ScheduleSink sink) {
+        int numberOfPayments = loan.getNumberOfPayments();
+        BigDecimal monthlyInterestRate = calculateMonthlyInterestRate(loan.getInterestRate());
+        BigDecimal payment = calculateMonthlyPayment(loan.getLoanAmount(), monthlyInterestRate, numberOfPayments);
+        amortizationEngine.generatePaymentSchedule(loan.getLoanAmount(), monthlyInterestRate, numberOfPayments, payment,
+                fromPeriod, numberOfPayments, sink);
+    }
+
+    BigDecimal continueSchedule(BigDecimal openingBalance, BigDecimal monthlyInterestRate, int numberOfPayments,
+                                BigDecimal payment, int firstPeriod, int lastPeriod, ScheduleSink sink) {
+        return amortizationEngine.continueSchedule(openingBalance, monthlyInterestRate, numberOfPayments, payment,
+                firstPeriod, lastPeriod, sink);
+    }
+
+    /**
+     * The loan's schedule with the events applied. Periods before the first event are copied from
+     * {@code storedPeriods} if it has all of them and generated otherwise; either way the schedule then continues
+     * from the balance owed in cents, so only the periods from the first event on are computed. A rate change applies
+     * from the interest of its period, an extra payment is made on top of the payment of its period, and after either
+     * the balance is re-amortized over the remaining periods. An extra payment covering the balance ends the schedule.
+     */
+    RecalculatedScheduleDTO recalculateSchedule(Loan loan, PaymentSchedule storedPeriods, ScheduleEvents events) {
+        int numberOfPayments = loan.getNumberOfPayments();
+        int firstEventPeriod = events.firstPeriod();
+        BigDecimal monthlyInterestRate = calculateMonthlyInterestRate(loan.getInterestRate());
+        BigDecimal payment = calculateMonthlyPayment(loan.getLoanAmount(), monthlyInterestRate, numberOfPayments);
+        PaymentScheduleCollector collector = new PaymentScheduleCollector(numberOfPayments);
+
+        BigDecimal balance = loan.getLoanAmount();
+        if (firstEventPeriod > 1 && storedPeriods != null && storedPeriods.size() == firstEventPeriod - 1) {
+            for (int i = 0; i < storedPeriods.size(); i++) {
+                collector.accept(storedPeriods.getPeriod(i), storedPeriods.getPaymentCents(i), storedPeriods.getPrincipalAmountCents(i),
+                        storedPeriods.getInterestAmountCents(i), storedPeriods.getBalanceOwedCents(i));
+            }
+            balance = BigDecimal.valueOf(storedPeriods.getBalanceOwedCents(firstEventPeriod - 2), 2);
+        } else if (firstEventPeriod > 1) {
+            balance = continueSchedule(balance, monthlyInterestRate, numberOfPayments, payment, 1, firstEventPeriod - 1, collector)
+                    .setScale(2, RoundingMode.HALF_UP);
+        }
+
+        int period = firstEventPeriod;
+        for (ScheduleEvents.Change change : events.changes()) {
+            if (change.period() > period) {
+                balance = continueSchedule(balance, monthlyInterestRate, numberOfPayments, payment, period, change.period() - 1, collector);
+                period = change.period();
+            }
+            int remainingPayments = numberOfPayments - period + 1;
+            if (change.interestRate() != null) {
+                monthlyInterestRate = calculateMonthlyInterestRate(change.interestRate());
+                payment = calculateMonthlyPayment(balance, monthlyInterestRate, remainingPayments);
+            }
+            if (change.extraPayment() != null) {
+                PeriodCapture captured = new PeriodCapture();
+                balance = continueSchedule(balance, monthlyInterestRate, numberOfPayments, payment, period, period, captured);
+                if (change.extraPayment().compareTo(balance) >= 0) {
+                    // Only what is left is paid, and nothing remains for later events
+                    collector.accept(period, captured.payment + captured.balanceOwed, captured.principalAmount + captured.balanceOwed,
+                            captured.interestAmount, 0);
+                    return recalculatedSchedule(loan, firstEventPeriod, collector.getSchedule());
+                }
+                long extraCents = change.extraPayment().movePointRight(2).longValueExact();
+                collector.accept(period, captured.payment + extraCents, captured.principalAmount + extraCents,
+                        captured.interestAmount, captured.balanceOwed - extraCents);
+                balance = balance.subtract(change.extraPayment());
+                // A balance left after the last period is impossible, so there is at least one more
+                payment = calculateMonthlyPayment(balance, monthlyInterestRate, remainingPayments - 1);
+                period++;
+            }
+        }
+        if (period <= numberOfPayments) {
+            continueSchedule(balance, monthlyInterestRate, numberOfPayments, payment, period, numberOfPayments, collector);
+        }
+        log.debug("Recalculated periods {}..{} of loan ID: {}", firstEventPeriod, numberOfPayments, loan.getId());
+        return recalculatedSchedule(loan, firstEventPeriod, collector.getSchedule());
+    }
+
+    private static RecalculatedScheduleDTO recalculatedSchedule(Loan loan, int firstEventPeriod, List<PaymentScheduleDTO> schedule) {
+        // All of the principal is repaid, so the payments add up to it plus the interest
+        BigDecimal totalInterest = BigDecimal.ZERO.setScale(2);
+        for (PaymentScheduleDTO row : schedule) {
+            totalInterest = totalInterest.add(row.getInterestAmount());
+        }
+        return RecalculatedScheduleDTO.builder()
+                .loanId(loan.getId())
+                .loanAmount(loan.getLoanAmount())
+                .interestRate(loan.getInterestRate())
+                .numberOfPayments(loan.getNumberOfPayments())
+                .recalculatedFromPeriod(firstEventPeriod)
+                .totalPayment(loan.getLoanAmount().add(totalInterest).setScale(2, RoundingMode.HALF_UP))
+                .totalInterest(totalInterest)
+                .paymentSchedule(schedule)
+                .build();
+    }
+
+    private Loan createLoanEntity(BigDecimal principal, BigDecimal annualRate, int payments, BigDecimal totalPayment,
+                                  BigDecimal totalInterest, List<PaymentScheduleDTO> paymentSchedule) {
+        return Loan.builder()
+                .loanAmount(principal)
+                .interestRate(annualRate)
+                .numberOfPayments(payments)
+                .totalPayment(totalPayment)
+                .totalInterest(totalInterest)
+                .createdAt(LocalDateTime.now(ZoneOffset.UTC))
+                .paymentSchedule(paymentSchedule)
+                .build();
+    }
+
+    LoanResponseDTO buildLoanResponse(Long loanId, LoanCalculation calculation) {
+        return buildLoanResponse(loanId, calculation.loan(), calculation.schedule());
+    }
+
+    LoanResponseDTO buildLoanResponse(Long loanId, Loan loan, List<PaymentScheduleDTO> schedule) {
+        if (schedule != null) {
+            loanMetrics.recordScheduleSize(schedule.size());
+        }
+        return LoanResponseDTO.builder()
+                .loanId(loanId)
+                .loanAmount(loan.getLoanAmount())
+                .interestRate(loan.getInterestRate())
+                .numberOfPayments(loan.getNumberOfPayments())
+                .totalPayment(loan.getTotalPayment())
+                .totalInterest(loan.getTotalInterest())
+                .paymentSchedule(schedule)
+                .build();
+    }
+
+    /**
+     * Holds the single period an extra payment is added to.
+     */
+    private static final class PeriodCapture implements ScheduleSink {
+
+        private long payment;
+        private long principalAmount;
+        private long interestAmount;
+        private long balanceOwed;
+
+        @Override
+        public void accept(int period, long payment, long principalAmount, long interestAmount, long balanceOwed) {
+            this.payment = payment;
+            this.principalAmount = principalAmount;
+            this.interestAmount = interestAmount;
+            this.balanceOwed = balanceOwed;
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.dto.LoanRequestDTO;
+import com.kuzminac.loan_service.loan_calculator.exception.LoanCalculationException;
+import com.kuzminac.loan_service.loan_calculator.service.engine.ScheduleSink;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Calculates the loans of a CSV file into a compact binary file, for month-end runs over millions of loans. Fork-join
+ * tasks split the input at line boundaries until the pieces are at most {@code chunkSize} bytes; each piece is
+ * memory-mapped, parsed and calculated by one task into its own part file, and the parts are joined in input order.
+ * Rows are validated like {@code calculate} requests and calculated with the same {@link LoanCalculator} math; an
+ * invalid row becomes a rejected record rather than failing the job.
+ * <p>
+ * The input has a header line naming at least the columns {@code id}, {@code loanAmount}, {@code interestRate} and
+ * {@code numberOfPayments}, in any order, and no quoted fields. The output starts with {@code LOANBAT1} and a flags
+ * byte, 1 if schedules are included. Every row is then a record of its id, a status byte, and for
+ * {@value #CALCULATED} the payment, total payment and total interest, followed with schedules by the number of periods
+ * and the payment, principal, interest and balance owed of each; for {@value #REJECTED} the reason. Amounts are in
+ * cents, numbers are zigzag varints and strings are UTF-8 prefixed by their length as a varint.
+ */
+@Slf4j
+final class LoanFileBatchJob {
+
+    static final byte[] MAGIC = "LOANBAT1".getBytes(StandardCharsets.US_ASCII);
+    static final byte CALCULATED = 0;
+    static final byte REJECTED = 1;
+    static final int MAX_ID_LENGTH = 255;
+
+    private static final List<String> COLUMNS = List.of("id", "loanAmount", "interestRate", "numberOfPayments");
+    // Rows are added to the shared progress in steps, not one by one
+    private static final int PROGRESS_STEP = 1024;
+    private static final int SCAN_BUFFER_SIZE = 8192;
+
+    /**
+     * {@code rows} counts every non-empty row, the {@code rejected} ones included.
+     */
+    record Result(long rows, long rejected, long inputBytes, long outputBytes) {
+    }
+
+    private final LoanCalculator loanCalculator;
+    private final Validator validator;
+    private final boolean includeSchedules;
+    private final long chunkSize;
+    private final long progressInterval;
+
+    LoanFileBatchJob(LoanCalculator loanCalculator, Validator validator, boolean includeSchedules, long chunkSize,
+                     long progressInterval) {
+        this.loanCalculator = loanCalculator;
+        this.validator = validator;
+        this.includeSchedules = includeSchedules;
+        // A mapped piece is addressed by int
+        this.chunkSize = Math.clamp(chunkSize, 1, Integer.MAX_VALUE);
+        this.progressInterval = Math.max(progressInterval, 1);
+    }
+
+    Result run(Path input, Path output, ForkJoinPool pool) throws IOException {
+        Path absoluteOutput = output.toAbsolutePath();
+        Path partsDirectory = Files.createTempDirectory(absoluteOutput.getParent(), absoluteOutput.getFileName() + ".parts");
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            Run run = new Run(channel, partsDirectory);
+            try {
+                pool.invoke(new Split(run, run.dataStart, channel.size()));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            join(run.partFiles, absoluteOutput);
+            return new Result(run.rows.get(), run.rejected.sum(), channel.size(), Files.size(absoluteOutput));
+        } finally {
+            FileSystemUtils.deleteRecursively(partsDirectory);
+        }
+    }
+
+    private void join(ConcurrentSkipListMap<Long, Path> partFiles, Path output) throws IOException {
+        Path partial = output.resolveSibling(output.getFileName() + ".partial");
+        try (FileChannel out = FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(MAGIC.length + 1).put(MAGIC).put((byte) (includeSchedules ? 1 : 0)).flip();
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            for (Path part : partFiles.values()) {
+                try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                    long position = 0;
+                    while (position < in.size()) {
+                        position += in.transferTo(position, in.size() - position, out);
+                    }
+                }
+            }
+        }
+        Files.move(partial, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Splits its range in two at a line boundary, or calculates it once it is small enough.
+     */
+    private final class Split extends RecursiveAction {
+
+        private final Run run;
+        private final long start;
+        private final long end;
+
+        Split(Run run, long start, long end) {
+            this.run = run;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                long middle = end - start > chunkSize ? run.nextLineStart(start + (end - start) / 2, end) : end;
+                if (middle < end) {
+                    invokeAll(new Split(run, start, middle), new Split(run, middle, end));
+                } else {
+                    run.calculateRegion(start, end);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * State of one job run, shared by its tasks.
+     */
+    private final class Run {
+
+        private final FileChannel channel;
+        private final Path partsDirectory;
+        // Index into COLUMNS of every field of a line, -1 for fields not used
+        private final int[] columnOfField;
+        private final int fieldCount;
+        private final long dataStart;
+        private final long dataSize;
+        private final ConcurrentSkipListMap<Long, Path> partFiles = new ConcurrentSkipListMap<>();
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong bytesDone = new AtomicLong();
+        private final LongAdder rejected = new LongAdder();
+        private final long startNanos = System.nanoTime();
+
+        Run(FileChannel channel, Path partsDirectory) throws IOException {
+            this.channel = channel;
+            this.partsDirectory = partsDirectory;
+            this.dataStart = nextLineStart(0, channel.size());
+            this.dataSize = channel.size() - dataStart;
+            byte[] headerLine = new byte[(int) Math.min(dataStart, SCAN_BUFFER_SIZE)];
+            channel.read(ByteBuffer.wrap(headerLine), 0);
+            List<String> header = Arrays.stream(new String(headerLine, StandardCharsets.UTF_8).strip().split(","))
+                    .map(String::strip)
+                    .toList();
+            this.fieldCount = header.size();
+            this.columnOfField = new int[fieldCount];
+            Arrays.fill(columnOfField, -1);
+            for (int column = 0; column < COLUMNS.size(); column++) {
+                int field = header.indexOf(COLUMNS.get(column));
+                if (field < 0) {
+                    throw new IllegalArgumentException("Batch file header must name the columns " + String.join(", ", COLUMNS));
+                }
+                columnOfField[field] = column;
+            }
+        }
+
+        /**
+         * The start of the first line beginning after {@code position - 1}, or {@code end} if there is none.
+         */
+        long nextLineStart(long position, long end) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+            while (position < end) {
+                buffer.clear();
+                int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (buffer.get(i) == '\n') {
+                        return Math.min(position + i + 1, end);
+                    }
+                }
+                position += read;
+            }
+            return end;
+        }
+
+        void calculateRegion(long start, long end) throws IOException {
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IOException("Batch file line starting at byte " + start + " is too long");
+            }
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            Path part = partsDirectory.resolve(start + ".part");
+            RecordBuffer record = new RecordBuffer();
+            ScheduleRows schedule = new ScheduleRows();
+            byte[] line = new byte[256];
+            String[] values = new String[COLUMNS.size()];
+            int pending = 0;
+            int pendingBytes = 0;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part), 1 << 16)) {
+                int position = 0;
+                while (position < region.limit()) {
+                    int lineEnd = position;
+                    while (lineEnd < region.limit() && region.get(lineEnd) != '\n') {
+                        lineEnd++;
+                    }
+                    int length = lineEnd - position;
+                    if (length > 0 && region.get(lineEnd - 1) == '\r') {
+                        length--;
+                    }
+                    if (length > 0) {
+                        if (length > line.length) {
+                            line = new byte[Math.max(length, line.length * 2)];
+                        }
+                        region.get(position, line, 0, length);
+                        record.reset();
+                        calculateLine(line, length, values, record, schedule);
+                        record.writeTo(out);
+                        pending++;
+                    }
+                    pendingBytes += lineEnd + 1 - position;
+                    position = lineEnd + 1;
+                    if (pending == PROGRESS_STEP) {
+                        progress(pending, pendingBytes);
+                        pending = 0;
+                        pendingBytes = 0;
+                    }
+                }
+            }
+            partFiles.put(start, part);
+            progress(pending, pendingBytes);
+        }
+
+        private void calculateLine(byte[] line, int length, String[] values, RecordBuffer record, ScheduleRows schedule) {
+            Arrays.fill(values, null);
+            int field = 0;
+            int fieldStart = 0;
+            for (int i = 0; i <= length; i++) {
+                if (i == length || line[i] == ',') {
+                    if (field < fieldCount && columnOfField[field] >= 0 && i > fieldStart) {
+                        values[columnOfField[field]] = new String(line, fieldStart, i - fieldStart, StandardCharsets.UTF_8).strip();
+                    }
+                    field++;
+                    fieldStart = i + 1;
+                }
+            }
+            String id = values[0] == null ? "" : values[0];
+            if (field != fieldCount) {
+                reject(record, id, String.format("Row has %d fields, the header %d", field, fieldCount));
+            } else if (id.length() > MAX_ID_LENGTH) {
+                reject(record, id.substring(0, MAX_ID_LENGTH), "Id is longer than " + MAX_ID_LENGTH + " characters");
+            } else {
+                String error = calculateLoan(id, values, record, schedule);
+                if (error != null) {
+                    reject(record, id, error);
+                }
+            }
+        }
+
+        /**
+         * Writes the calculated record, or returns why the row is rejected.
+         */
+        private String calculateLoan(String id, String[] values, RecordBuffer record, ScheduleRows schedule) {
+            LoanRequestDTO request = new LoanRequestDTO();
+            try {
+                request.setLoanAmount(values[1] == null ? null : new BigDecimal(values[1]));
+                request.setInterestRate(values[2] == null ? null : new BigDecimal(values[2]));
+                request.setNumberOfPayments(values[3] == null ? null : Integer.valueOf(values[3]));
+            } catch (NumberFormatException e) {
+                return "Loan amount and interest rate must be numbers and number of payments a whole number";
+            }
+            List<String> violations = validator.validate(request).stream()
+                    .map(violation -> String.format("Field '%s' %s", violation.getPropertyPath(), violation.getMessage()))
+                    .sorted()
+                    .toList();
+            if (!violations.isEmpty()) {
+                return String.join("; ", violations);
+            }
+
+            BigDecimal principal = request.getLoanAmount();
+            int numberOfPayments = request.getNumberOfPayments();
+            try {
+                BigDecimal monthlyInterestRate = loanCalculator.calculateMonthlyInterestRate(request.getInterestRate());
+                BigDecimal payment = loanCalculator.calculateMonthlyPayment(principal, monthlyInterestRate, numberOfPayments);
+                BigDecimal totalPayment = LoanCalculator.totalPayment(payment, numberOfPayments);
+                long paymentCents = cents(payment);
+                long totalPaymentCents = cents(totalPayment);
+                long totalInterestCents = cents(LoanCalculator.totalInterest(totalPayment, principal));
+                if (includeSchedules) {
+                    // Complete before anything is written, so a failure cannot leave half a record
+                    schedule.reset();
+                    loanCalculator.continueSchedule(principal, monthlyInterestRate, numberOfPayments, payment, 1,
+                            numberOfPayments, schedule);
+                }
+                record.putString(id);
+                record.putByte(CALCULATED);
+                record.putLong(paymentCents);
+                record.putLong(totalPaymentCents);
+                record.putLong(totalInterestCents);
+                if (includeSchedules) {
+                    schedule.writeTo(record);
+                }
+                return null;
+            } catch (LoanCalculationException | ArithmeticException e) {
+                record.reset();
+                return "Loan cannot be calculated: " + e.getMessage();
+            }
+        }
+
+        private void reject(RecordBuffer record, String id, String reason) {
+            record.reset();
+            record.putString(id);
+            record.putByte(REJECTED);
+            record.putString(reason);
+            rejected.increment();
+        }
+
+        private void progress(int rowCount, int bytes) {
+            long before = rows.getAndAdd(rowCount);
+            long after = before + rowCount;
+            long done = bytesDone.addAndGet(bytes);
+            if (before / progressInterval != after / progressInterval) {
+                double seconds = Math.max((System.nanoTime() - startNanos) / 1e9, 1e-9);
+                log.info("Processed {} rows, {}% of the input, {} rows/s", after,
+                        Math.round(done * 100.0 / Math.max(dataSize, 1)), Math.round(after / seconds));
+            }
+        }
+
+        private static long cents(BigDecimal amount) {
+            return amount.movePointRight(2).longValueExact();
+        }
+    }
+
+    /**
+     * The periods of one loan in cents, reused from loan to loan.
+     */
+    private static final class ScheduleRows implements ScheduleSink {
+
+        private long[] payments = new long[512];
+        private long[] principalAmounts = new long[512];
+        private long[] interestAmounts = new long[512];
+        private long[] balancesOwed = new long[512];
+        private int size;
+
+        @Override
+        public void accept(int period, long payment, long principalAmount, long interestAmount, long balanceOwed) {
+            if (size == payments.length) {
+                payments = Arrays.copyOf(payments, size * 2);
+                principalAmounts = Arrays.copyOf(principalAmounts, size * 2);
+                interestAmounts = Arrays.copyOf(interestAmounts, size * 2);
+                balancesOwed = Arrays.copyOf(balancesOwed, size * 2);
+            }
+            payments[size] = payment;
+            principalAmounts[size] = principalAmount;
+            interestAmounts[size] = interestAmount;
+            balancesOwed[size] = balanceOwed;
+            size++;
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        void writeTo(RecordBuffer record) {
+            record.putLong(size);
+            for (int i = 0; i < size; i++) {
+                record.putLong(payments[i]);
+                record.putLong(principalAmounts[i]);
+                record.putLong(interestAmounts[i]);
+                record.putLong(balancesOwed[i]);
+            }
+        }
+    }
+
+    /**
+     * One output record, encoded before it is written in a single call.
+     */
+    private static final class RecordBuffer {
+
+        private byte[] bytes = new byte[1024];
+        private int size;
+
+        void reset() {
+            size = 0;
+        }
+
+        void putByte(int value) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, size * 2);
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void putLong(long value) {
+            long zigzag = (value << 1) ^ (value >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                putByte((int) (zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            putByte((int) zigzag);
+        }
+
+        void putString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            putLong(utf8.length);
+            for (byte b : utf8) {
+                putByte(b);
+            }
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(bytes, 0, size);
+        }
+    }
+}
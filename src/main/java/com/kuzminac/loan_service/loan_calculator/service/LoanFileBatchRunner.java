@@ -0,0 +1,50 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.config.BatchFileProperties;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs the {@link LoanFileBatchJob} at startup of the batch profile, which has no web server, so the application
+ * exits when it is done. A failed job fails the startup.
+ */
+@Component
+@Profile("batch")
+@RequiredArgsConstructor
+@Slf4j
+public class LoanFileBatchRunner implements CommandLineRunner {
+
+    private final LoanCalculator loanCalculator;
+    private final Validator validator;
+    private final BatchFileProperties properties;
+
+    @Override
+    public void run(String... args) throws Exception {
+        Path input = properties.getInput();
+        if (input == null) {
+            throw new IllegalStateException("app.batch-file.input is required with the batch profile");
+        }
+        Path output = properties.getOutput() != null ? properties.getOutput()
+                : input.resolveSibling(input.getFileName() + ".bin");
+        LoanFileBatchJob job = new LoanFileBatchJob(loanCalculator, validator, properties.isIncludeSchedules(),
+                properties.getChunkSize().toBytes(), properties.getProgressInterval());
+
+        log.info("Calculating loans from {} into {} on {} threads", input, output, properties.getParallelism());
+        long start = System.nanoTime();
+        LoanFileBatchJob.Result result;
+        try (ForkJoinPool pool = new ForkJoinPool(properties.getParallelism())) {
+            result = job.run(input, output, pool);
+        }
+        double seconds = Math.max((System.nanoTime() - start) / 1e9, 1e-9);
+        log.info("Processed {} rows, {} rejected, in {} s: {} rows/s, {} MB/s read, {} MB written", result.rows(),
+                result.rejected(), String.format("%.1f", seconds), Math.round(result.rows() / seconds),
+                String.format("%.1f", result.inputBytes() / seconds / 1e6), String.format("%.1f", result.outputBytes() / 1e6));
+    }
+}
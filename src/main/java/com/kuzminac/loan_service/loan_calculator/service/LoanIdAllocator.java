@@ -0,0 +1,36 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out loan ids without inserting, using the same pooled scheme as Hibernate: a sequence value {@code v}
+ * reserves the ids {@code v - allocationSize + 1 .. v}, so both can draw from {@code loans_id_seq} side by side.
+ * Guarded by a lock rather than {@code synchronized}, which would pin a virtual thread to its carrier during the query.
+ */
+@RequiredArgsConstructor
+class LoanIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long nextId;
+    private long lastId = -1;
+
+    long nextId() {
+        lock.lock();
+        try {
+            if (nextId > lastId) {
+                Long high = jdbcTemplate.queryForObject("SELECT nextval('" + Loan.ID_SEQUENCE + "')", Long.class);
+                lastId = high;
+                nextId = high - Loan.ID_ALLOCATION_SIZE + 1;
+            }
+            return nextId++;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
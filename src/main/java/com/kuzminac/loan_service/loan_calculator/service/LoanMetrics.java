@@ -0,0 +1,92 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Meters of the calculation path. {@code loans.calculation.phase} times each phase of a request, tagged
+ * {@code phase=payment|schedule|persistence|response}; payment and schedule are only timed on a cache miss.
+ * All meters publish histogram buckets, so percentiles can be aggregated across instances.
+ */
+@Component
+public class LoanMetrics {
+
+    private static final double[] PAYMENT_COUNTS = {12, 24, 36, 60, 120, 180, 240, 360, 480, 600};
+
+    private final Timer paymentPhase;
+    private final Timer schedulePhase;
+    private final Timer persistencePhase;
+    private final Timer responsePhase;
+    private final DistributionSummary numberOfPayments;
+    private final DistributionSummary scheduleSize;
+
+    public LoanMetrics(MeterRegistry meterRegistry) {
+        this.paymentPhase = phase("payment", meterRegistry);
+        this.schedulePhase = phase("schedule", meterRegistry);
+        this.persistencePhase = phase("persistence", meterRegistry);
+        this.responsePhase = phase("response", meterRegistry);
+        this.numberOfPayments = DistributionSummary.builder("loans.number_of_payments")
+                .description("Number of payments of the calculated loans")
+                .serviceLevelObjectives(PAYMENT_COUNTS)
+                .register(meterRegistry);
+        this.scheduleSize = DistributionSummary.builder("loans.schedule.size")
+                .description("Payment periods returned per response")
+                .serviceLevelObjectives(PAYMENT_COUNTS)
+                .register(meterRegistry);
+    }
+
+    <T> T timePayment(Supplier<T> phase) {
+        return time(paymentPhase, phase);
+    }
+
+    <T> T timeSchedule(Supplier<T> phase) {
+        return time(schedulePhase, phase);
+    }
+
+    <T> T timePersistence(Supplier<T> phase) {
+        return time(persistencePhase, phase);
+    }
+
+    <T> Mono<T> timePersistence(Mono<T> phase) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return phase.doFinally(signal -> persistencePhase.record(System.nanoTime() - started, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    <T> T timeResponse(Supplier<T> phase) {
+        return time(responsePhase, phase);
+    }
+
+    void recordNumberOfPayments(int payments) {
+        numberOfPayments.record(payments);
+    }
+
+    void recordScheduleSize(int periods) {
+        scheduleSize.record(periods);
+    }
+
+    private static <T> T time(Timer timer, Supplier<T> phase) {
+        // Failed phases are timed too, a timeout is usually the slowest sample
+        long started = System.nanoTime();
+        try {
+            return phase.get();
+        } finally {
+            timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer phase(String phase, MeterRegistry meterRegistry) {
+        return Timer.builder("loans.calculation.phase")
+                .description("Time spent in one phase of a loan calculation request")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
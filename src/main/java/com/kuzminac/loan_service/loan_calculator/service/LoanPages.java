@@ -0,0 +1,61 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.dto.LoanPageDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanSummaryDTO;
+import com.kuzminac.loan_service.loan_calculator.exception.InvalidLoanParametersException;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanKeyset;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Paging of the loan listing, shared by the servlet and the reactive service. The cursor is the opaque, URL-safe
+ * form of the last returned loan's {@link LoanKeyset}.
+ */
+final class LoanPages {
+
+    static final int MAX_LIMIT = 500;
+
+    private LoanPages() {
+    }
+
+    static void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidLoanParametersException(String.format("limit must be between 1 and %d", MAX_LIMIT));
+        }
+    }
+
+    static LoanKeyset decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String keyset = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = keyset.indexOf(',');
+            return new LoanKeyset(LocalDateTime.parse(keyset.substring(0, separator)), Long.parseLong(keyset.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidLoanParametersException("Invalid cursor: " + cursor);
+        }
+    }
+
+    static String encodeCursor(LoanSummaryDTO loan) {
+        String keyset = loan.getCreatedAt() + "," + loan.getLoanId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(keyset.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Builds the page from up to {@code limit + 1} rows; the extra row only tells that there is a next page.
+     */
+    static LoanPageDTO toPage(List<LoanSummaryDTO> rows, int limit) {
+        if (rows.size() <= limit) {
+            return LoanPageDTO.builder().loans(rows).build();
+        }
+        List<LoanSummaryDTO> loans = rows.subList(0, limit);
+        return LoanPageDTO.builder()
+                .loans(loans)
+                .nextCursor(encodeCursor(loans.get(limit - 1)))
+                .build();
+    }
+}
@@ -0,0 +1,188 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.config.PersistenceProperties;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanPartitionRepository;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanPartitionRepository.LoanPartition;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the monthly {@code loans} partitions ready {@code months-ahead} of the current month (UTC), and archives
+ * the ones older than {@code retention-months}: the partition is detached, its loans and their schedules are
+ * written to gzipped CSV files in {@code archive-directory}, and then it is dropped with its schedules and
+ * fingerprints. Runs at startup and on {@code cron}. Every step is its own transaction under an advisory lock,
+ * so instances sharing the database take turns, and a run that stopped halfway is picked up by the next one.
+ * Creating and detaching take an exclusive lock on {@code loans}, and every query of it queues behind the waiting
+ * step, so they give up after {@code lock-timeout}, e.g. behind a long cash-flow projection, and are retried on the
+ * next run.
+ */
+@Component
+@Profile("!reactive & !batch")
+@ConditionalOnProperty(prefix = "app.persistence.partitions", name = "maintenance-enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class LoanPartitionMaintenance {
+
+    private final LoanPartitionRepository loanPartitionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PersistenceProperties.Partitions properties;
+    private final Counter archivedLoans;
+
+    public LoanPartitionMaintenance(LoanPartitionRepository loanPartitionRepository, PlatformTransactionManager transactionManager,
+                                    PersistenceProperties persistenceProperties, MeterRegistry meterRegistry) {
+        this.loanPartitionRepository = loanPartitionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = persistenceProperties.getPartitions();
+        this.archivedLoans = Counter.builder("loans.archived")
+                .description("Loans written to archive files and dropped from the database")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.persistence.partitions.cron:0 30 2 * * *}")
+    public void maintain() {
+        maintain(YearMonth.now(ZoneOffset.UTC));
+    }
+
+    void maintain(YearMonth currentMonth) {
+        Set<YearMonth> existing = loanPartitionRepository.findAll().stream()
+                .map(LoanPartition::month)
+                .collect(Collectors.toSet());
+        for (YearMonth month = currentMonth; !month.isAfter(currentMonth.plusMonths(properties.getMonthsAhead())); month = month.plusMonths(1)) {
+            if (!existing.contains(month)) {
+                create(month);
+            }
+        }
+        if (properties.getRetentionMonths() <= 0) {
+            return;
+        }
+        YearMonth oldestKept = currentMonth.minusMonths(properties.getRetentionMonths());
+        for (LoanPartition partition : loanPartitionRepository.findAll()) {
+            if (partition.month().isBefore(oldestKept)) {
+                archive(partition.month());
+            }
+        }
+    }
+
+    private void create(YearMonth month) {
+        try {
+            locked(() -> {
+                // Created by another instance in the meantime
+                if (state(month) == State.MISSING) {
+                    loanPartitionRepository.create(month);
+                    log.info("Created loans partition {}", LoanPartitionRepository.tableName(month));
+                }
+            });
+        } catch (PessimisticLockingFailureException e) {
+            lockTimedOut("create", LoanPartitionRepository.tableName(month));
+        } catch (RuntimeException e) {
+            // Usually loans_default holding loans of that month, which have to be moved out by hand first
+            log.error("Could not create loans partition {}", LoanPartitionRepository.tableName(month), e);
+        }
+    }
+
+    private void archive(YearMonth month) {
+        String table = LoanPartitionRepository.tableName(month);
+        try {
+            locked(() -> {
+                if (state(month) == State.ATTACHED) {
+                    loanPartitionRepository.detach(month);
+                }
+            });
+        } catch (PessimisticLockingFailureException e) {
+            lockTimedOut("detach", table);
+            return;
+        } catch (RuntimeException e) {
+            log.error("Could not archive loans partition {}", table, e);
+            return;
+        }
+        try {
+            locked(() -> {
+                // Gone if another instance archived it in the meantime
+                if (state(month) != State.DETACHED) {
+                    return;
+                }
+                long loans = export(month, "loans", loanPartitionRepository::exportLoans);
+                long periods = export(month, "loan_schedule", loanPartitionRepository::exportSchedules);
+                loanPartitionRepository.drop(month);
+                archivedLoans.increment(loans);
+                log.info("Archived loans partition {}: {} loans, {} schedule periods", table, loans, periods);
+            });
+        } catch (PessimisticLockingFailureException e) {
+            lockTimedOut("drop", table);
+        } catch (RuntimeException e) {
+            log.error("Could not archive loans partition {}", table, e);
+        }
+    }
+
+    private void lockTimedOut(String step, String table) {
+        log.warn("Could not lock loans within {} to {} partition {}, retrying on the next run", properties.getLockTimeout(), step, table);
+    }
+
+    private long export(YearMonth month, String prefix, BiFunction<YearMonth, OutputStream, Long> exporter) {
+        Path directory = properties.getArchiveDirectory();
+        Path file = directory.resolve(String.format("%s_%d_%02d.csv.gz", prefix, month.getYear(), month.getMonthValue()));
+        Path partial = directory.resolve(file.getFileName() + ".partial");
+        try {
+            Files.createDirectories(directory);
+            long rows;
+            try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(partial)), 64 * 1024)) {
+                rows = exporter.apply(month, out);
+            }
+            // Only complete files get the final name; the database rows are dropped after this
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + file, e);
+        }
+    }
+
+    private State state(YearMonth month) {
+        return loanPartitionRepository.findAll().stream()
+                .filter(partition -> partition.month().equals(month))
+                .map(partition -> partition.attached() ? State.ATTACHED : State.DETACHED)
+                .findFirst()
+                .orElse(State.MISSING);
+    }
+
+    /**
+     * Runs the step in a transaction, unless another instance holds the maintenance lock.
+     */
+    private void locked(Runnable step) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (loanPartitionRepository.tryLock()) {
+                loanPartitionRepository.setLockTimeout(properties.getLockTimeout());
+                step.run();
+            } else {
+                log.info("Loans partitions are being maintained by another instance, skipping a step");
+            }
+        });
+    }
+
+    private enum State {
+        ATTACHED, DETACHED, MISSING
+    }
+}
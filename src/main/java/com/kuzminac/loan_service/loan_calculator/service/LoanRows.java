@@ -0,0 +1,29 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * JDBC insert of loans that already have their id, for the writers that batch without Hibernate.
+ */
+final class LoanRows {
+
+    static final String INSERT_SQL = """
+            INSERT INTO loans (id, loan_amount, interest_rate, number_of_payments, total_payment, total_interest, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)""";
+
+    private LoanRows() {
+    }
+
+    static void bind(PreparedStatement ps, Loan loan) throws SQLException {
+        ps.setLong(1, loan.getId());
+        ps.setBigDecimal(2, loan.getLoanAmount());
+        ps.setBigDecimal(3, loan.getInterestRate());
+        ps.setInt(4, loan.getNumberOfPayments());
+        ps.setBigDecimal(5, loan.getTotalPayment());
+        ps.setBigDecimal(6, loan.getTotalInterest());
+        ps.setObject(7, loan.getCreatedAt());
+    }
+}
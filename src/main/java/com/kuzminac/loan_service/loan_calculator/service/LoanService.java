@@ -1,8 +1,52 @@
 package com.kuzminac.loan_service.loan_calculator.service;
 
+import com.kuzminac.loan_service.loan_calculator.dto.LoanBatchItemDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanPageDTO;
 import com.kuzminac.loan_service.loan_calculator.dto.LoanRequestDTO;
 import com.kuzminac.loan_service.loan_calculator.dto.LoanResponseDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedulePageDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.RecalculatedScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.ScheduleRecalculationRequestDTO;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanSearchCriteria;
+import com.kuzminac.loan_service.loan_calculator.service.engine.ScheduleSink;
+
+import java.util.List;
 
 public interface LoanService {
-    LoanResponseDTO calculateLoan(LoanRequestDTO requestDTO);
-}
\ No newline at end of file
+    default LoanResponseDTO calculateLoan(LoanRequestDTO requestDTO) {
+        return calculateLoan(requestDTO, true);
+    }
+
+    LoanResponseDTO calculateLoan(LoanRequestDTO requestDTO, boolean includeSchedule);
+
+    /**
+     * Validates and calculates every request independently and saves the valid ones together. Results are returned
+     * in input order, failed items carry the error instead of a loan.
+     */
+    List<LoanBatchItemDTO> calculateLoans(List<LoanRequestDTO> requests, boolean includeSchedule);
+
+    /**
+     * Emits the request's payment schedule period by period, without building it in memory.
+     */
+    void generatePaymentSchedule(LoanRequestDTO requestDTO, ScheduleSink sink);
+
+    PaymentSchedulePageDTO getPaymentSchedule(Long loanId, int fromPeriod, Integer toPeriod);
+
+    /**
+     * A saved loan with the schedule stored when it was calculated, without the schedule for loans saved before
+     * schedules were stored.
+     */
+    LoanResponseDTO getLoan(Long loanId);
+
+    /**
+     * A saved loan's schedule with prepayments and rate changes applied, recomputed from the first event on.
+     * Nothing is saved.
+     */
+    RecalculatedScheduleDTO recalculateSchedule(Long loanId, ScheduleRecalculationRequestDTO request);
+
+    /**
+     * Saved loans matching the criteria, newest first. {@code cursor} is the {@code nextCursor} of the previous page,
+     * or {@code null} for the first one.
+     */
+    LoanPageDTO findLoans(LoanSearchCriteria criteria, String cursor, int limit);
+}
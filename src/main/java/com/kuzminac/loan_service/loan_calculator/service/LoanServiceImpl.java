@@ -1,152 +1,182 @@
 package com.kuzminac.loan_service.loan_calculator.service;
 
 
+import com.kuzminac.loan_service.loan_calculator.config.PersistenceProperties;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanBatchItemDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanPageDTO;
 import com.kuzminac.loan_service.loan_calculator.dto.LoanRequestDTO;
 import com.kuzminac.loan_service.loan_calculator.dto.LoanResponseDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedule;
 import com.kuzminac.loan_service.loan_calculator.dto.PaymentScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedulePageDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.RecalculatedScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.ScheduleRecalculationRequestDTO;
 import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+import com.kuzminac.loan_service.loan_calculator.exception.InvalidLoanParametersException;
 import com.kuzminac.loan_service.loan_calculator.exception.LoanCalculationException;
+import com.kuzminac.loan_service.loan_calculator.exception.LoanNotFoundException;
 import com.kuzminac.loan_service.loan_calculator.repository.LoanRepository;
-import jakarta.transaction.Transactional;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanScheduleRepository;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanSearchCriteria;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanSearchRepository;
+import com.kuzminac.loan_service.loan_calculator.service.engine.ScheduleSink;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.math.MathContext;
-import java.math.RoundingMode;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
+@Profile("!reactive & !batch")
 @RequiredArgsConstructor
 @Slf4j
 public class LoanServiceImpl implements LoanService {
 
     private final LoanRepository loanRepository;
-
-    // Increased precision to prevent rounding errors during calculations
-    private static final MathContext MC = new MathContext(20, RoundingMode.HALF_UP);
-    private static final int SCALE = 10;
+    private final LoanScheduleRepository loanScheduleRepository;
+    private final LoanSearchRepository loanSearchRepository;
+    private final LoanWriter loanWriter;
+    private final LoanCalculator loanCalculator;
+    private final Validator validator;
+    private final BatchCalculationExecutor batchExecutor;
+    private final LoanMetrics loanMetrics;
+    private final PersistenceProperties persistenceProperties;
 
     @Override
-    @Transactional
-    public LoanResponseDTO calculateLoan(LoanRequestDTO requestDTO) {
-
-        // Extract loan details from request
-        BigDecimal principal = requestDTO.getLoanAmount();
-        BigDecimal annualInterestRate = requestDTO.getInterestRate();
-        int numberOfPayments = requestDTO.getNumberOfPayments();
-
-        // Calculate monthly interest rate
-        BigDecimal monthlyInterestRate = calculateMonthlyInterestRate(annualInterestRate);
-
-        // Calculate monthly payment using the loan formula
-        BigDecimal payment = calculateMonthlyPayment(principal, monthlyInterestRate, numberOfPayments);
-
-        // Calculate total payment and total interest with high precision
-        BigDecimal totalPayment = payment.multiply(BigDecimal.valueOf(numberOfPayments), MC);
-        totalPayment = totalPayment.setScale(2, RoundingMode.HALF_UP);
-        BigDecimal totalInterest = totalPayment.subtract(principal).setScale(2, RoundingMode.HALF_UP);
-        log.debug("Total Payment: {}, Total Interest: {}", totalPayment, totalInterest);
-
-        // Generate payment schedule
-        List<PaymentScheduleDTO> schedule = generatePaymentSchedule(principal, monthlyInterestRate, numberOfPayments, payment);
-        log.debug("Generated payment schedule with {} periods", schedule.size());
+    public LoanResponseDTO calculateLoan(LoanRequestDTO requestDTO, boolean includeSchedule) {
+        LoanCalculation calculation = loanCalculator.calculate(requestDTO, includeSchedule, persistenceProperties.isStoreSummarySchedules());
 
         // Persist loan details
-        Loan savedLoan = loanRepository.save(createLoanEntity(principal, annualInterestRate, numberOfPayments, totalPayment, totalInterest));
+        Loan savedLoan = loanMetrics.timePersistence(() -> loanWriter.save(calculation.loan()));
         log.info("Loan calculation successful, saved loan ID: {}", savedLoan.getId());
 
         // Build and return response DTO
-        return buildLoanResponse(savedLoan, principal, annualInterestRate, numberOfPayments, totalPayment, totalInterest, schedule);
-    }
-
-    private BigDecimal calculateMonthlyInterestRate(BigDecimal annualRate) {
-        return annualRate
-                .divide(BigDecimal.valueOf(100), SCALE, RoundingMode.HALF_UP)
-                .divide(BigDecimal.valueOf(12), SCALE, RoundingMode.HALF_UP);
+        return loanMetrics.timeResponse(() -> loanCalculator.buildLoanResponse(savedLoan.getId(), calculation));
     }
-    private BigDecimal calculateMonthlyPayment(BigDecimal principal, BigDecimal monthlyInterestRate, int numberOfPayments) {
 
-        // Handle the scenario where the interest rate is zero
-        if (monthlyInterestRate.compareTo(BigDecimal.ZERO) == 0) {
-            return principal.divide(BigDecimal.valueOf(numberOfPayments), 2, RoundingMode.HALF_UP);
+    @Override
+    public List<LoanBatchItemDTO> calculateLoans(List<LoanRequestDTO> requests, boolean includeSchedule) {
+        if (requests.isEmpty()) {
+            throw new InvalidLoanParametersException("Batch must contain at least one loan");
+        }
+        if (requests.size() > batchExecutor.getMaxBatchSize()) {
+            throw new InvalidLoanParametersException(
+                    String.format("Batch must not contain more than %d loans", batchExecutor.getMaxBatchSize()));
         }
 
-        try {
-            BigDecimal onePlusRate = BigDecimal.ONE.add(monthlyInterestRate, MC);
-            BigDecimal onePlusRatePowN = onePlusRate.pow(numberOfPayments, MC);
-
-            // Calculate the denominator: [1 - (1 + r)^-n] = [1 - 1 / (1 + r)^n]
-            BigDecimal denominator = BigDecimal.ONE.subtract(BigDecimal.ONE.divide(onePlusRatePowN, SCALE, RoundingMode.HALF_UP), MC);
-
-            // Calculate the numerator: r * principal
-            BigDecimal numerator = monthlyInterestRate.multiply(principal, MC);
+        // Validate every item up front and calculate the valid ones in parallel
+        LoanBatchItemDTO[] results = new LoanBatchItemDTO[requests.size()];
+        List<CompletableFuture<LoanCalculation>> futures = new ArrayList<>(requests.size());
+        for (int index = 0; index < requests.size(); index++) {
+            LoanRequestDTO requestDTO = requests.get(index);
+            List<String> violations = validate(requestDTO);
+            if (violations.isEmpty()) {
+                // Schedules are generated on the pool too, rather than one after another while the response is written
+                futures.add(batchExecutor.submit(() -> loanCalculator.calculate(requestDTO, includeSchedule,
+                        persistenceProperties.isStoreSummarySchedules()).generateSchedule()));
+            } else {
+                futures.add(null);
+                results[index] = failedItem(index, HttpStatus.BAD_REQUEST, "Validation Failed", "Invalid input parameters", violations);
+            }
+        }
 
+        List<Integer> calculatedIndexes = new ArrayList<>(requests.size());
+        List<LoanCalculation> calculations = new ArrayList<>(requests.size());
+        for (int index = 0; index < futures.size(); index++) {
+            if (futures.get(index) == null) {
+                continue;
+            }
+            try {
+                calculations.add(futures.get(index).join());
+                calculatedIndexes.add(index);
+            } catch (CompletionException e) {
+                if (!(e.getCause() instanceof LoanCalculationException lce)) {
+                    throw e.getCause() instanceof RuntimeException re ? re : e;
+                }
+                results[index] = failedItem(index, HttpStatus.INTERNAL_SERVER_ERROR, "Loan Calculation Error", lce.getMessage(), null);
+            }
+        }
 
-            // Compute the monthly payment: (r * principal) / denominator
-            BigDecimal payment = numerator.divide(denominator, SCALE, RoundingMode.HALF_UP);
+        // Written together, as one batch
+        List<Loan> savedLoans = loanMetrics.timePersistence(
+                () -> loanWriter.saveAll(calculations.stream().map(LoanCalculation::loan).toList()));
+        loanMetrics.timeResponse(() -> {
+            for (int i = 0; i < savedLoans.size(); i++) {
+                int index = calculatedIndexes.get(i);
+                results[index] = LoanBatchItemDTO.builder()
+                        .index(index)
+                        .status(HttpStatus.OK.value())
+                        .loan(loanCalculator.buildLoanResponse(savedLoans.get(i).getId(), calculations.get(i)))
+                        .build();
+            }
+            return results;
+        });
+        log.info("Batch calculation finished: {} of {} loans saved", savedLoans.size(), requests.size());
 
-            // Round the payment to two decimal places for actual payment
-            return payment.setScale(2, RoundingMode.HALF_UP);
+        return Arrays.asList(results);
+    }
 
-        } catch (ArithmeticException ae) {
-            log.error("Arithmetic error during monthly payment calculation: {}", ae.getMessage(), ae);
-            throw new LoanCalculationException("Error occurred while calculating the monthly payment.", ae);
-        }
+    @Override
+    public void generatePaymentSchedule(LoanRequestDTO requestDTO, ScheduleSink sink) {
+        loanCalculator.generatePaymentSchedule(requestDTO, sink);
     }
-    private List<PaymentScheduleDTO> generatePaymentSchedule(BigDecimal principal, BigDecimal monthlyInterestRate, int numberOfPayments, BigDecimal payment) {
-        List<PaymentScheduleDTO> schedule = new ArrayList<>();
-        BigDecimal balance = principal;
 
-        for (int period = 1; period <= numberOfPayments; period++) {
+    @Override
+    public PaymentSchedulePageDTO getPaymentSchedule(Long loanId, int fromPeriod, Integer toPeriod) {
+        Loan loan = loanRepository.findById(loanId).orElseThrow(() -> new LoanNotFoundException(loanId));
+        return loanCalculator.getPaymentSchedule(loan, fromPeriod, toPeriod);
+    }
 
-            BigDecimal interest = balance.multiply(monthlyInterestRate, MC);
-            interest = interest.setScale(10, RoundingMode.HALF_UP);
-            BigDecimal principalAmount = payment.subtract(interest).setScale(10, RoundingMode.HALF_UP);
-            balance = balance.subtract(principalAmount).setScale(10, RoundingMode.HALF_UP);
+    @Override
+    public LoanResponseDTO getLoan(Long loanId) {
+        Loan loan = loanRepository.findById(loanId).orElseThrow(() -> new LoanNotFoundException(loanId));
+        // Summary calculations are stored without a schedule, so it is regenerated for them
+        PaymentSchedule stored = loanScheduleRepository.findByLoanId(loanId, loan.getNumberOfPayments()).orElse(null);
+        List<PaymentScheduleDTO> schedule = stored != null ? stored : loanCalculator.generatePaymentSchedule(loan);
+        return loanCalculator.buildLoanResponse(loanId, loan, schedule);
+    }
 
-            // For the last payment, adjust for any residual due to rounding
-            if (period == numberOfPayments && balance.compareTo(BigDecimal.ZERO) != 0) {
-                principalAmount = principalAmount.add(balance);
-                balance = BigDecimal.ZERO;
-            }
+    @Override
+    public RecalculatedScheduleDTO recalculateSchedule(Long loanId, ScheduleRecalculationRequestDTO request) {
+        Loan loan = loanRepository.findById(loanId).orElseThrow(() -> new LoanNotFoundException(loanId));
+        ScheduleEvents events = ScheduleEvents.of(request.getEvents(), loan.getNumberOfPayments());
+        // Only the periods before the first event are read back
+        PaymentSchedule storedPeriods = events.firstPeriod() == 1 ? null
+                : loanScheduleRepository.findPeriodsBefore(loanId, events.firstPeriod()).orElse(null);
+        return loanCalculator.recalculateSchedule(loan, storedPeriods, events);
+    }
 
-            // Round for display purposes
-            PaymentScheduleDTO paymentDTO = PaymentScheduleDTO.builder()
-                    .period(period)
-                    .payment(payment.setScale(2, RoundingMode.HALF_UP))
-                    .principalAmount(principalAmount.setScale(2, RoundingMode.HALF_UP))
-                    .interestAmount(interest.setScale(2, RoundingMode.HALF_UP))
-                    .balanceOwed(balance.max(BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP))
-                    .build();
+    @Override
+    public LoanPageDTO findLoans(LoanSearchCriteria criteria, String cursor, int limit) {
+        LoanPages.validateLimit(limit);
+        return LoanPages.toPage(loanSearchRepository.find(criteria, LoanPages.decodeCursor(cursor), limit + 1), limit);
+    }
 
-            schedule.add(paymentDTO);
+    private List<String> validate(LoanRequestDTO requestDTO) {
+        if (requestDTO == null) {
+            return List.of("Loan request is required");
         }
-        return schedule;
+        // Sorted, since the validator reports violations in no particular order
+        return validator.validate(requestDTO).stream()
+                .map(violation -> String.format("Field '%s' %s", violation.getPropertyPath(), violation.getMessage()))
+                .sorted()
+                .toList();
     }
 
-    private Loan createLoanEntity(BigDecimal principal, BigDecimal annualRate, int payments, BigDecimal totalPayment, BigDecimal totalInterest) {
-        return Loan.builder()
-                .loanAmount(principal)
-                .interestRate(annualRate)
-                .numberOfPayments(payments)
-                .totalPayment(totalPayment)
-                .totalInterest(totalInterest)
-                .createdAt(LocalDateTime.now())
-                .build();
-    }
-    private LoanResponseDTO buildLoanResponse(Loan loan, BigDecimal principal, BigDecimal annualRate, int payments, BigDecimal totalPayment, BigDecimal totalInterest, List<PaymentScheduleDTO> schedule) {
-        return LoanResponseDTO.builder()
-                .loanId(loan.getId())
-                .loanAmount(principal)
-                .interestRate(annualRate)
-                .numberOfPayments(payments)
-                .totalPayment(totalPayment)
-                .totalInterest(totalInterest)
-                .paymentSchedule(schedule)
+    private static LoanBatchItemDTO failedItem(int index, HttpStatus status, String error, String message, List<String> details) {
+        return LoanBatchItemDTO.builder()
+                .index(index)
+                .status(status.value())
+                .error(error)
+                .message(message)
+                .details(details)
                 .build();
     }
 }
@@ -0,0 +1,218 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.dto.LoanSolutionDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanSolverRequestDTO;
+import com.kuzminac.loan_service.loan_calculator.exception.InvalidLoanParametersException;
+import com.kuzminac.loan_service.loan_calculator.exception.LoanCalculationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.function.LongPredicate;
+
+/**
+ * Runs the payment calculation backwards: the largest loan amount, the fewest payments or the interest rate that
+ * a monthly payment allows. A closed-form or Newton estimate in {@code double} gives the starting point, and an
+ * exponential plus binary search on the exact payment of {@link LoanCalculator} settles the answer, so it always
+ * agrees with {@code calculate} to the cent. Every search is bounded by {@link #MAX_ITERATIONS} payment evaluations.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoanSolver {
+
+    // Enough to search every long from any estimate: at most 63 doublings and 63 halvings
+    static final int MAX_ITERATIONS = 128;
+    public static final int MAX_NUMBER_OF_PAYMENTS = 1200;
+    // Solved rates are in steps of 0.000001 percentage points
+    static final int RATE_SCALE = 6;
+    static final BigDecimal MAX_INTEREST_RATE = BigDecimal.valueOf(1000);
+
+    private static final int MAX_NEWTON_STEPS = 50;
+
+    private final LoanCalculator loanCalculator;
+
+    /**
+     * The largest loan amount, in cents, whose payment does not exceed {@code payment}.
+     */
+    public LoanSolutionDTO solveLoanAmount(LoanSolverRequestDTO request) {
+        BigDecimal budget = required(request.getPayment(), "Payment");
+        BigDecimal annualRate = required(request.getInterestRate(), "Interest rate");
+        int numberOfPayments = required(request.getNumberOfPayments(), "Number of payments");
+        BigDecimal monthlyRate = loanCalculator.calculateMonthlyInterestRate(annualRate);
+
+        // Present value of the payments; exact but for the rounding of the payment
+        double rate = monthlyRate.doubleValue();
+        double estimate = rate == 0 ? budget.doubleValue() * numberOfPayments
+                : budget.doubleValue() * -Math.expm1(-numberOfPayments * Math.log1p(rate)) / rate;
+        long cents = largestFitting(Math.max(1, (long) (estimate * 100)),
+                candidate -> payment(BigDecimal.valueOf(candidate, 2), monthlyRate, numberOfPayments).compareTo(budget) <= 0);
+        if (cents < 1) {
+            throw new InvalidLoanParametersException("Payment does not cover any loan amount at this rate and number of payments");
+        }
+        return solution(BigDecimal.valueOf(cents, 2), annualRate, numberOfPayments);
+    }
+
+    /**
+     * The fewest payments, up to {@value #MAX_NUMBER_OF_PAYMENTS}, whose payment does not exceed {@code payment}.
+     */
+    public LoanSolutionDTO solveNumberOfPayments(LoanSolverRequestDTO request) {
+        BigDecimal budget = required(request.getPayment(), "Payment");
+        BigDecimal principal = required(request.getLoanAmount(), "Loan amount");
+        BigDecimal annualRate = required(request.getInterestRate(), "Interest rate");
+        BigDecimal monthlyRate = loanCalculator.calculateMonthlyInterestRate(annualRate);
+
+        // Payments fall as the term grows, so the longest term one is the last that can fit
+        LongPredicate exceedsBudget = term -> payment(principal, monthlyRate, (int) term).compareTo(budget) > 0;
+        if (exceedsBudget.test(MAX_NUMBER_OF_PAYMENTS)) {
+            throw new InvalidLoanParametersException(String.format(
+                    "Payment does not repay the loan amount within %d payments", MAX_NUMBER_OF_PAYMENTS));
+        }
+        double rate = monthlyRate.doubleValue();
+        double ratio = principal.doubleValue() / budget.doubleValue();
+        double estimate = rate == 0 ? ratio : -Math.log1p(-rate * ratio) / Math.log1p(rate);
+        long estimatedTerm = Double.isFinite(estimate) ? Math.clamp((long) estimate, 1, MAX_NUMBER_OF_PAYMENTS) : 1;
+        return solution(principal, annualRate, (int) largestFitting(estimatedTerm, exceedsBudget) + 1);
+    }
+
+    /**
+     * An annual rate, in steps of 10^-{@value #RATE_SCALE}, whose payment is at least {@code payment} while one step
+     * lower it is not. That is the lowest such rate, except very close to zero, where the rounding of the annuity
+     * denominator to 10 decimals makes the payment jitter as the rate grows. The returned payment differs from the
+     * given one only if no rate of that precision produces it exactly.
+     */
+    public LoanSolutionDTO solveInterestRate(LoanSolverRequestDTO request) {
+        BigDecimal target = required(request.getPayment(), "Payment");
+        BigDecimal principal = required(request.getLoanAmount(), "Loan amount");
+        int numberOfPayments = required(request.getNumberOfPayments(), "Number of payments");
+
+        int withoutInterest = paymentAtRate(principal, BigDecimal.ZERO, numberOfPayments).compareTo(target);
+        if (withoutInterest == 0) {
+            return solution(principal, BigDecimal.ZERO.setScale(RATE_SCALE), numberOfPayments);
+        }
+        if (withoutInterest > 0) {
+            throw new InvalidLoanParametersException("Payment does not repay the loan amount even without interest");
+        }
+        if (paymentAtRate(principal, MAX_INTEREST_RATE, numberOfPayments).compareTo(target) < 0) {
+            throw new InvalidLoanParametersException(String.format("Payment implies an interest rate above %s%%", MAX_INTEREST_RATE));
+        }
+
+        double monthlyRate = newtonMonthlyRate(principal.doubleValue(), target.doubleValue(), numberOfPayments);
+        long estimate = Double.isFinite(monthlyRate) && monthlyRate > 0
+                ? (long) (monthlyRate * 1200 * Math.pow(10, RATE_SCALE)) : 0;
+        long maxUnits = MAX_INTEREST_RATE.movePointRight(RATE_SCALE).longValueExact();
+        long belowTarget = largestFitting(Math.min(estimate, maxUnits), units -> units <= 0
+                || paymentAtRate(principal, BigDecimal.valueOf(units, RATE_SCALE), numberOfPayments).compareTo(target) < 0);
+        return solution(principal, BigDecimal.valueOf(belowTarget + 1, RATE_SCALE), numberOfPayments);
+    }
+
+    /**
+     * Newton on {@code P * r / (1 - (1 + r)^-n) = payment}, starting from {@code 2 * (n * payment - P) / (P * (n + 1))},
+     * which is close for small rates. Only a starting point for the exact search; NaN if it leaves the positive rates.
+     */
+    static double newtonMonthlyRate(double principal, double payment, int numberOfPayments) {
+        double rate = 2 * (numberOfPayments * payment - principal) / (principal * (numberOfPayments + 1));
+        for (int step = 0; step < MAX_NEWTON_STEPS; step++) {
+            double discount = Math.exp(-numberOfPayments * Math.log1p(rate));
+            double denominator = 1 - discount;
+            double error = principal * rate / denominator - payment;
+            double slope = principal * (denominator - rate * numberOfPayments * discount / (1 + rate)) / (denominator * denominator);
+            double next = rate - error / slope;
+            if (!Double.isFinite(next) || next <= 0) {
+                return Double.NaN;
+            }
+            if (Math.abs(next - rate) < 1e-14) {
+                return next;
+            }
+            rate = next;
+        }
+        return rate;
+    }
+
+    /**
+     * The largest {@code x} for which {@code fits} holds, given that it holds up to some point and not after it,
+     * or {@code 0} if it does not hold from 1 on. Gallops away from the estimate, then bisects. Answers beyond the
+     * range of a {@code long} are rejected as invalid input.
+     */
+    static long largestFitting(long estimate, LongPredicate fits) {
+        int iterations = 0;
+        long low;
+        long high;
+        long step = 1;
+        if (fits.test(estimate)) {
+            low = estimate;
+            high = above(estimate, step);
+            while (fits.test(high)) {
+                low = high;
+                step *= 2;
+                high = above(estimate, step);
+                checkIterations(++iterations);
+            }
+        } else {
+            high = estimate;
+            low = estimate - step;
+            while (low >= 1 && !fits.test(low)) {
+                high = low;
+                step *= 2;
+                low = estimate - step;
+                checkIterations(++iterations);
+            }
+            if (low < 1) {
+                low = 0;
+            }
+        }
+        while (high - low > 1) {
+            long mid = low + (high - low) / 2;
+            if (fits.test(mid)) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+            checkIterations(++iterations);
+        }
+        return low;
+    }
+
+    private static long above(long estimate, long step) {
+        if (estimate > Long.MAX_VALUE - step) {
+            throw new InvalidLoanParametersException("Payment is too large to solve for");
+        }
+        return estimate + step;
+    }
+
+    private BigDecimal paymentAtRate(BigDecimal principal, BigDecimal annualRate, int numberOfPayments) {
+        return payment(principal, loanCalculator.calculateMonthlyInterestRate(annualRate), numberOfPayments);
+    }
+
+    private BigDecimal payment(BigDecimal principal, BigDecimal monthlyRate, int numberOfPayments) {
+        return loanCalculator.calculateMonthlyPayment(principal, monthlyRate, numberOfPayments);
+    }
+
+    private LoanSolutionDTO solution(BigDecimal principal, BigDecimal annualRate, int numberOfPayments) {
+        BigDecimal payment = paymentAtRate(principal, annualRate, numberOfPayments);
+        BigDecimal totalPayment = LoanCalculator.totalPayment(payment, numberOfPayments);
+        log.debug("Solved loan: amount {}, rate {}, {} payments of {}", principal, annualRate, numberOfPayments, payment);
+        return LoanSolutionDTO.builder()
+                .loanAmount(principal)
+                .interestRate(annualRate)
+                .numberOfPayments(numberOfPayments)
+                .payment(payment)
+                .totalPayment(totalPayment)
+                .totalInterest(LoanCalculator.totalInterest(totalPayment, principal))
+                .build();
+    }
+
+    private static void checkIterations(int iterations) {
+        if (iterations > MAX_ITERATIONS) {
+            throw new LoanCalculationException("Solver did not converge within " + MAX_ITERATIONS + " iterations");
+        }
+    }
+
+    private static <T> T required(T value, String name) {
+        if (value == null) {
+            throw new InvalidLoanParametersException(name + " is required");
+        }
+        return value;
+    }
+}
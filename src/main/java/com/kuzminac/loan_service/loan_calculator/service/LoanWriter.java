@@ -0,0 +1,15 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+
+import java.util.List;
+
+/**
+ * Persists calculated loans. The returned loans carry their ids, but may not be visible to readers yet.
+ */
+public interface LoanWriter {
+
+    Loan save(Loan loan);
+
+    List<Loan> saveAll(List<Loan> loans);
+}
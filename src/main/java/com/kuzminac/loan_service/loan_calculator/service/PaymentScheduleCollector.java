@@ -0,0 +1,72 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedule;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.service.engine.ScheduleSink;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Fills the columns of a {@link PaymentSchedule}. Amounts beyond the range of cents in a {@code long} are only
+ * reachable with the BigDecimal engine; those schedules are kept as a plain list of rows instead.
+ */
+class PaymentScheduleCollector implements ScheduleSink {
+
+    private final int[] periods;
+    private final long[] payments;
+    private final long[] principalAmounts;
+    private final long[] interestAmounts;
+    private final long[] balancesOwed;
+    private int size;
+    private List<PaymentScheduleDTO> rows;
+
+    PaymentScheduleCollector(int expectedPeriods) {
+        periods = new int[expectedPeriods];
+        payments = new long[expectedPeriods];
+        principalAmounts = new long[expectedPeriods];
+        interestAmounts = new long[expectedPeriods];
+        balancesOwed = new long[expectedPeriods];
+    }
+
+    @Override
+    public void accept(int period, long payment, long principalAmount, long interestAmount, long balanceOwed) {
+        if (rows != null) {
+            accept(period, BigDecimal.valueOf(payment, 2), BigDecimal.valueOf(principalAmount, 2),
+                    BigDecimal.valueOf(interestAmount, 2), BigDecimal.valueOf(balanceOwed, 2));
+            return;
+        }
+        periods[size] = period;
+        payments[size] = payment;
+        principalAmounts[size] = principalAmount;
+        interestAmounts[size] = interestAmount;
+        balancesOwed[size] = balanceOwed;
+        size++;
+    }
+
+    @Override
+    public void accept(int period, BigDecimal payment, BigDecimal principalAmount, BigDecimal interestAmount, BigDecimal balanceOwed) {
+        if (rows == null) {
+            try {
+                ScheduleSink.super.accept(period, payment, principalAmount, interestAmount, balanceOwed);
+                return;
+            } catch (ArithmeticException e) {
+                rows = new ArrayList<>(periods.length);
+                rows.addAll(new PaymentSchedule(periods, payments, principalAmounts, interestAmounts, balancesOwed, size));
+            }
+        }
+        rows.add(PaymentScheduleDTO.builder()
+                .period(period)
+                .payment(payment)
+                .principalAmount(principalAmount)
+                .interestAmount(interestAmount)
+                .balanceOwed(balanceOwed)
+                .build());
+    }
+
+    List<PaymentScheduleDTO> getSchedule() {
+        return rows != null ? Collections.unmodifiableList(rows) : new PaymentSchedule(periods, payments, principalAmounts, interestAmounts, balancesOwed, size);
+    }
+}
@@ -0,0 +1,221 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.config.CalculationProperties;
+import com.kuzminac.loan_service.loan_calculator.dto.PricingGridAxisDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PricingGridDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PricingGridRequestDTO;
+import com.kuzminac.loan_service.loan_calculator.exception.InvalidLoanParametersException;
+import com.kuzminac.loan_service.loan_calculator.exception.LoanCalculationException;
+import com.kuzminac.loan_service.loan_calculator.service.engine.AmortizationMath;
+import com.kuzminac.loan_service.loan_calculator.service.engine.AnnuityFactorTable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Payments and totals for every combination of loan amounts, interest rates and numbers of payments, without
+ * saving anything. The annuity denominator of each rate and term is looked up on the rate sheet or computed once
+ * and then shared by all amounts, which leaves one multiply and one divide per cell. Cells are computed in chunks
+ * on the batch pool and come out cent-identical to {@code calculateLoan}.
+ */
+@Component
+@Slf4j
+public class PricingGridCalculator {
+
+    // Cells per task; large enough to amortize scheduling, small enough to keep every worker busy
+    static final int CHUNK_SIZE = 4096;
+
+    private static final BigDecimal MIN_LOAN_AMOUNT = new BigDecimal("0.01");
+
+    private final AnnuityFactorTable annuityFactorTable;
+    private final BatchCalculationExecutor batchExecutor;
+    private final int maxCells;
+
+    public PricingGridCalculator(AnnuityFactorTable annuityFactorTable, BatchCalculationExecutor batchExecutor,
+                                 CalculationProperties properties) {
+        this.annuityFactorTable = annuityFactorTable;
+        this.batchExecutor = batchExecutor;
+        this.maxCells = properties.getPricingGrid().getMaxCells();
+    }
+
+    public PricingGridDTO calculate(PricingGridRequestDTO request) {
+        List<BigDecimal> loanAmounts = expand("loanAmounts", request.getLoanAmounts());
+        List<BigDecimal> interestRates = expand("interestRates", request.getInterestRates());
+        List<Integer> terms = expand("numberOfPayments", request.getNumberOfPayments()).stream()
+                .map(PricingGridCalculator::toNumberOfPayments)
+                .toList();
+        for (BigDecimal loanAmount : loanAmounts) {
+            if (loanAmount.compareTo(MIN_LOAN_AMOUNT) < 0) {
+                throw new InvalidLoanParametersException("Loan amounts must be greater than 0");
+            }
+        }
+        for (BigDecimal interestRate : interestRates) {
+            if (interestRate.signum() < 0) {
+                throw new InvalidLoanParametersException("Interest rates must be at least 0");
+            }
+        }
+        long cells = (long) loanAmounts.size() * interestRates.size() * terms.size();
+        if (cells > maxCells) {
+            throw new InvalidLoanParametersException(String.format("Pricing grid must not have more than %d cells, got %d", maxCells, cells));
+        }
+
+        BigDecimal[] monthlyRates = new BigDecimal[interestRates.size()];
+        BigDecimal[] denominators = new BigDecimal[interestRates.size() * terms.size()];
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int r = 0; r < interestRates.size(); r++) {
+            int rateIndex = r;
+            tasks.add(batchExecutor.submit(() -> {
+                fillDenominators(interestRates.get(rateIndex), rateIndex, terms, monthlyRates, denominators);
+                return null;
+            }));
+        }
+        join(tasks);
+
+        Grid grid = new Grid(loanAmounts, terms, monthlyRates, denominators, (int) cells);
+        tasks.clear();
+        for (int start = 0; start < cells; start += CHUNK_SIZE) {
+            int from = start;
+            int to = (int) Math.min(cells, start + CHUNK_SIZE);
+            tasks.add(batchExecutor.submit(() -> {
+                grid.fill(from, to);
+                return null;
+            }));
+        }
+        join(tasks);
+        log.info("Calculated pricing grid of {} amounts, {} rates and {} terms", loanAmounts.size(), interestRates.size(), terms.size());
+
+        return PricingGridDTO.builder()
+                .loanAmounts(loanAmounts)
+                .interestRates(interestRates)
+                .numberOfPayments(terms)
+                .payments(Arrays.asList(grid.payments))
+                .totalPayments(Arrays.asList(grid.totalPayments))
+                .totalInterests(Arrays.asList(grid.totalInterests))
+                .build();
+    }
+
+    private void fillDenominators(BigDecimal annualRate, int rateIndex, List<Integer> terms, BigDecimal[] monthlyRates,
+                                  BigDecimal[] denominators) {
+        BigDecimal monthlyRate = AmortizationMath.monthlyInterestRate(annualRate);
+        monthlyRates[rateIndex] = monthlyRate;
+        if (monthlyRate.signum() == 0) {
+            // Zero-rate payments do not use the annuity formula
+            return;
+        }
+        try {
+            for (int t = 0; t < terms.size(); t++) {
+                BigDecimal denominator = annuityFactorTable.denominator(monthlyRate, terms.get(t));
+                denominators[rateIndex * terms.size() + t] = denominator != null ? denominator
+                        : AmortizationMath.annuityDenominator(monthlyRate, terms.get(t));
+            }
+        } catch (ArithmeticException ae) {
+            throw new LoanCalculationException("Error occurred while calculating the monthly payment.", ae);
+        }
+    }
+
+    private List<BigDecimal> expand(String name, PricingGridAxisDTO axis) {
+        boolean isRange = axis.getFrom() != null || axis.getTo() != null || axis.getStep() != null;
+        if (axis.getValues() != null) {
+            if (isRange) {
+                throw new InvalidLoanParametersException(name + " must have either values or from, to and step");
+            }
+            if (axis.getValues().isEmpty()) {
+                throw new InvalidLoanParametersException(name + " must have at least one value");
+            }
+            return axis.getValues();
+        }
+        if (axis.getFrom() == null || axis.getTo() == null || axis.getStep() == null) {
+            throw new InvalidLoanParametersException(name + " must have either values or from, to and step");
+        }
+        if (axis.getStep().signum() <= 0 || axis.getTo().compareTo(axis.getFrom()) < 0) {
+            throw new InvalidLoanParametersException(name + " must have a positive step and to not below from");
+        }
+        // Checked before expanding, so a tiny step cannot allocate a huge list
+        BigDecimal count = axis.getTo().subtract(axis.getFrom()).divideToIntegralValue(axis.getStep()).add(BigDecimal.ONE);
+        if (count.compareTo(BigDecimal.valueOf(maxCells)) > 0) {
+            throw new InvalidLoanParametersException(String.format("%s must not have more than %d values", name, maxCells));
+        }
+        List<BigDecimal> values = new ArrayList<>(count.intValue());
+        for (int i = 0; i < count.intValue(); i++) {
+            values.add(axis.getFrom().add(axis.getStep().multiply(BigDecimal.valueOf(i))));
+        }
+        return values;
+    }
+
+    private static int toNumberOfPayments(BigDecimal value) {
+        int numberOfPayments;
+        try {
+            numberOfPayments = value.intValueExact();
+        } catch (ArithmeticException notAnInt) {
+            numberOfPayments = 0;
+        }
+        if (numberOfPayments < 1) {
+            throw new InvalidLoanParametersException("Numbers of payments must be whole numbers of at least 1");
+        }
+        // Same bound as the solver; far longer terms overflow the annuity factor
+        if (numberOfPayments > LoanSolver.MAX_NUMBER_OF_PAYMENTS) {
+            throw new InvalidLoanParametersException("Numbers of payments must be at most " + LoanSolver.MAX_NUMBER_OF_PAYMENTS);
+        }
+        return numberOfPayments;
+    }
+
+    private static void join(List<CompletableFuture<Void>> tasks) {
+        try {
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    /**
+     * Result columns, written by the chunk tasks at disjoint indexes.
+     */
+    private static final class Grid {
+
+        private final List<BigDecimal> loanAmounts;
+        private final List<Integer> terms;
+        private final BigDecimal[] monthlyRates;
+        private final BigDecimal[] denominators;
+        private final BigDecimal[] payments;
+        private final BigDecimal[] totalPayments;
+        private final BigDecimal[] totalInterests;
+
+        Grid(List<BigDecimal> loanAmounts, List<Integer> terms, BigDecimal[] monthlyRates, BigDecimal[] denominators, int cells) {
+            this.loanAmounts = loanAmounts;
+            this.terms = terms;
+            this.monthlyRates = monthlyRates;
+            this.denominators = denominators;
+            this.payments = new BigDecimal[cells];
+            this.totalPayments = new BigDecimal[cells];
+            this.totalInterests = new BigDecimal[cells];
+        }
+
+        void fill(int from, int to) {
+            int amounts = loanAmounts.size();
+            for (int cell = from; cell < to; cell++) {
+                int rateAndTerm = cell / amounts;
+                BigDecimal principal = loanAmounts.get(cell % amounts);
+                BigDecimal monthlyRate = monthlyRates[rateAndTerm / terms.size()];
+                int numberOfPayments = terms.get(rateAndTerm % terms.size());
+                BigDecimal payment;
+                try {
+                    payment = monthlyRate.signum() == 0
+                            ? principal.divide(BigDecimal.valueOf(numberOfPayments), 2, RoundingMode.HALF_UP)
+                            : AmortizationMath.annuityPayment(principal, monthlyRate, denominators[rateAndTerm]);
+                } catch (ArithmeticException ae) {
+                    throw new LoanCalculationException("Error occurred while calculating the monthly payment.", ae);
+                }
+                payments[cell] = payment;
+                totalPayments[cell] = LoanCalculator.totalPayment(payment, numberOfPayments);
+                totalInterests[cell] = LoanCalculator.totalInterest(totalPayments[cell], principal);
+            }
+        }
+    }
+}
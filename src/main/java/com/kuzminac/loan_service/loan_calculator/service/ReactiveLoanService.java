@@ -0,0 +1,33 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.dto.LoanPageDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanRequestDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanResponseDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedulePageDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.RecalculatedScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.ScheduleRecalculationRequestDTO;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanSearchCriteria;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link LoanService}, active with the reactive profile.
+ */
+public interface ReactiveLoanService {
+
+    Mono<LoanResponseDTO> calculateLoan(LoanRequestDTO requestDTO, boolean includeSchedule);
+
+    /**
+     * Periods are calculated as the subscriber requests them.
+     */
+    Flux<PaymentScheduleDTO> generatePaymentSchedule(LoanRequestDTO requestDTO);
+
+    Mono<PaymentSchedulePageDTO> getPaymentSchedule(Long loanId, int fromPeriod, Integer toPeriod);
+
+    Mono<LoanResponseDTO> getLoan(Long loanId);
+
+    Mono<RecalculatedScheduleDTO> recalculateSchedule(Long loanId, ScheduleRecalculationRequestDTO request);
+
+    Mono<LoanPageDTO> findLoans(LoanSearchCriteria criteria, String cursor, int limit);
+}
@@ -0,0 +1,123 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.config.PersistenceProperties;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanPageDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanRequestDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanResponseDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedule;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedulePageDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.RecalculatedScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.ScheduleRecalculationRequestDTO;
+import com.kuzminac.loan_service.loan_calculator.exception.LoanNotFoundException;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanSearchCriteria;
+import com.kuzminac.loan_service.loan_calculator.repository.ReactiveLoanRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Reactive variant of {@link LoanServiceImpl}, active with the reactive profile. The math runs on the calling
+ * thread, as it is CPU bound and short; only persistence is asynchronous.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveLoanServiceImpl implements ReactiveLoanService {
+
+    static final int SCHEDULE_CHUNK_SIZE = 64;
+
+    private final LoanCalculator loanCalculator;
+    private final ReactiveLoanRepository loanRepository;
+    private final LoanMetrics loanMetrics;
+    private final PersistenceProperties persistenceProperties;
+
+    @Override
+    public Mono<LoanResponseDTO> calculateLoan(LoanRequestDTO requestDTO, boolean includeSchedule) {
+        return Mono.fromSupplier(() -> loanCalculator.calculate(requestDTO, includeSchedule, persistenceProperties.isStoreSummarySchedules()))
+                .flatMap(calculation -> loanMetrics.timePersistence(loanRepository.save(calculation.loan()))
+                        .map(savedLoan -> {
+                            log.info("Loan calculation successful, saved loan ID: {}", savedLoan.getId());
+                            return loanMetrics.timeResponse(() -> loanCalculator.buildLoanResponse(savedLoan.getId(), calculation));
+                        }));
+    }
+
+    @Override
+    public Flux<PaymentScheduleDTO> generatePaymentSchedule(LoanRequestDTO requestDTO) {
+        BigDecimal principal = requestDTO.getLoanAmount();
+        int numberOfPayments = requestDTO.getNumberOfPayments();
+
+        // Generated a chunk at a time on demand, each chunk continuing from the exact balance the previous one left
+        return Flux.<List<PaymentScheduleDTO>, ScheduleCursor>generate(
+                        () -> {
+                            BigDecimal monthlyInterestRate = loanCalculator.calculateMonthlyInterestRate(requestDTO.getInterestRate());
+                            BigDecimal payment = loanCalculator.calculateMonthlyPayment(principal, monthlyInterestRate, numberOfPayments);
+                            return new ScheduleCursor(monthlyInterestRate, payment, principal, 1);
+                        },
+                        (cursor, emitter) -> {
+                            int lastPeriod = Math.min(numberOfPayments, cursor.nextPeriod() + SCHEDULE_CHUNK_SIZE - 1);
+                            PaymentScheduleCollector collector = new PaymentScheduleCollector(lastPeriod - cursor.nextPeriod() + 1);
+                            BigDecimal closingBalance = loanCalculator.continueSchedule(cursor.openingBalance(),
+                                    cursor.monthlyInterestRate(), numberOfPayments, cursor.payment(), cursor.nextPeriod(), lastPeriod, collector);
+                            emitter.next(collector.getSchedule());
+                            if (lastPeriod == numberOfPayments) {
+                                emitter.complete();
+                            }
+                            return new ScheduleCursor(cursor.monthlyInterestRate(), cursor.payment(), closingBalance, lastPeriod + 1);
+                        })
+                .flatMapIterable(Function.identity(), 1)
+                .doOnComplete(() -> loanMetrics.recordScheduleSize(numberOfPayments));
+    }
+
+    @Override
+    public Mono<PaymentSchedulePageDTO> getPaymentSchedule(Long loanId, int fromPeriod, Integer toPeriod) {
+        return loanRepository.findById(loanId)
+                .switchIfEmpty(Mono.error(() -> new LoanNotFoundException(loanId)))
+                .map(loan -> loanCalculator.getPaymentSchedule(loan, fromPeriod, toPeriod));
+    }
+
+    @Override
+    public Mono<LoanResponseDTO> getLoan(Long loanId) {
+        return loanRepository.findById(loanId)
+                .switchIfEmpty(Mono.error(() -> new LoanNotFoundException(loanId)))
+                .flatMap(loan -> loanRepository.findScheduleByLoanId(loanId, loan.getNumberOfPayments())
+                        .map(schedule -> loanCalculator.buildLoanResponse(loanId, loan, schedule))
+                        .switchIfEmpty(Mono.fromSupplier(() -> loanCalculator.buildLoanResponse(loanId, loan,
+                                loanCalculator.generatePaymentSchedule(loan)))));
+    }
+
+    @Override
+    public Mono<RecalculatedScheduleDTO> recalculateSchedule(Long loanId, ScheduleRecalculationRequestDTO request) {
+        return loanRepository.findById(loanId)
+                .switchIfEmpty(Mono.error(() -> new LoanNotFoundException(loanId)))
+                .flatMap(loan -> {
+                    ScheduleEvents events = ScheduleEvents.of(request.getEvents(), loan.getNumberOfPayments());
+                    Mono<PaymentSchedule> storedPeriods = events.firstPeriod() == 1 ? Mono.empty()
+                            : loanRepository.findSchedulePeriodsBefore(loanId, events.firstPeriod());
+                    return storedPeriods
+                            .map(periods -> loanCalculator.recalculateSchedule(loan, periods, events))
+                            .switchIfEmpty(Mono.fromSupplier(() -> loanCalculator.recalculateSchedule(loan, null, events)));
+                });
+    }
+
+    @Override
+    public Mono<LoanPageDTO> findLoans(LoanSearchCriteria criteria, String cursor, int limit) {
+        return Mono.defer(() -> {
+            LoanPages.validateLimit(limit);
+            return loanRepository.find(criteria, LoanPages.decodeCursor(cursor), limit + 1)
+                    .collectList()
+                    .map(rows -> LoanPages.toPage(rows, limit));
+        });
+    }
+
+    private record ScheduleCursor(BigDecimal monthlyInterestRate, BigDecimal payment, BigDecimal openingBalance, int nextPeriod) {
+    }
+}
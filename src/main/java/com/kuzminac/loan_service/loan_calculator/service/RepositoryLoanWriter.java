@@ -0,0 +1,74 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanFingerprintRepository;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanScheduleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Default writer: saves before the response is returned, loans and their schedules in one transaction. A loan
+ * that was calculated before is not inserted again; it gets the id of the stored one.
+ */
+@Component
+@Profile("!reactive & !batch")
+@ConditionalOnProperty(prefix = "app.persistence.write-behind", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class RepositoryLoanWriter implements LoanWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoanFingerprintRepository loanFingerprintRepository;
+    private final LoanScheduleRepository loanScheduleRepository;
+    private final LoanIdAllocator idAllocator;
+    private final Counter deduplicatedLoans;
+
+    public RepositoryLoanWriter(JdbcTemplate jdbcTemplate, LoanFingerprintRepository loanFingerprintRepository,
+                                LoanScheduleRepository loanScheduleRepository, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.loanFingerprintRepository = loanFingerprintRepository;
+        this.loanScheduleRepository = loanScheduleRepository;
+        this.idAllocator = new LoanIdAllocator(jdbcTemplate);
+        this.deduplicatedLoans = Counter.builder("loans.deduplicated")
+                .description("Calculations answered with a stored loan instead of inserting a new one")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public Loan save(Loan loan) {
+        return saveAll(List.of(loan)).get(0);
+    }
+
+    @Override
+    @Transactional
+    public List<Loan> saveAll(List<Loan> loans) {
+        // Ids are drawn up front, the fingerprint claim needs them; the ones of repeated loans are skipped
+        for (Loan loan : loans) {
+            loan.setId(idAllocator.nextId());
+        }
+        Set<Long> newIds = loanFingerprintRepository.claim(loans);
+
+        List<Loan> newLoans = new ArrayList<>(newIds.size());
+        List<Loan> storedLoans = new ArrayList<>(loans.size() - newIds.size());
+        for (Loan loan : loans) {
+            (newIds.contains(loan.getId()) ? newLoans : storedLoans).add(loan);
+        }
+        if (!newLoans.isEmpty()) {
+            jdbcTemplate.batchUpdate(LoanRows.INSERT_SQL, newLoans, newLoans.size(), LoanRows::bind);
+            loanScheduleRepository.insertAll(newLoans);
+        }
+        if (!storedLoans.isEmpty()) {
+            loanFingerprintRepository.resolveStored(storedLoans);
+            deduplicatedLoans.increment(storedLoans.size());
+        }
+        return loans;
+    }
+}
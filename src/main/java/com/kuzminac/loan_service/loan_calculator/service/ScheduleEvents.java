@@ -0,0 +1,85 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.dto.ScheduleEventDTO;
+import com.kuzminac.loan_service.loan_calculator.exception.InvalidLoanParametersException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Validated events of a schedule recalculation, merged into one change per period and in period order. Extra
+ * payments in the same period add up; a period can have only one rate change.
+ */
+final class ScheduleEvents {
+
+    /**
+     * {@code interestRate} and {@code extraPayment} are {@code null} if the period has no such event.
+     */
+    record Change(int period, BigDecimal interestRate, BigDecimal extraPayment) {
+    }
+
+    private final List<Change> changes;
+
+    private ScheduleEvents(List<Change> changes) {
+        this.changes = changes;
+    }
+
+    static ScheduleEvents of(List<ScheduleEventDTO> events, int numberOfPayments) {
+        if (events == null || events.isEmpty()) {
+            throw new InvalidLoanParametersException("At least one event is required");
+        }
+        TreeMap<Integer, Change> changes = new TreeMap<>();
+        for (ScheduleEventDTO event : events) {
+            if (event == null || event.getType() == null) {
+                throw new InvalidLoanParametersException("Event type is required");
+            }
+            if (event.getPeriod() == null || event.getPeriod() < 1 || event.getPeriod() > numberOfPayments) {
+                throw new InvalidLoanParametersException(
+                        String.format("Event period must be between 1 and %d", numberOfPayments));
+            }
+            int period = event.getPeriod();
+            Change change = changes.getOrDefault(period, new Change(period, null, null));
+            changes.put(period, switch (event.getType()) {
+                case EXTRA_PAYMENT -> new Change(period, change.interestRate(), add(change.extraPayment(), extraPayment(event)));
+                case RATE_CHANGE -> {
+                    if (change.interestRate() != null) {
+                        throw new InvalidLoanParametersException("Period " + period + " has more than one rate change");
+                    }
+                    yield new Change(period, interestRate(event), change.extraPayment());
+                }
+            });
+        }
+        return new ScheduleEvents(List.copyOf(changes.values()));
+    }
+
+    int firstPeriod() {
+        return changes.get(0).period();
+    }
+
+    List<Change> changes() {
+        return changes;
+    }
+
+    private static BigDecimal extraPayment(ScheduleEventDTO event) {
+        BigDecimal amount = event.getAmount();
+        if (amount == null) {
+            throw new InvalidLoanParametersException("Extra payment amount is required");
+        }
+        if (amount.signum() <= 0 || amount.stripTrailingZeros().scale() > 2) {
+            throw new InvalidLoanParametersException("Extra payment must be greater than 0 and in whole cents");
+        }
+        return amount;
+    }
+
+    private static BigDecimal interestRate(ScheduleEventDTO event) {
+        if (event.getInterestRate() == null || event.getInterestRate().signum() < 0) {
+            throw new InvalidLoanParametersException("Rate change needs an interest rate of at least 0");
+        }
+        return event.getInterestRate();
+    }
+
+    private static BigDecimal add(BigDecimal sum, BigDecimal amount) {
+        return sum == null ? amount : sum.add(amount);
+    }
+}
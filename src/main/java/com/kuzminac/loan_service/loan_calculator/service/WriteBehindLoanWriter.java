@@ -0,0 +1,192 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.config.PersistenceProperties;
+import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+import com.kuzminac.loan_service.loan_calculator.exception.PersistenceUnavailableException;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanScheduleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind persistence: loans get their id from a pooled sequence block, are queued in memory and inserted in
+ * JDBC batches by a background thread, so the response no longer waits for the database. Their schedules are
+ * inserted in the same transaction, and generated on that thread if the response did not need them. A full queue blocks the
+ * caller for up to {@code offer-timeout} and then rejects the request. On shutdown the queue is drained after the
+ * web server has stopped taking requests. Repeated calculations are not deduplicated, since the id is returned
+ * before the insert could find a stored loan.
+ */
+@Component
+@Profile("!reactive & !batch")
+@ConditionalOnProperty(prefix = "app.persistence.write-behind", name = "enabled", havingValue = "true")
+@Slf4j
+public class WriteBehindLoanWriter implements LoanWriter, SmartLifecycle {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoanScheduleRepository loanScheduleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LoanIdAllocator idAllocator;
+    private final PersistenceProperties.WriteBehind properties;
+    private final BlockingQueue<PendingLoan> queue;
+
+    private final Timer flushLag;
+    private final Timer flushDuration;
+    private final Counter droppedLoans;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public WriteBehindLoanWriter(JdbcTemplate jdbcTemplate, LoanScheduleRepository loanScheduleRepository,
+                                 PlatformTransactionManager transactionManager, PersistenceProperties persistenceProperties,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.loanScheduleRepository = loanScheduleRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idAllocator = new LoanIdAllocator(jdbcTemplate);
+        this.properties = persistenceProperties.getWriteBehind();
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+        Gauge.builder("loans.write_behind.queue.depth", queue, Collection::size)
+                .description("Loans waiting to be inserted")
+                .register(meterRegistry);
+        this.flushLag = Timer.builder("loans.write_behind.flush.lag")
+                .description("Time from queueing a loan until its batch is committed")
+                .register(meterRegistry);
+        this.flushDuration = Timer.builder("loans.write_behind.flush.duration")
+                .description("Time to insert and commit one batch")
+                .register(meterRegistry);
+        this.droppedLoans = Counter.builder("loans.write_behind.dropped")
+                .description("Loans given up on after repeated insert failures")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Loan save(Loan loan) {
+        enqueue(loan);
+        return loan;
+    }
+
+    @Override
+    public List<Loan> saveAll(List<Loan> loans) {
+        loans.forEach(this::enqueue);
+        return loans;
+    }
+
+    private void enqueue(Loan loan) {
+        if (!running) {
+            throw new PersistenceUnavailableException("Loan persistence is shutting down");
+        }
+        loan.setId(idAllocator.nextId());
+        try {
+            if (!queue.offer(new PendingLoan(loan, System.nanoTime()), properties.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new PersistenceUnavailableException("Loan persistence queue is full, please retry later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PersistenceUnavailableException("Interrupted while waiting for the loan persistence queue");
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = Thread.ofPlatform().name("loan-write-behind").start(this::writeLoop);
+        log.info("Write-behind persistence started, queue capacity {}, batch size {}", properties.getQueueCapacity(), properties.getBatchSize());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writerThread.join(properties.getDrainTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.error("Write-behind persistence stopped with {} loans still queued", queue.size());
+        } else {
+            log.info("Write-behind persistence drained and stopped");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Stops after the web server, which has the highest phase, so no request can enqueue behind the drain
+        return 0;
+    }
+
+    private void writeLoop() {
+        List<PendingLoan> batch = new ArrayList<>(properties.getBatchSize());
+        // A batch interrupted while waiting for a retry stays in place and is written on the next pass
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    PendingLoan first = queue.poll(properties.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                }
+                queue.drainTo(batch, properties.getBatchSize() - batch.size());
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // Not interrupted by stop(); treat it as a shutdown request and keep draining
+                log.warn("Write-behind writer interrupted, draining {} queued loans", queue.size() + batch.size());
+                running = false;
+            }
+        }
+    }
+
+    private void flush(List<PendingLoan> batch) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                long started = System.nanoTime();
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(LoanRows.INSERT_SQL, batch, batch.size(), (ps, pending) -> LoanRows.bind(ps, pending.loan()));
+                    loanScheduleRepository.insertAll(batch.stream().map(PendingLoan::loan).toList());
+                });
+                long committed = System.nanoTime();
+                flushDuration.record(committed - started, TimeUnit.NANOSECONDS);
+                for (PendingLoan pending : batch) {
+                    flushLag.record(committed - pending.queuedAt(), TimeUnit.NANOSECONDS);
+                }
+                log.debug("Inserted {} queued loans", batch.size());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= properties.getMaxAttempts()) {
+                    droppedLoans.increment(batch.size());
+                    log.error("Dropping {} loans (IDs {}..{}) after {} failed insert attempts",
+                            batch.size(), batch.get(0).loan().getId(), batch.get(batch.size() - 1).loan().getId(), attempt, e);
+                    return;
+                }
+                log.warn("Insert of {} queued loans failed (attempt {}), retrying: {}", batch.size(), attempt, e.getMessage());
+                Thread.sleep(properties.getFlushInterval().toMillis());
+            }
+        }
+    }
+
+    record PendingLoan(Loan loan, long queuedAt) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.kuzminac.loan_service.loan_calculator.service.engine;
+
+import java.math.BigDecimal;
+
+/**
+ * Amortization math behind {@code LoanService}. Implementations must produce cent-identical schedules
+ * to {@link BigDecimalAmortizationEngine}, which is the reference implementation, unless documented otherwise.
+ */
+public interface AmortizationEngine {
+
+    BigDecimal calculateMonthlyPayment(BigDecimal principal, BigDecimal monthlyInterestRate, int numberOfPayments);
+
+    default void generatePaymentSchedule(BigDecimal principal, BigDecimal monthlyInterestRate, int numberOfPayments,
+                                         BigDecimal payment, ScheduleSink sink) {
+        continueSchedule(principal, monthlyInterestRate, numberOfPayments, payment, 1, numberOfPayments, sink);
+    }
+
+    /**
+     * Emits periods {@code fromPeriod..toPeriod} of the loan's schedule. The default walks the schedule from the first
+     * period and only emits the requested ones.
+     */
+    default void generatePaymentSchedule(BigDecimal principal, BigDecimal monthlyInterestRate, int numberOfPayments,
+                                         BigDecimal payment, int fromPeriod, int toPeriod, ScheduleSink sink) {
+        continueSchedule(principal, monthlyInterestRate, numberOfPayments, payment, 1, toPeriod,
+                new FromPeriodSink(fromPeriod, sink));
+    }
+
+    /**
+     * Emits periods {@code firstPeriod..lastPeriod}, starting from the balance owed before {@code firstPeriod}.
+     * Returns the unrounded balance owed after {@code lastPeriod}; continuing from it emits the periods a single call
+     * over the whole range would, so a schedule can be generated piece by piece.
+     */
+    BigDecimal continueSchedule(BigDecimal openingBalance, BigDecimal monthlyInterestRate, int numberOfPayments,
+                          BigDecimal payment, int firstPeriod, int lastPeriod, ScheduleSink sink);
+}
@@ -0,0 +1,47 @@
+package com.kuzminac.loan_service.loan_calculator.service.engine;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Precision settings shared by every engine, so that all of them round exactly like the original service did.
+ */
+public final class AmortizationMath {
+
+    // Increased precision to prevent rounding errors during calculations
+    public static final MathContext MC = new MathContext(20, RoundingMode.HALF_UP);
+    public static final int SCALE = 10;
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal MONTHS_PER_YEAR = BigDecimal.valueOf(12);
+
+    private AmortizationMath() {
+    }
+
+    public static BigDecimal monthlyInterestRate(BigDecimal annualRate) {
+        return annualRate
+                .divide(ONE_HUNDRED, SCALE, RoundingMode.HALF_UP)
+                .divide(MONTHS_PER_YEAR, SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * The principal-independent part of the payment, {@code 1 - (1 + r)^-n}, rounded like the reference engine.
+     */
+    public static BigDecimal annuityDenominator(BigDecimal monthlyInterestRate, int numberOfPayments) {
+        BigDecimal onePlusRate = BigDecimal.ONE.add(monthlyInterestRate, MC);
+        BigDecimal onePlusRatePowN = onePlusRate.pow(numberOfPayments, MC);
+
+        // Calculate the denominator: [1 - (1 + r)^-n] = [1 - 1 / (1 + r)^n]
+        return BigDecimal.ONE.subtract(BigDecimal.ONE.divide(onePlusRatePowN, SCALE, RoundingMode.HALF_UP), MC);
+    }
+
+    /**
+     * The payment for a denominator from {@link #annuityDenominator}, {@code r * principal / denominator} rounded to
+     * cents like the reference engine.
+     */
+    public static BigDecimal annuityPayment(BigDecimal principal, BigDecimal monthlyInterestRate, BigDecimal denominator) {
+        BigDecimal numerator = monthlyInterestRate.multiply(principal, MC);
+        return numerator.divide(denominator, SCALE, RoundingMode.HALF_UP).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,67 @@
+package com.kuzminac.loan_service.loan_calculator.service.engine;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Annuity denominators {@code 1 - (1 + r)^-n} for every term up to {@code maxTerm}, precomputed for the rates on the
+ * rate sheet. With the denominator at hand a payment costs one multiply and one divide instead of a
+ * {@code pow(n, MC)}; the values are the ones {@link AmortizationMath#annuityDenominator} returns, so payments do not
+ * change. {@link #load} swaps in a new rate sheet atomically while lookups continue.
+ */
+@Slf4j
+public class AnnuityFactorTable {
+
+    static final AnnuityFactorTable EMPTY = new AnnuityFactorTable(0);
+
+    @Getter
+    private final int maxTerm;
+    private volatile Sheet sheet = new Sheet(List.of(), Map.of());
+
+    public AnnuityFactorTable(int maxTerm) {
+        this.maxTerm = maxTerm;
+    }
+
+    public void load(Collection<BigDecimal> annualRates) {
+        Map<BigDecimal, BigDecimal[]> denominators = new HashMap<>();
+        for (BigDecimal annualRate : annualRates) {
+            BigDecimal monthlyRate = AmortizationMath.monthlyInterestRate(annualRate);
+            if (monthlyRate.signum() <= 0) {
+                // Zero-rate payments do not use the annuity formula
+                continue;
+            }
+            BigDecimal[] byTerm = new BigDecimal[maxTerm + 1];
+            for (int term = 1; term <= maxTerm; term++) {
+                byTerm[term] = AmortizationMath.annuityDenominator(monthlyRate, term);
+            }
+            denominators.put(monthlyRate.stripTrailingZeros(), byTerm);
+        }
+        this.sheet = new Sheet(annualRates.stream().sorted().distinct().toList(), Map.copyOf(denominators));
+        log.info("Loaded annuity factors for {} rates and terms up to {}", denominators.size(), maxTerm);
+    }
+
+    public List<BigDecimal> getAnnualRates() {
+        return sheet.annualRates();
+    }
+
+    /**
+     * @return the precomputed denominator, or {@code null} if the rate is not on the sheet or the term is too long
+     */
+    public BigDecimal denominator(BigDecimal monthlyInterestRate, int numberOfPayments) {
+        Sheet current = sheet;
+        if (numberOfPayments < 1 || numberOfPayments > maxTerm || current.denominators().isEmpty()) {
+            return null;
+        }
+        BigDecimal[] byTerm = current.denominators().get(monthlyInterestRate.stripTrailingZeros());
+        return byTerm == null ? null : byTerm[numberOfPayments];
+    }
+
+    private record Sheet(List<BigDecimal> annualRates, Map<BigDecimal, BigDecimal[]> denominators) {
+    }
+}
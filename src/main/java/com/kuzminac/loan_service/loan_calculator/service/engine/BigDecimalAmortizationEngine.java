@@ -0,0 +1,80 @@
+package com.kuzminac.loan_service.loan_calculator.service.engine;
+
+import com.kuzminac.loan_service.loan_calculator.exception.LoanCalculationException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static com.kuzminac.loan_service.loan_calculator.service.engine.AmortizationMath.MC;
+import static com.kuzminac.loan_service.loan_calculator.service.engine.AmortizationMath.SCALE;
+
+/**
+ * Reference engine: {@link BigDecimal} with {@code MathContext(20)} on every period.
+ */
+@Slf4j
+public class BigDecimalAmortizationEngine implements AmortizationEngine {
+
+    private final AnnuityFactorTable annuityFactors;
+
+    public BigDecimalAmortizationEngine() {
+        this(AnnuityFactorTable.EMPTY);
+    }
+
+    public BigDecimalAmortizationEngine(AnnuityFactorTable annuityFactors) {
+        this.annuityFactors = annuityFactors;
+    }
+
+    @Override
+    public BigDecimal calculateMonthlyPayment(BigDecimal principal, BigDecimal monthlyInterestRate, int numberOfPayments) {
+
+        // Handle the scenario where the interest rate is zero
+        if (monthlyInterestRate.compareTo(BigDecimal.ZERO) == 0) {
+            return principal.divide(BigDecimal.valueOf(numberOfPayments), 2, RoundingMode.HALF_UP);
+        }
+
+        try {
+            // Rates on the rate sheet have their denominators precomputed
+            BigDecimal denominator = annuityFactors.denominator(monthlyInterestRate, numberOfPayments);
+            if (denominator == null) {
+                denominator = AmortizationMath.annuityDenominator(monthlyInterestRate, numberOfPayments);
+            }
+
+            // Compute the monthly payment: (r * principal) / denominator, rounded to cents
+            return AmortizationMath.annuityPayment(principal, monthlyInterestRate, denominator);
+
+        } catch (ArithmeticException ae) {
+            log.error("Arithmetic error during monthly payment calculation: {}", ae.getMessage(), ae);
+            throw new LoanCalculationException("Error occurred while calculating the monthly payment.", ae);
+        }
+    }
+
+    @Override
+    public BigDecimal continueSchedule(BigDecimal openingBalance, BigDecimal monthlyInterestRate, int numberOfPayments,
+                                 BigDecimal payment, int firstPeriod, int lastPeriod, ScheduleSink sink) {
+        BigDecimal balance = openingBalance;
+        BigDecimal displayPayment = payment.setScale(2, RoundingMode.HALF_UP);
+
+        for (int period = firstPeriod; period <= lastPeriod; period++) {
+
+            BigDecimal interest = balance.multiply(monthlyInterestRate, MC);
+            interest = interest.setScale(SCALE, RoundingMode.HALF_UP);
+            BigDecimal principalAmount = payment.subtract(interest).setScale(SCALE, RoundingMode.HALF_UP);
+            balance = balance.subtract(principalAmount).setScale(SCALE, RoundingMode.HALF_UP);
+
+            // For the last payment, adjust for any residual due to rounding
+            if (period == numberOfPayments && balance.compareTo(BigDecimal.ZERO) != 0) {
+                principalAmount = principalAmount.add(balance);
+                balance = BigDecimal.ZERO;
+            }
+
+            // Round for display purposes
+            sink.accept(period,
+                    displayPayment,
+                    principalAmount.setScale(2, RoundingMode.HALF_UP),
+                    interest.setScale(2, RoundingMode.HALF_UP),
+                    balance.max(BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP));
+        }
+        return balance;
+    }
+}
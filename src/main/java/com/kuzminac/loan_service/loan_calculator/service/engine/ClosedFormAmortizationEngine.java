@@ -0,0 +1,124 @@
+package com.kuzminac.loan_service.loan_calculator.service.engine;
+
+import com.kuzminac.loan_service.loan_calculator.service.BatchCalculationExecutor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import static com.kuzminac.loan_service.loan_calculator.service.engine.AmortizationMath.SCALE;
+
+/**
+ * Locates any period directly from the annuity formula instead of carrying the balance through all earlier ones:
+ * <pre>
+ *   B(k) = B(0) * (1 + r)^k - payment * ((1 + r)^k - 1) / r
+ * </pre>
+ * A period is then computed from B(k - 1) with the same rounding steps, and the final-period residual is
+ * reconciled, by the sequential engine. Long schedules are split into chunks that are seeded from the formula and
+ * generated in parallel on the batch pool. Every chunk but the last ends on the next chunk's seed, its last period
+ * absorbing the difference the way the final period does, so balances carry over exactly and the principal amounts
+ * add up to the opening balance.
+ * <p>
+ * The formula is exact while the loop rounds the balance to scale 10 every period, so amounts can differ from the
+ * reference engine by a cent where a value sits on a rounding boundary.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ClosedFormAmortizationEngine implements AmortizationEngine {
+
+    // (1 + r)^k and the payment term cancel out, so keep well beyond the 20 digits of the loop
+    private static final MathContext FORMULA_MC = new MathContext(60, RoundingMode.HALF_EVEN);
+    static final int CHUNK_SIZE = 512;
+    static final int PARALLEL_THRESHOLD = 4 * CHUNK_SIZE;
+
+    private final AmortizationEngine sequential;
+    private final BatchCalculationExecutor batchExecutor;
+
+    @Override
+    public BigDecimal calculateMonthlyPayment(BigDecimal principal, BigDecimal monthlyInterestRate, int numberOfPayments) {
+        return sequential.calculateMonthlyPayment(principal, monthlyInterestRate, numberOfPayments);
+    }
+
+    @Override
+    public void generatePaymentSchedule(BigDecimal principal, BigDecimal monthlyInterestRate, int numberOfPayments,
+                                        BigDecimal payment, int fromPeriod, int toPeriod, ScheduleSink sink) {
+        BigDecimal openingBalance = balanceAfter(principal, monthlyInterestRate, payment, fromPeriod - 1);
+        continueSchedule(openingBalance, monthlyInterestRate, numberOfPayments, payment, fromPeriod, toPeriod, sink);
+    }
+
+    @Override
+    public BigDecimal continueSchedule(BigDecimal openingBalance, BigDecimal monthlyInterestRate, int numberOfPayments,
+                                 BigDecimal payment, int firstPeriod, int lastPeriod, ScheduleSink sink) {
+        int periods = lastPeriod - firstPeriod + 1;
+        if (periods < PARALLEL_THRESHOLD) {
+            return sequential.continueSchedule(openingBalance, monthlyInterestRate, numberOfPayments, payment, firstPeriod, lastPeriod, sink);
+        }
+
+        int chunks = (periods + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        ScheduleBuffer[] buffers = new ScheduleBuffer[chunks];
+        BigDecimal[] closingBalances = new BigDecimal[chunks];
+        try {
+            batchExecutor.forEachIndex(chunks, chunk -> {
+                int start = firstPeriod + chunk * CHUNK_SIZE;
+                int end = Math.min(lastPeriod, start + CHUNK_SIZE - 1);
+                BigDecimal seed = balanceAfter(openingBalance, monthlyInterestRate, payment, start - firstPeriod);
+                buffers[chunk] = new ScheduleBuffer(end - start + 1);
+                closingBalances[chunk] = end == lastPeriod
+                        ? sequential.continueSchedule(seed, monthlyInterestRate, numberOfPayments, payment, start, end, buffers[chunk])
+                        : continueToBalance(seed, balanceAfter(openingBalance, monthlyInterestRate, payment, end + 1 - firstPeriod),
+                                monthlyInterestRate, numberOfPayments, payment, start, end, buffers[chunk]);
+            });
+        } catch (ArithmeticException outOfRange) {
+            // Amounts beyond cents in a long cannot be buffered; nothing has been emitted yet
+            log.debug("Schedule amounts out of buffer range, generating sequentially: {}", outOfRange.getMessage());
+            return sequential.continueSchedule(openingBalance, monthlyInterestRate, numberOfPayments, payment, firstPeriod, lastPeriod, sink);
+        }
+        for (ScheduleBuffer buffer : buffers) {
+            buffer.replay(sink);
+        }
+        return closingBalances[chunks - 1];
+    }
+
+    /**
+     * Emits periods {@code firstPeriod..lastPeriod} like the sequential engine, except that the last one pays off
+     * the difference to {@code closingBalance}. {@code lastPeriod} is never the final period of the loan.
+     */
+    private BigDecimal continueToBalance(BigDecimal openingBalance, BigDecimal closingBalance, BigDecimal monthlyInterestRate,
+                                         int numberOfPayments, BigDecimal payment, int firstPeriod, int lastPeriod,
+                                         ScheduleBuffer buffer) {
+        BigDecimal balanceBeforeLast = lastPeriod == firstPeriod ? openingBalance
+                : sequential.continueSchedule(openingBalance, monthlyInterestRate, numberOfPayments, payment, firstPeriod, lastPeriod - 1, buffer);
+        long principalAmount = toCents(balanceBeforeLast.subtract(closingBalance));
+        long balanceOwed = toCents(closingBalance.max(BigDecimal.ZERO));
+        sequential.continueSchedule(balanceBeforeLast, monthlyInterestRate, numberOfPayments, payment, lastPeriod, lastPeriod,
+                (period, paymentCents, principalCents, interestCents, balanceCents) ->
+                        buffer.accept(period, paymentCents, principalAmount, interestCents, balanceOwed));
+        return closingBalance;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    /**
+     * Balance owed after {@code periods} payments, rounded to scale 10. Works for any starting point of the schedule,
+     * so {@code openingBalance} may itself be a balance in the middle of the loan.
+     */
+    public BigDecimal balanceAfter(BigDecimal openingBalance, BigDecimal monthlyInterestRate, BigDecimal payment, int periods) {
+        if (periods == 0) {
+            return openingBalance;
+        }
+        BigDecimal balance;
+        if (monthlyInterestRate.signum() == 0) {
+            balance = openingBalance.subtract(payment.multiply(BigDecimal.valueOf(periods)));
+        } else {
+            BigDecimal growth = BigDecimal.ONE.add(monthlyInterestRate).pow(periods, FORMULA_MC);
+            BigDecimal paidOff = payment.multiply(growth.subtract(BigDecimal.ONE), FORMULA_MC)
+                    .divide(monthlyInterestRate, FORMULA_MC);
+            balance = openingBalance.multiply(growth, FORMULA_MC).subtract(paidOff, FORMULA_MC);
+        }
+        return balance.setScale(SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,157 @@
+package com.kuzminac.loan_service.loan_calculator.service.engine;
+
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+
+import static com.kuzminac.loan_service.loan_calculator.service.engine.AmortizationMath.MC;
+import static com.kuzminac.loan_service.loan_calculator.service.engine.AmortizationMath.SCALE;
+
+/**
+ * Runs the schedule on {@code long} values scaled by 10^{@value AmortizationMath#SCALE}, which is exactly the scale
+ * the reference engine rounds to after every step, so the periods come out cent-identical without allocating.
+ * <p>
+ * The interest product needs up to 128 bits; it is rounded to {@code MathContext(20)} significant digits and then
+ * to scale 10, the same double rounding the reference engine performs. Inputs that cannot be represented, and
+ * schedules whose amounts outgrow a {@code long}, are handed to the reference engine from the current period on.
+ */
+@RequiredArgsConstructor
+public class FixedPointAmortizationEngine implements AmortizationEngine {
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private static final long ONE = POWERS_OF_TEN[SCALE];
+    private static final long DISPLAY_UNIT = POWERS_OF_TEN[SCALE - 2];
+    // Interest products below this many units of scale 10 have at most MathContext precision digits
+    private static final int INTEGER_DIGITS = MC.getPrecision() - SCALE;
+    private static final long PRECISION_LIMIT = POWERS_OF_TEN[INTEGER_DIGITS];
+
+    private final AmortizationEngine reference;
+
+    @Override
+    public BigDecimal calculateMonthlyPayment(BigDecimal principal, BigDecimal monthlyInterestRate, int numberOfPayments) {
+        // O(log n) and once per loan, not worth a second implementation
+        return reference.calculateMonthlyPayment(principal, monthlyInterestRate, numberOfPayments);
+    }
+
+    @Override
+    public BigDecimal continueSchedule(BigDecimal openingBalance, BigDecimal monthlyInterestRate, int numberOfPayments,
+                                 BigDecimal payment, int firstPeriod, int lastPeriod, ScheduleSink sink) {
+        long balance;
+        long rate;
+        long fixedPayment;
+        try {
+            balance = toFixed(openingBalance);
+            rate = toFixed(monthlyInterestRate);
+            fixedPayment = toFixed(payment);
+        } catch (ArithmeticException notRepresentable) {
+            return reference.continueSchedule(openingBalance, monthlyInterestRate, numberOfPayments, payment, firstPeriod, lastPeriod, sink);
+        }
+        if (rate < 0) {
+            return reference.continueSchedule(openingBalance, monthlyInterestRate, numberOfPayments, payment, firstPeriod, lastPeriod, sink);
+        }
+
+        long displayPayment = toDisplay(fixedPayment);
+
+        for (int period = firstPeriod; period <= lastPeriod; period++) {
+            long interest;
+            long principalAmount;
+            long nextBalance;
+            try {
+                interest = interest(balance, rate);
+                principalAmount = Math.subtractExact(fixedPayment, interest);
+                nextBalance = Math.subtractExact(balance, principalAmount);
+
+                // For the last payment, adjust for any residual due to rounding
+                if (period == numberOfPayments && nextBalance != 0) {
+                    principalAmount = Math.addExact(principalAmount, nextBalance);
+                    nextBalance = 0;
+                }
+            } catch (ArithmeticException overflow) {
+                // Nothing of this period has been emitted yet, so the reference engine picks up seamlessly
+                return reference.continueSchedule(BigDecimal.valueOf(balance, SCALE), monthlyInterestRate, numberOfPayments,
+                        payment, period, lastPeriod, sink);
+            }
+            balance = nextBalance;
+
+            sink.accept(period, displayPayment, toDisplay(principalAmount), toDisplay(interest), toDisplay(Math.max(balance, 0)));
+        }
+        return BigDecimal.valueOf(balance, SCALE);
+    }
+
+    private static long toFixed(BigDecimal value) {
+        // Throws if rounding would be needed or the value does not fit
+        return value.movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * {@code balance * rate} rounded to {@code MathContext(20)} and then to scale 10, both HALF_UP.
+     */
+    static long interest(long balance, long rate) {
+        long magnitude = Math.abs(balance);
+        if (magnitude < 0) {
+            throw new ArithmeticException("long overflow");
+        }
+
+        // 128-bit product at scale 20, split into quotient and remainder by 10^10
+        long high = Math.unsignedMultiplyHigh(magnitude, rate);
+        long low = magnitude * rate;
+        if (high >= ONE) {
+            throw new ArithmeticException("long overflow");
+        }
+        long quotient = 0;
+        long remainder = high;
+        for (int shift = 48; shift >= 0; shift -= 16) {
+            long chunk = (remainder << 16) | ((low >>> shift) & 0xFFFF);
+            long digit = chunk / ONE;
+            remainder = chunk - digit * ONE;
+            quotient = (quotient << 16) | digit;
+        }
+        if (quotient < 0) {
+            throw new ArithmeticException("long overflow");
+        }
+
+        long rounded = roundToPrecision(quotient, remainder);
+        return balance < 0 ? -rounded : rounded;
+    }
+
+    private static long roundToPrecision(long quotient, long remainder) {
+        if (quotient < PRECISION_LIMIT) {
+            // At most 20 significant digits: MathContext leaves the product alone
+            return remainder * 2 >= ONE ? Math.incrementExact(quotient) : quotient;
+        }
+
+        // First rounding drops the digits beyond MathContext precision, the second one rounds to scale 10
+        int droppedDigits = digits(quotient) - INTEGER_DIGITS;
+        long unit = POWERS_OF_TEN[droppedDigits];
+        long kept = remainder / unit;
+        if ((remainder % unit) * 2 >= unit) {
+            kept++;
+        }
+        return kept * 2 >= POWERS_OF_TEN[SCALE - droppedDigits] ? Math.incrementExact(quotient) : quotient;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private static long toDisplay(long value) {
+        long cents = value / DISPLAY_UNIT;
+        long remainder = value % DISPLAY_UNIT;
+        if (Math.abs(remainder) * 2 >= DISPLAY_UNIT) {
+            cents += value < 0 ? -1 : 1;
+        }
+        return cents;
+    }
+}
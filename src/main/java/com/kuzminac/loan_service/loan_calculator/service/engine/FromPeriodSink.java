@@ -0,0 +1,26 @@
+package com.kuzminac.loan_service.loan_calculator.service.engine;
+
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+
+@RequiredArgsConstructor
+class FromPeriodSink implements ScheduleSink {
+
+    private final int fromPeriod;
+    private final ScheduleSink delegate;
+
+    @Override
+    public void accept(int period, long payment, long principalAmount, long interestAmount, long balanceOwed) {
+        if (period >= fromPeriod) {
+            delegate.accept(period, payment, principalAmount, interestAmount, balanceOwed);
+        }
+    }
+
+    @Override
+    public void accept(int period, BigDecimal payment, BigDecimal principalAmount, BigDecimal interestAmount, BigDecimal balanceOwed) {
+        if (period >= fromPeriod) {
+            delegate.accept(period, payment, principalAmount, interestAmount, balanceOwed);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.kuzminac.loan_service.loan_calculator.service.engine;
+
+/**
+ * Holds a run of consecutive periods in cents until they can be replayed in order.
+ */
+class ScheduleBuffer implements ScheduleSink {
+
+    private final int[] periods;
+    private final long[] payments;
+    private final long[] principalAmounts;
+    private final long[] interestAmounts;
+    private final long[] balancesOwed;
+    private int size;
+
+    ScheduleBuffer(int capacity) {
+        periods = new int[capacity];
+        payments = new long[capacity];
+        principalAmounts = new long[capacity];
+        interestAmounts = new long[capacity];
+        balancesOwed = new long[capacity];
+    }
+
+    @Override
+    public void accept(int period, long payment, long principalAmount, long interestAmount, long balanceOwed) {
+        periods[size] = period;
+        payments[size] = payment;
+        principalAmounts[size] = principalAmount;
+        interestAmounts[size] = interestAmount;
+        balancesOwed[size] = balanceOwed;
+        size++;
+    }
+
+    void replay(ScheduleSink sink) {
+        for (int i = 0; i < size; i++) {
+            sink.accept(periods[i], payments[i], principalAmounts[i], interestAmounts[i], balancesOwed[i]);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.kuzminac.loan_service.loan_calculator.service.engine;
+
+import java.math.BigDecimal;
+
+/**
+ * Receives payment schedule periods in order as an engine produces them.
+ * All amounts are already rounded for display (two decimals).
+ */
+@FunctionalInterface
+public interface ScheduleSink {
+
+    /**
+     * Amounts are in cents.
+     */
+    void accept(int period, long payment, long principalAmount, long interestAmount, long balanceOwed);
+
+    /**
+     * Used by engines that work on {@link BigDecimal}. The default converts to cents and fails with an
+     * {@link ArithmeticException} when an amount does not fit into a {@code long}.
+     */
+    default void accept(int period, BigDecimal payment, BigDecimal principalAmount, BigDecimal interestAmount, BigDecimal balanceOwed) {
+        accept(period, toCents(payment), toCents(principalAmount), toCents(interestAmount), toCents(balanceOwed));
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+}
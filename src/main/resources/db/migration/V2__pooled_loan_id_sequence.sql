@@ -0,0 +1,4 @@
+-- Loan ids come from the sequence in blocks of 50 (Hibernate pooled optimizer), so inserts can be batched.
+-- A sequence value v reserves the ids v - 49 .. v, so the next value has to leave room above the existing rows.
+ALTER SEQUENCE loans_id_seq INCREMENT BY 50;
+SELECT setval('loans_id_seq', COALESCE((SELECT MAX(id) FROM loans), 0) + 50, false);
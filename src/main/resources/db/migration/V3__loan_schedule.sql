@@ -0,0 +1,22 @@
+-- Payment schedule of every saved loan, as it was calculated, so it can be served without recomputing it.
+-- Amounts are in cents. Hash partitions on loan_id keep each primary key index small, and a loan's schedule
+-- is always read from a single partition. There is no foreign key to loans, as the writers insert both in one
+-- transaction anyway and the check would cost a lookup per row.
+CREATE TABLE loan_schedule (
+    loan_id BIGINT NOT NULL,
+    period INTEGER NOT NULL,
+    payment_cents BIGINT NOT NULL,
+    principal_cents BIGINT NOT NULL,
+    interest_cents BIGINT NOT NULL,
+    balance_cents BIGINT NOT NULL,
+    PRIMARY KEY (loan_id, period)
+) PARTITION BY HASH (loan_id);
+
+DO $$
+BEGIN
+    FOR remainder IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE loan_schedule_p%s PARTITION OF loan_schedule FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                       remainder, remainder);
+    END LOOP;
+END
+$$;
@@ -0,0 +1,11 @@
+-- Loans are listed newest first with keyset pagination on (created_at, id), which needs created_at to be set.
+UPDATE loans SET created_at = (NOW() AT TIME ZONE 'UTC') WHERE created_at IS NULL;
+ALTER TABLE loans ALTER COLUMN created_at SET NOT NULL;
+
+-- Walked backwards for every listing. INCLUDE makes it covering: the amount, rate and term filters and the
+-- returned columns are all read from the index, so pages are index-only scans.
+CREATE INDEX loans_created_at_id_idx ON loans (created_at, id)
+    INCLUDE (loan_amount, interest_rate, number_of_payments, total_payment, total_interest);
+
+-- Listings for one term (minTerm = maxTerm, e.g. 360) seek straight to it and still come out in keyset order.
+CREATE INDEX loans_term_created_at_id_idx ON loans (number_of_payments, created_at, id);
@@ -0,0 +1,9 @@
+-- One row per distinct calculation, keyed by a fingerprint of the exact request values (see LoanFingerprint).
+-- Writers claim the fingerprint with INSERT ... ON CONFLICT DO NOTHING before inserting the loan, so a repeated
+-- calculation gets the stored loan_id instead of another row in loans and loan_schedule. Kept out of loans, so the
+-- unique key doesn't constrain how loans is laid out; a uuid holds the 128 bit fingerprint in 16 bytes.
+-- Existing loans are not backfilled, loans only keeps the request values rounded to its column scales.
+CREATE TABLE loan_fingerprints (
+    fingerprint UUID PRIMARY KEY,
+    loan_id BIGINT NOT NULL
+);
@@ -0,0 +1,50 @@
+-- Loans become monthly range partitions on created_at (UTC), so old months can be detached and archived as a
+-- whole instead of deleted row by row, and vacuum and index maintenance only touch the recent partitions.
+-- A primary key of a partitioned table must include the partition key, hence (id, created_at); ids stay unique
+-- as they all come from loans_id_seq. Partitions are named loans_YYYY_MM and kept ahead of the current month by
+-- LoanPartitionMaintenance. Rows outside all of them land in loans_default rather than failing the insert.
+ALTER TABLE loans RENAME TO loans_unpartitioned;
+ALTER TABLE loans_unpartitioned RENAME CONSTRAINT loans_pkey TO loans_unpartitioned_pkey;
+DROP INDEX loans_created_at_id_idx;
+DROP INDEX loans_term_created_at_id_idx;
+-- Would otherwise be dropped with the old table
+ALTER SEQUENCE loans_id_seq OWNED BY NONE;
+
+CREATE TABLE loans (
+    id BIGINT NOT NULL DEFAULT nextval('loans_id_seq'),
+    loan_amount NUMERIC(15, 2) NOT NULL,
+    interest_rate NUMERIC(5, 4) NOT NULL,
+    number_of_payments INTEGER NOT NULL,
+    total_payment NUMERIC(15, 2) NOT NULL,
+    total_interest NUMERIC(15, 2) NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT (NOW() AT TIME ZONE 'UTC'),
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE loans_id_seq OWNED BY loans.id;
+
+CREATE TABLE loans_default PARTITION OF loans DEFAULT;
+
+-- Every month that has loans, up to three months ahead
+DO $$
+DECLARE
+    month TIMESTAMP := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM loans_unpartitioned), NOW() AT TIME ZONE 'UTC'));
+BEGIN
+    WHILE month <= date_trunc('month', NOW() AT TIME ZONE 'UTC') + INTERVAL '3 months' LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF loans FOR VALUES FROM (%L) TO (%L)',
+                       'loans_' || to_char(month, 'YYYY_MM'), month, month + INTERVAL '1 month');
+        month := month + INTERVAL '1 month';
+    END LOOP;
+END
+$$;
+
+INSERT INTO loans (id, loan_amount, interest_rate, number_of_payments, total_payment, total_interest, created_at)
+SELECT id, loan_amount, interest_rate, number_of_payments, total_payment, total_interest, created_at
+FROM loans_unpartitioned;
+
+DROP TABLE loans_unpartitioned;
+
+-- As in V4, created on every partition; built after the copy, which is faster than maintaining them during it
+CREATE INDEX loans_created_at_id_idx ON loans (created_at, id)
+    INCLUDE (loan_amount, interest_rate, number_of_payments, total_payment, total_interest);
+CREATE INDEX loans_term_created_at_id_idx ON loans (number_of_payments, created_at, id);
@@ -0,0 +1,189 @@
+package com.kuzminac.loan_service.loan_calculator;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the default Tomcat thread pool with the {@code virtual-threads} profile under a closed-loop load of
+ * increasing concurrency against a real Postgres. Each step reports throughput and p99 latency; the highest
+ * throughput whose p99 stays within {@link #P99_BUDGET} without errors is the max sustainable RPS.
+ * <p>
+ * Opt-in, as it takes a few minutes and needs Docker:
+ * {@code mvn test -Dtest=LoanCalculatorLoadTest -Dloadtest=true}. Client and server share the machine, so compare
+ * the two modes with each other rather than with production numbers.
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@Slf4j
+class LoanCalculatorLoadTest {
+
+    private static final int[] CONCURRENCY = {25, 100, 400, 1600};
+    private static final Duration WARM_UP = Duration.ofSeconds(10);
+    private static final Duration STEP = Duration.ofSeconds(20);
+    private static final Duration P99_BUDGET = Duration.ofMillis(250);
+
+    @Container
+    public static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15.3")
+            .withDatabaseName("postgres")
+            .withUsername("user")
+            .withPassword("password")
+            .withCommand("postgres", "-c", "max_connections=200");
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    @DisplayName("Load Test: Platform Threads vs Virtual Threads")
+    void compareThreadingModels() throws Exception {
+        List<StepResult> platform = measure(false);
+        List<StepResult> virtual = measure(true);
+
+        StringBuilder report = new StringBuilder("\nconcurrency | platform rps | p99 ms | errors | virtual rps | p99 ms | errors\n");
+        for (int i = 0; i < CONCURRENCY.length; i++) {
+            StepResult p = platform.get(i);
+            StepResult v = virtual.get(i);
+            report.append(String.format(Locale.ROOT, "%11d | %12.0f | %6.1f | %6d | %11.0f | %6.1f | %6d%n",
+                    CONCURRENCY[i], p.rps(), p.p99Millis(), p.errors(), v.rps(), v.p99Millis(), v.errors()));
+        }
+        report.append(String.format(Locale.ROOT, "max sustainable rps (p99 <= %d ms): platform %.0f, virtual %.0f",
+                P99_BUDGET.toMillis(), maxSustainable(platform), maxSustainable(virtual)));
+        log.info(report.toString());
+
+        // The lightest step must be served cleanly in both modes, otherwise the comparison is meaningless
+        assertThat(platform.get(0).errors()).isZero();
+        assertThat(virtual.get(0).errors()).isZero();
+    }
+
+    private List<StepResult> measure(boolean virtualThreads) throws Exception {
+        SpringApplicationBuilder application = new SpringApplicationBuilder(LoanCalculatorApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgreSQLContainer.getJdbcUrl() + "&reWriteBatchedInserts=true",
+                        "spring.datasource.username=" + postgreSQLContainer.getUsername(),
+                        "spring.datasource.password=" + postgreSQLContainer.getPassword(),
+                        "spring.jpa.show-sql=false",
+                        "logging.level.com.kuzminac.loan_service.loan_calculator=WARN");
+        if (virtualThreads) {
+            application.profiles("virtual-threads");
+        }
+
+        try (ConfigurableApplicationContext context = application.run()) {
+            URI uri = URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort()
+                    + "/api/v1/loans/calculate?include=summary");
+            run(uri, CONCURRENCY[0], WARM_UP);
+
+            List<StepResult> results = new ArrayList<>(CONCURRENCY.length);
+            for (int concurrency : CONCURRENCY) {
+                results.add(run(uri, concurrency, STEP));
+            }
+            return results;
+        }
+    }
+
+    private StepResult run(URI uri, int concurrency, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Client>> clients = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(executor.submit(() -> drive(uri, deadline)));
+            }
+        }
+
+        List<Client> finished = new ArrayList<>(concurrency);
+        for (Future<Client> future : clients) {
+            finished.add(future.get());
+        }
+        long[] latencies = new long[finished.stream().mapToInt(client -> client.completed).sum()];
+        int merged = 0;
+        int errors = 0;
+        for (Client client : finished) {
+            System.arraycopy(client.latencies, 0, latencies, merged, client.completed);
+            merged += client.completed;
+            errors += client.errors;
+        }
+        Arrays.sort(latencies);
+        double p99Millis = latencies.length == 0 ? Double.NaN
+                : latencies[(int) Math.ceil(latencies.length * 0.99) - 1] / 1_000_000.0;
+        return new StepResult(latencies.length / (double) duration.toSeconds(), p99Millis, errors);
+    }
+
+    private Client drive(URI uri, long deadline) {
+        Client client = new Client();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            // Distinct amounts, so every request is calculated and inserted instead of served from the cache
+            String body = String.format(Locale.ROOT, "{\"loanAmount\": %d.%02d, \"interestRate\": 5.5, \"numberOfPayments\": 360}",
+                    random.nextInt(1_000, 1_000_000), random.nextInt(100));
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            long started = System.nanoTime();
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    client.record(System.nanoTime() - started);
+                } else {
+                    client.errors++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                client.errors++;
+            }
+        }
+        return client;
+    }
+
+    private static double maxSustainable(List<StepResult> results) {
+        return results.stream()
+                .filter(result -> result.errors() == 0 && result.p99Millis() <= P99_BUDGET.toMillis())
+                .mapToDouble(StepResult::rps)
+                .max()
+                .orElse(0);
+    }
+
+    private static final class Client {
+        private long[] latencies = new long[1024];
+        private int completed;
+        private int errors;
+
+        void record(long nanos) {
+            if (completed == latencies.length) {
+                latencies = Arrays.copyOf(latencies, completed * 2);
+            }
+            latencies[completed++] = nanos;
+        }
+    }
+
+    private record StepResult(double rps, double p99Millis, int errors) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.kuzminac.loan_service.loan_calculator.controller;
+
+import com.kuzminac.loan_service.loan_calculator.dto.CashFlowMonthDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.CashFlowProjectionDTO;
+import com.kuzminac.loan_service.loan_calculator.service.CashFlowProjector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CashFlowController.class)
+@Import(SimpleMeterRegistry.class)
+class CashFlowControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CashFlowProjector cashFlowProjector;
+
+    @Test
+    @DisplayName("Controller Test: Project Cash Flow")
+    void projectCashFlow_Success() throws Exception {
+        // Arrange
+        CashFlowProjectionDTO projection = CashFlowProjectionDTO.builder()
+                .fromMonth(YearMonth.of(2026, 11))
+                .loans(1L)
+                .totalPayment(new BigDecimal("1008.33"))
+                .totalPrincipal(new BigDecimal("1000.00"))
+                .totalInterest(new BigDecimal("8.33"))
+                .months(List.of(
+                        new CashFlowMonthDTO(YearMonth.of(2026, 11), 1, new BigDecimal("336.11"), new BigDecimal("331.94"), new BigDecimal("4.17")),
+                        new CashFlowMonthDTO(YearMonth.of(2026, 12), 1, new BigDecimal("336.11"), new BigDecimal("333.33"), new BigDecimal("2.78")),
+                        new CashFlowMonthDTO(YearMonth.of(2027, 1), 1, new BigDecimal("336.11"), new BigDecimal("334.73"), new BigDecimal("1.39"))))
+                .build();
+        Mockito.when(cashFlowProjector.project()).thenReturn(projection);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/cash-flow"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromMonth").value("2026-11"))
+                .andExpect(jsonPath("$.months.length()").value(3))
+                .andExpect(jsonPath("$.months[2].month").value("2027-01"))
+                .andExpect(jsonPath("$.months[2].interestAmount").value(1.39));
+    }
+}
@@ -1,11 +1,26 @@
 
 package com.kuzminac.loan_service.loan_calculator.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanBatchItemDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanPageDTO;
 import com.kuzminac.loan_service.loan_calculator.dto.LoanRequestDTO;
 import com.kuzminac.loan_service.loan_calculator.dto.LoanResponseDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanSummaryDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedule;
 import com.kuzminac.loan_service.loan_calculator.dto.PaymentScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedulePageDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.RecalculatedScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.ScheduleRecalculationRequestDTO;
+import com.kuzminac.loan_service.loan_calculator.exception.LoanNotFoundException;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanSearchCriteria;
 import com.kuzminac.loan_service.loan_calculator.service.LoanService;
+import com.kuzminac.loan_service.loan_calculator.service.engine.ScheduleSink;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,24 +28,38 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(LoanController.class)
+@Import(SimpleMeterRegistry.class)
 class LoanControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     private static final String ENDPOINT = "/api/v1/loans/calculate";
 
@@ -84,7 +113,7 @@ class LoanControllerTest {
                 .paymentSchedule(paymentSchedule)
                 .build();
 
-        Mockito.when(loanService.calculateLoan(any(LoanRequestDTO.class))).thenReturn(responseDTO);
+        Mockito.when(loanService.calculateLoan(any(LoanRequestDTO.class), eq(true))).thenReturn(responseDTO);
 
         // Act & Assert
         mockMvc.perform(post(ENDPOINT)
@@ -108,6 +137,75 @@ class LoanControllerTest {
                 .andExpect(jsonPath("$.paymentSchedule[2].balanceOwed").value(0.00));
     }
 
+    @Test
+    @DisplayName("Controller Test: Loan Calculation as Columnar CBOR")
+    void calculateLoan_Cbor() throws Exception {
+        // Arrange
+        LoanRequestDTO requestDTO = LoanRequestDTO.builder()
+                .loanAmount(new BigDecimal("1000.00"))
+                .interestRate(new BigDecimal("5.0"))
+                .numberOfPayments(2)
+                .build();
+        LoanResponseDTO responseDTO = LoanResponseDTO.builder()
+                .loanId(1L)
+                .loanAmount(requestDTO.getLoanAmount())
+                .interestRate(requestDTO.getInterestRate())
+                .numberOfPayments(2)
+                .totalPayment(new BigDecimal("1006.26"))
+                .totalInterest(new BigDecimal("6.26"))
+                .paymentSchedule(List.of(
+                        new PaymentScheduleDTO(1, new BigDecimal("503.13"), new BigDecimal("498.96"), new BigDecimal("4.17"), new BigDecimal("501.04")),
+                        new PaymentScheduleDTO(2, new BigDecimal("503.13"), new BigDecimal("501.04"), new BigDecimal("2.09"), new BigDecimal("0.00"))))
+                .build();
+        Mockito.when(loanService.calculateLoan(any(LoanRequestDTO.class), eq(true))).thenReturn(responseDTO);
+
+        // Act
+        MvcResult result = mockMvc.perform(post(ENDPOINT)
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(new CBORMapper().writeValueAsBytes(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // Assert: exact decimals for the summary, one array of cents per schedule column
+        JsonNode body = CBORMapper.builder()
+                .disable(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES)
+                .build()
+                .readTree(result.getResponse().getContentAsByteArray());
+        assertThat(body.get("loanId").asLong()).isEqualTo(1L);
+        assertThat(body.get("loanAmount").decimalValue()).isEqualTo(new BigDecimal("1000.00"));
+        assertThat(body.get("interestRate").decimalValue()).isEqualTo(new BigDecimal("5.0"));
+        assertThat(body.get("totalPayment").decimalValue()).isEqualTo(new BigDecimal("1006.26"));
+        JsonNode schedule = body.get("paymentSchedule");
+        assertThat(schedule.get("amountScale").asInt()).isEqualTo(2);
+        assertThat(schedule.get("period")).extracting(JsonNode::asInt).containsExactly(1, 2);
+        assertThat(schedule.get("payment")).extracting(JsonNode::asLong).containsExactly(50313L, 50313L);
+        assertThat(schedule.get("interestAmount")).extracting(JsonNode::asLong).containsExactly(417L, 209L);
+        assertThat(schedule.get("balanceOwed")).extracting(JsonNode::asLong).containsExactly(50104L, 0L);
+    }
+
+    @Test
+    @DisplayName("Controller Test: Clients Accepting Anything Still Get JSON")
+    void calculateLoan_AnyAcceptedDefaultsToJson() throws Exception {
+        LoanRequestDTO requestDTO = LoanRequestDTO.builder()
+                .loanAmount(new BigDecimal("1000.00"))
+                .interestRate(new BigDecimal("5.0"))
+                .numberOfPayments(3)
+                .build();
+        Mockito.when(loanService.calculateLoan(any(LoanRequestDTO.class), eq(false)))
+                .thenReturn(LoanResponseDTO.builder().loanId(1L).build());
+
+        mockMvc.perform(post(ENDPOINT)
+                        .param("include", "summary")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.ALL)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.loanId").value(1L));
+    }
+
     @Test
     @DisplayName("Controller Test: Validation Failure")
     void calculateLoan_ValidationFailure() throws Exception {
@@ -117,6 +215,7 @@ class LoanControllerTest {
                 .interestRate(new BigDecimal("5.0"))
                 .numberOfPayments(0) // Invalid number of payments
                 .build();
+        double validationErrors = meterRegistry.counter("loans.errors", "error", "Validation Failed", "status", "400").count();
 
         // Act & Assert
         mockMvc.perform(post(ENDPOINT)
@@ -131,6 +230,8 @@ class LoanControllerTest {
                         "Field 'loanAmount' Loan amount must be greater than 0",
                         "Field 'numberOfPayments' Number of payments must be at least 1"
                 )));
+        assertThat(meterRegistry.counter("loans.errors", "error", "Validation Failed", "status", "400").count())
+                .isEqualTo(validationErrors + 1);
     }
 
     @Test
@@ -143,7 +244,7 @@ class LoanControllerTest {
                 .numberOfPayments(3)
                 .build();
 
-        Mockito.when(loanService.calculateLoan(any(LoanRequestDTO.class)))
+        Mockito.when(loanService.calculateLoan(any(LoanRequestDTO.class), anyBoolean()))
                 .thenThrow(new RuntimeException("Unexpected error"));
 
         // Act & Assert
@@ -154,4 +255,300 @@ class LoanControllerTest {
                 .andExpect(jsonPath("$.error").value("Internal Server Error"))
                 .andExpect(jsonPath("$.message").value("Unexpected error"));
     }
+
+    @Test
+    @DisplayName("Controller Test: Summary-only Loan Calculation")
+    void calculateLoan_SummaryOnly() throws Exception {
+        // Arrange
+        LoanRequestDTO requestDTO = LoanRequestDTO.builder()
+                .loanAmount(new BigDecimal("1000.00"))
+                .interestRate(new BigDecimal("5.0"))
+                .numberOfPayments(3)
+                .build();
+
+        LoanResponseDTO responseDTO = LoanResponseDTO.builder()
+                .loanId(1L)
+                .loanAmount(requestDTO.getLoanAmount())
+                .interestRate(requestDTO.getInterestRate())
+                .numberOfPayments(requestDTO.getNumberOfPayments())
+                .totalPayment(new BigDecimal("1008.33"))
+                .totalInterest(new BigDecimal("8.33"))
+                .build();
+
+        Mockito.when(loanService.calculateLoan(any(LoanRequestDTO.class), eq(false))).thenReturn(responseDTO);
+
+        // Act & Assert
+        mockMvc.perform(post(ENDPOINT)
+                        .param("include", "summary")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalPayment").value(1008.33))
+                .andExpect(jsonPath("$.paymentSchedule").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Controller Test: Streaming Loan Calculation")
+    void calculateLoan_Ndjson() throws Exception {
+        // Arrange
+        LoanRequestDTO requestDTO = LoanRequestDTO.builder()
+                .loanAmount(new BigDecimal("1000.00"))
+                .interestRate(new BigDecimal("5.0"))
+                .numberOfPayments(3)
+                .build();
+
+        LoanResponseDTO responseDTO = LoanResponseDTO.builder()
+                .loanId(1L)
+                .loanAmount(requestDTO.getLoanAmount())
+                .interestRate(requestDTO.getInterestRate())
+                .numberOfPayments(requestDTO.getNumberOfPayments())
+                .totalPayment(new BigDecimal("1008.33"))
+                .totalInterest(new BigDecimal("8.33"))
+                .build();
+
+        Mockito.when(loanService.calculateLoan(any(LoanRequestDTO.class), eq(false))).thenReturn(responseDTO);
+        Mockito.doAnswer(invocation -> {
+            ScheduleSink sink = invocation.getArgument(1);
+            sink.accept(1, 33611L, 33194L, 417L, 66806L);
+            sink.accept(2, new BigDecimal("336.11"), new BigDecimal("333.32"), new BigDecimal("2.79"), new BigDecimal("334.74"));
+            sink.accept(3, 33611L, 33474L, 140L, 0L);
+            return null;
+        }).when(loanService).generatePaymentSchedule(any(LoanRequestDTO.class), any(ScheduleSink.class));
+
+        // Act
+        MvcResult result = mockMvc.perform(post(ENDPOINT)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("""
+                        {"loanId":1,"loanAmount":1000.00,"interestRate":5.0,"numberOfPayments":3,"totalPayment":1008.33,"totalInterest":8.33}
+                        {"period":1,"payment":336.11,"principalAmount":331.94,"interestAmount":4.17,"balanceOwed":668.06}
+                        {"period":2,"payment":336.11,"principalAmount":333.32,"interestAmount":2.79,"balanceOwed":334.74}
+                        {"period":3,"payment":336.11,"principalAmount":334.74,"interestAmount":1.40,"balanceOwed":0.00}
+                        """));
+    }
+
+    @Test
+    @DisplayName("Controller Test: Batch Loan Calculation")
+    void calculateLoans_Batch() throws Exception {
+        // Arrange
+        List<LoanRequestDTO> requests = List.of(
+                LoanRequestDTO.builder().loanAmount(new BigDecimal("1000.00")).interestRate(new BigDecimal("5.0")).numberOfPayments(3).build(),
+                LoanRequestDTO.builder().loanAmount(new BigDecimal("1000.00")).interestRate(new BigDecimal("5.0")).numberOfPayments(0).build());
+
+        List<LoanBatchItemDTO> results = List.of(
+                LoanBatchItemDTO.builder()
+                        .index(0)
+                        .status(200)
+                        .loan(LoanResponseDTO.builder()
+                                .loanId(1L)
+                                .loanAmount(new BigDecimal("1000.00"))
+                                .interestRate(new BigDecimal("5.0"))
+                                .numberOfPayments(3)
+                                .totalPayment(new BigDecimal("1008.33"))
+                                .totalInterest(new BigDecimal("8.33"))
+                                .build())
+                        .build(),
+                LoanBatchItemDTO.builder()
+                        .index(1)
+                        .status(400)
+                        .error("Validation Failed")
+                        .message("Invalid input parameters")
+                        .details(List.of("Field 'numberOfPayments' Number of payments must be at least 1"))
+                        .build());
+
+        Mockito.when(loanService.calculateLoans(anyList(), eq(false))).thenReturn(results);
+
+        // Act & Assert
+        mockMvc.perform(post(ENDPOINT + "/batch")
+                        .param("include", "summary")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].loan.totalPayment").value(1008.33))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].loan").doesNotExist())
+                .andExpect(jsonPath("$[1].details[0]").value("Field 'numberOfPayments' Number of payments must be at least 1"));
+    }
+
+    @Test
+    @DisplayName("Controller Test: Payment Schedule Period Range")
+    void getPaymentSchedule_Success() throws Exception {
+        // Arrange
+        PaymentSchedulePageDTO pageDTO = PaymentSchedulePageDTO.builder()
+                .loanId(7L)
+                .numberOfPayments(360)
+                .fromPeriod(13)
+                .toPeriod(13)
+                .paymentSchedule(List.of(PaymentScheduleDTO.builder()
+                        .period(13)
+                        .payment(new BigDecimal("1342.05"))
+                        .principalAmount(new BigDecimal("345.65"))
+                        .interestAmount(new BigDecimal("996.40"))
+                        .balanceOwed(new BigDecimal("238773.59"))
+                        .build()))
+                .build();
+
+        Mockito.when(loanService.getPaymentSchedule(7L, 13, 13)).thenReturn(pageDTO);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/loans/7/schedule")
+                        .param("fromPeriod", "13")
+                        .param("toPeriod", "13"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.loanId").value(7))
+                .andExpect(jsonPath("$.numberOfPayments").value(360))
+                .andExpect(jsonPath("$.paymentSchedule.length()").value(1))
+                .andExpect(jsonPath("$.paymentSchedule[0].period").value(13))
+                .andExpect(jsonPath("$.paymentSchedule[0].balanceOwed").value(238773.59));
+    }
+
+    @Test
+    @DisplayName("Controller Test: Payment Schedule for Unknown Loan")
+    void getPaymentSchedule_NotFound() throws Exception {
+        // Arrange
+        Mockito.when(loanService.getPaymentSchedule(99L, 1, null)).thenThrow(new LoanNotFoundException(99L));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/loans/99/schedule"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Loan Not Found"))
+                .andExpect(jsonPath("$.message").value("Loan with ID 99 not found"));
+    }
+
+    @Test
+    @DisplayName("Controller Test: Saved Loan With Its Stored Schedule")
+    void getLoan_Success() throws Exception {
+        // Arrange
+        LoanResponseDTO responseDTO = LoanResponseDTO.builder()
+                .loanId(7L)
+                .loanAmount(new BigDecimal("1000.00"))
+                .interestRate(new BigDecimal("5.0000"))
+                .numberOfPayments(2)
+                .totalPayment(new BigDecimal("1006.26"))
+                .totalInterest(new BigDecimal("6.26"))
+                .paymentSchedule(new PaymentSchedule(new int[]{1, 2}, new long[]{50313, 50313}, new long[]{49896, 50104},
+                        new long[]{417, 209}, new long[]{50104, 0}, 2))
+                .build();
+
+        Mockito.when(loanService.getLoan(7L)).thenReturn(responseDTO);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/loans/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.loanId").value(7))
+                .andExpect(jsonPath("$.totalPayment").value(1006.26))
+                .andExpect(jsonPath("$.paymentSchedule.length()").value(2))
+                .andExpect(jsonPath("$.paymentSchedule[0].interestAmount").value(4.17))
+                .andExpect(jsonPath("$.paymentSchedule[1].balanceOwed").value(0.0));
+    }
+
+    @Test
+    @DisplayName("Controller Test: Schedule Recalculation Needs Events")
+    void recalculateSchedule_ValidationFailure() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/loans/7/schedule/recalculate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"events\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details[0]").value("Field 'events' At least one event is required"));
+        Mockito.verifyNoInteractions(loanService);
+    }
+
+    @Test
+    @DisplayName("Controller Test: Schedule Recalculation as Columnar CBOR")
+    void recalculateSchedule_Cbor() throws Exception {
+        // Arrange
+        RecalculatedScheduleDTO recalculated = RecalculatedScheduleDTO.builder()
+                .loanId(7L)
+                .loanAmount(new BigDecimal("1000.00"))
+                .interestRate(new BigDecimal("5.0000"))
+                .numberOfPayments(3)
+                .recalculatedFromPeriod(2)
+                .totalPayment(new BigDecimal("1004.19"))
+                .totalInterest(new BigDecimal("4.19"))
+                .paymentSchedule(new PaymentSchedule(new int[]{1, 2}, new long[]{33611, 66808}, new long[]{33194, 66806},
+                        new long[]{417, 2}, new long[]{66806, 0}, 2))
+                .build();
+        Mockito.when(loanService.recalculateSchedule(eq(7L), any(ScheduleRecalculationRequestDTO.class))).thenReturn(recalculated);
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/v1/loans/7/schedule/recalculate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content("{\"events\": [{\"type\": \"EXTRA_PAYMENT\", \"period\": 2, \"amount\": 330}]}"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // Assert: numeric summary and cents columns, as for calculations
+        JsonNode body = CBORMapper.builder()
+                .disable(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES)
+                .build()
+                .readTree(result.getResponse().getContentAsByteArray());
+        assertThat(body.get("recalculatedFromPeriod").asInt()).isEqualTo(2);
+        assertThat(body.get("totalPayment").isNumber()).isTrue();
+        assertThat(body.get("totalPayment").decimalValue()).isEqualTo(new BigDecimal("1004.19"));
+        JsonNode schedule = body.get("paymentSchedule");
+        assertThat(schedule.get("amountScale").asInt()).isEqualTo(2);
+        assertThat(schedule.get("period")).extracting(JsonNode::asInt).containsExactly(1, 2);
+        assertThat(schedule.get("payment")).allSatisfy(payment -> assertThat(payment.isIntegralNumber()).isTrue());
+        assertThat(schedule.get("payment")).extracting(JsonNode::asLong).containsExactly(33611L, 66808L);
+        assertThat(schedule.get("balanceOwed")).extracting(JsonNode::asLong).containsExactly(66806L, 0L);
+    }
+
+    @Test
+    @DisplayName("Controller Test: Unknown Saved Loan")
+    void getLoan_NotFound() throws Exception {
+        // Arrange
+        Mockito.when(loanService.getLoan(99L)).thenThrow(new LoanNotFoundException(99L));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/loans/99"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Loan with ID 99 not found"));
+    }
+
+    @Test
+    @DisplayName("Controller Test: Filtered Loan Listing")
+    void findLoans_Success() throws Exception {
+        // Arrange
+        LoanPageDTO pageDTO = LoanPageDTO.builder()
+                .loans(List.of(LoanSummaryDTO.builder()
+                        .loanId(9L)
+                        .loanAmount(new BigDecimal("250000.00"))
+                        .interestRate(new BigDecimal("5.5000"))
+                        .numberOfPayments(360)
+                        .totalPayment(new BigDecimal("511031.44"))
+                        .totalInterest(new BigDecimal("261031.44"))
+                        .createdAt(LocalDateTime.parse("2026-10-17T10:15:30"))
+                        .build()))
+                .nextCursor("MjAyNi0xMC0xN1QxMDoxNTozMCw5")
+                .build();
+        LoanSearchCriteria criteria = new LoanSearchCriteria(new BigDecimal("100000"), null, null, null, 360, 360);
+
+        Mockito.when(loanService.findLoans(criteria, null, 1)).thenReturn(pageDTO);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/loans")
+                        .param("minAmount", "100000")
+                        .param("minTerm", "360")
+                        .param("maxTerm", "360")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.loans.length()").value(1))
+                .andExpect(jsonPath("$.loans[0].loanId").value(9))
+                .andExpect(jsonPath("$.loans[0].createdAt").value("2026-10-17T10:15:30"))
+                .andExpect(jsonPath("$.nextCursor").value("MjAyNi0xMC0xN1QxMDoxNTozMCw5"));
+    }
 }
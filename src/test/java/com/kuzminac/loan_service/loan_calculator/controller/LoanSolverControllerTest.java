@@ -0,0 +1,79 @@
+package com.kuzminac.loan_service.loan_calculator.controller;
+
+import com.kuzminac.loan_service.loan_calculator.dto.LoanSolutionDTO;
+import com.kuzminac.loan_service.loan_calculator.service.LoanSolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(LoanSolverController.class)
+@Import(SimpleMeterRegistry.class)
+class LoanSolverControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LoanSolver loanSolver;
+
+    @Test
+    @DisplayName("Controller Test: Solve for Loan Amount")
+    void solveLoanAmount_Success() throws Exception {
+        // Arrange
+        LoanSolutionDTO solution = LoanSolutionDTO.builder()
+                .loanAmount(new BigDecimal("10000.00"))
+                .interestRate(new BigDecimal("5.0"))
+                .numberOfPayments(12)
+                .payment(new BigDecimal("856.07"))
+                .totalPayment(new BigDecimal("10272.84"))
+                .totalInterest(new BigDecimal("272.84"))
+                .build();
+        Mockito.when(loanSolver.solveLoanAmount(any())).thenReturn(solution);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/loans/solve/loan-amount")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"payment\": 856.07, \"interestRate\": 5.0, \"numberOfPayments\": 12}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.loanAmount").value(10000.00))
+                .andExpect(jsonPath("$.payment").value(856.07));
+    }
+
+    @Test
+    @DisplayName("Controller Test: Negative Payment Is Rejected")
+    void solveInterestRate_ValidationFailure() throws Exception {
+        mockMvc.perform(post("/api/v1/loans/solve/interest-rate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"payment\": -1, \"loanAmount\": 10000, \"numberOfPayments\": 12}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation Failed"));
+        Mockito.verify(loanSolver, Mockito.never()).solveInterestRate(any());
+    }
+
+    @Test
+    @DisplayName("Controller Test: Number of Payments and Payment Above the Limits Are Rejected")
+    void solveLoanAmount_AboveLimits() throws Exception {
+        mockMvc.perform(post("/api/v1/loans/solve/loan-amount")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"payment\": 1e20, \"interestRate\": 5.0, \"numberOfPayments\": 100000000}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details.length()").value(2))
+                .andExpect(jsonPath("$.details[?(@ == 'Field \\'numberOfPayments\\' Number of payments must be at most 1200')]").exists())
+                .andExpect(jsonPath("$.details[?(@ == 'Field \\'payment\\' Payment must be at most 9999999999999.99')]").exists());
+        Mockito.verify(loanSolver, Mockito.never()).solveLoanAmount(any());
+    }
+}
@@ -0,0 +1,77 @@
+package com.kuzminac.loan_service.loan_calculator.controller;
+
+import com.kuzminac.loan_service.loan_calculator.dto.PricingGridDTO;
+import com.kuzminac.loan_service.loan_calculator.exception.InvalidLoanParametersException;
+import com.kuzminac.loan_service.loan_calculator.service.PricingGridCalculator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PricingGridController.class)
+@Import(SimpleMeterRegistry.class)
+class PricingGridControllerTest {
+
+    private static final String ENDPOINT = "/api/v1/pricing-grid";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PricingGridCalculator pricingGridCalculator;
+
+    @Test
+    @DisplayName("Controller Test: Calculate Pricing Grid")
+    void calculatePricingGrid_Success() throws Exception {
+        // Arrange
+        PricingGridDTO grid = PricingGridDTO.builder()
+                .loanAmounts(List.of(new BigDecimal("1000.00")))
+                .interestRates(List.of(new BigDecimal("5.0"), new BigDecimal("6.0")))
+                .numberOfPayments(List.of(12))
+                .payments(List.of(new BigDecimal("85.61"), new BigDecimal("86.07")))
+                .totalPayments(List.of(new BigDecimal("1027.32"), new BigDecimal("1032.84")))
+                .totalInterests(List.of(new BigDecimal("27.32"), new BigDecimal("32.84")))
+                .build();
+        Mockito.when(pricingGridCalculator.calculate(any())).thenReturn(grid);
+
+        // Act & Assert
+        mockMvc.perform(post(ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"loanAmounts": {"values": [1000.00]},
+                                 "interestRates": {"from": 5.0, "to": 6.0, "step": 1.0},
+                                 "numberOfPayments": {"values": [12]}}"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payments[1]").value(86.07))
+                .andExpect(jsonPath("$.totalInterests.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("Controller Test: Oversized Grid Is Rejected")
+    void calculatePricingGrid_TooManyCells() throws Exception {
+        Mockito.when(pricingGridCalculator.calculate(any()))
+                .thenThrow(new InvalidLoanParametersException("Pricing grid must not have more than 250000 cells, got 300000"));
+
+        mockMvc.perform(post(ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"loanAmounts": {"from": 1, "to": 300000, "step": 1},
+                                 "interestRates": {"values": [5.0]},
+                                 "numberOfPayments": {"values": [12]}}"""))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,62 @@
+package com.kuzminac.loan_service.loan_calculator.controller;
+
+import com.kuzminac.loan_service.loan_calculator.service.engine.AnnuityFactorTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(RateSheetController.class)
+@Import(SimpleMeterRegistry.class)
+class RateSheetControllerTest {
+
+    private static final String ENDPOINT = "/api/v1/rate-sheet";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AnnuityFactorTable annuityFactorTable;
+
+    @Test
+    @DisplayName("Controller Test: Replace Rate Sheet")
+    void replaceRateSheet_Success() throws Exception {
+        // Arrange
+        Mockito.when(annuityFactorTable.getAnnualRates()).thenReturn(List.of(new BigDecimal("4.875"), new BigDecimal("5.5")));
+        Mockito.when(annuityFactorTable.getMaxTerm()).thenReturn(600);
+
+        // Act & Assert
+        mockMvc.perform(put(ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"annualRates\": [5.5, 4.875]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.annualRates.length()").value(2))
+                .andExpect(jsonPath("$.maxTerm").value(600));
+        Mockito.verify(annuityFactorTable).load(List.of(new BigDecimal("5.5"), new BigDecimal("4.875")));
+    }
+
+    @Test
+    @DisplayName("Controller Test: Negative Rate Is Rejected")
+    void replaceRateSheet_ValidationFailure() throws Exception {
+        mockMvc.perform(put(ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"annualRates\": [5.5, -1]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation Failed"));
+        Mockito.verify(annuityFactorTable, Mockito.never()).load(any());
+    }
+}
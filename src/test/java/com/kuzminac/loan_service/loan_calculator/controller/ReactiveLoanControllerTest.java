@@ -0,0 +1,171 @@
+package com.kuzminac.loan_service.loan_calculator.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanRequestDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanResponseDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.exception.LoanNotFoundException;
+import com.kuzminac.loan_service.loan_calculator.service.ReactiveLoanService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+@WebFluxTest(ReactiveLoanController.class)
+@ActiveProfiles("reactive")
+@Import(SimpleMeterRegistry.class)
+class ReactiveLoanControllerTest {
+
+    private static final String ENDPOINT = "/api/v1/loans/calculate";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveLoanService loanService;
+
+    private final LoanRequestDTO requestDTO = LoanRequestDTO.builder()
+            .loanAmount(new BigDecimal("1000.00"))
+            .interestRate(new BigDecimal("5.0"))
+            .numberOfPayments(2)
+            .build();
+
+    private final LoanResponseDTO summary = LoanResponseDTO.builder()
+            .loanId(1L)
+            .loanAmount(new BigDecimal("1000.00"))
+            .interestRate(new BigDecimal("5.0"))
+            .numberOfPayments(2)
+            .totalPayment(new BigDecimal("1006.26"))
+            .totalInterest(new BigDecimal("6.26"))
+            .build();
+
+    @Test
+    @DisplayName("Reactive Controller Test: Successful Loan Calculation")
+    void calculateLoan_Success() {
+        Mockito.when(loanService.calculateLoan(any(LoanRequestDTO.class), eq(false))).thenReturn(Mono.just(summary));
+
+        webTestClient.post().uri(ENDPOINT + "?include=summary")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.ALL)
+                .bodyValue(requestDTO)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.loanId").isEqualTo(1)
+                .jsonPath("$.totalPayment").isEqualTo(1006.26)
+                .jsonPath("$.paymentSchedule").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Reactive Controller Test: Loan Calculation as Columnar CBOR")
+    void calculateLoan_Cbor() throws Exception {
+        LoanResponseDTO responseDTO = LoanResponseDTO.builder()
+                .loanId(1L)
+                .loanAmount(summary.getLoanAmount())
+                .interestRate(summary.getInterestRate())
+                .numberOfPayments(2)
+                .totalPayment(summary.getTotalPayment())
+                .totalInterest(summary.getTotalInterest())
+                .paymentSchedule(List.of(
+                        new PaymentScheduleDTO(1, new BigDecimal("503.13"), new BigDecimal("498.96"), new BigDecimal("4.17"), new BigDecimal("501.04")),
+                        new PaymentScheduleDTO(2, new BigDecimal("503.13"), new BigDecimal("501.04"), new BigDecimal("2.09"), new BigDecimal("0.00"))))
+                .build();
+        Mockito.when(loanService.calculateLoan(any(LoanRequestDTO.class), eq(true))).thenReturn(Mono.just(responseDTO));
+
+        byte[] body = webTestClient.post().uri(ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_CBOR)
+                .bodyValue(requestDTO)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        JsonNode loan = new CBORMapper().readTree(body);
+        assertThat(loan.get("loanId").asLong()).isEqualTo(1L);
+        assertThat(loan.get("totalInterest").decimalValue()).isEqualByComparingTo("6.26");
+        assertThat(loan.get("paymentSchedule").get("principalAmount")).extracting(JsonNode::asLong).containsExactly(49896L, 50104L);
+    }
+
+    @Test
+    @DisplayName("Reactive Controller Test: Validation Failure")
+    void calculateLoan_ValidationFailure() {
+        webTestClient.post().uri(ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(LoanRequestDTO.builder().loanAmount(new BigDecimal("-1000.00")).interestRate(new BigDecimal("5.0")).numberOfPayments(0).build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Validation Failed")
+                .jsonPath("$.path").isEqualTo(ENDPOINT)
+                .jsonPath("$.details.length()").isEqualTo(2);
+        Mockito.verifyNoInteractions(loanService);
+    }
+
+    @Test
+    @DisplayName("Reactive Controller Test: Streamed Loan Calculation")
+    void calculateLoan_Ndjson() {
+        Mockito.when(loanService.calculateLoan(any(LoanRequestDTO.class), eq(false))).thenReturn(Mono.just(summary));
+        Mockito.when(loanService.generatePaymentSchedule(any(LoanRequestDTO.class))).thenReturn(Flux.just(
+                period(1, "503.13", "498.96", "4.17", "501.04"),
+                period(2, "503.13", "501.04", "2.09", "0.00")));
+
+        String body = webTestClient.post().uri(ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(requestDTO)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(body).hasLineCount(3);
+        assertThat(body.lines().toList().get(0)).contains("\"loanId\":1");
+        assertThat(body.lines().toList().get(2)).isEqualTo(
+                "{\"period\":2,\"payment\":503.13,\"principalAmount\":501.04,\"interestAmount\":2.09,\"balanceOwed\":0.00}");
+    }
+
+    @Test
+    @DisplayName("Reactive Controller Test: Payment Schedule of Unknown Loan")
+    void getPaymentSchedule_NotFound() {
+        Mockito.when(loanService.getPaymentSchedule(99L, 1, null)).thenReturn(Mono.error(new LoanNotFoundException(99L)));
+
+        webTestClient.get().uri("/api/v1/loans/99/schedule")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Loan Not Found");
+    }
+
+    private static PaymentScheduleDTO period(int period, String payment, String principal, String interest, String balance) {
+        return PaymentScheduleDTO.builder()
+                .period(period)
+                .payment(new BigDecimal(payment))
+                .principalAmount(new BigDecimal(principal))
+                .interestAmount(new BigDecimal(interest))
+                .balanceOwed(new BigDecimal(balance))
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.kuzminac.loan_service.loan_calculator.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaymentScheduleTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final PaymentSchedule schedule = new PaymentSchedule(
+            new int[]{1, 2, 3, 0},
+            new long[]{33611, 33611, 33611, 0},
+            new long[]{33194, 5, 92233720368547758L, 0},
+            new long[]{417, 0, -7, 0},
+            new long[]{66806, 100, 0, 0},
+            3);
+
+    @Test
+    @DisplayName("Test Columnar Schedule Serializes Like a List of Rows")
+    void serialize_SameJsonAsRows() throws Exception {
+        List<PaymentScheduleDTO> rows = List.of(
+                new PaymentScheduleDTO(1, new BigDecimal("336.11"), new BigDecimal("331.94"), new BigDecimal("4.17"), new BigDecimal("668.06")),
+                new PaymentScheduleDTO(2, new BigDecimal("336.11"), new BigDecimal("0.05"), new BigDecimal("0.00"), new BigDecimal("1.00")),
+                new PaymentScheduleDTO(3, new BigDecimal("336.11"), new BigDecimal("922337203685477.58"), new BigDecimal("-0.07"), new BigDecimal("0.00")));
+        LoanResponseDTO columnar = LoanResponseDTO.builder().loanId(1L).paymentSchedule(schedule).build();
+        LoanResponseDTO rowWise = LoanResponseDTO.builder().loanId(1L).paymentSchedule(rows).build();
+
+        assertThat(objectMapper.writeValueAsString(columnar)).isEqualTo(objectMapper.writeValueAsString(rowWise));
+    }
+
+    @Test
+    @DisplayName("Test Columnar Schedule Writes Numbers to CBOR")
+    void serialize_Cbor() throws Exception {
+        CBORMapper cborMapper = new CBORMapper();
+
+        JsonNode periods = cborMapper.readTree(cborMapper.writeValueAsBytes(schedule));
+
+        assertThat(periods).hasSize(3);
+        assertThat(periods.get(0).get("period").isInt()).isTrue();
+        for (String amount : List.of("payment", "principalAmount", "interestAmount", "balanceOwed")) {
+            assertThat(periods).allSatisfy(period -> assertThat(period.get(amount).isNumber()).as(amount).isTrue());
+        }
+        assertThat(periods.get(0).get("payment").decimalValue()).isEqualTo(new BigDecimal("336.11"));
+        assertThat(periods.get(2).get("principalAmount").decimalValue()).isEqualTo(new BigDecimal("922337203685477.58"));
+        assertThat(periods.get(2).get("interestAmount").decimalValue()).isEqualTo(new BigDecimal("-0.07"));
+    }
+
+    @Test
+    @DisplayName("Test Lazy Schedule Is Generated Once and Serialized Like Its Columns")
+    void serialize_LazySchedule() throws Exception {
+        AtomicInteger generated = new AtomicInteger();
+        LazyPaymentSchedule lazy = new LazyPaymentSchedule(3, () -> {
+            generated.incrementAndGet();
+            return schedule;
+        });
+
+        assertThat(lazy).hasSize(3);
+        assertThat(lazy.isResolved()).isFalse();
+        assertThat(objectMapper.writeValueAsString(lazy)).isEqualTo(objectMapper.writeValueAsString(schedule));
+        assertThat(lazy.get(0).getPeriod()).isEqualTo(1);
+        assertThat(generated).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Test Rows Are Created From the Columns on Access")
+    void get_CreatesRow() {
+        assertThat(schedule).hasSize(3);
+        PaymentScheduleDTO row = schedule.get(1);
+        assertThat(row.getPeriod()).isEqualTo(2);
+        assertThat(row.getPrincipalAmount()).isEqualTo(new BigDecimal("0.05"));
+        assertThat(row.getBalanceOwed()).isEqualTo(new BigDecimal("1.00"));
+        assertThatThrownBy(() -> schedule.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> schedule.add(row)).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
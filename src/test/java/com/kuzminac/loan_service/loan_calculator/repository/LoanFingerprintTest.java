@@ -0,0 +1,31 @@
+package com.kuzminac.loan_service.loan_calculator.repository;
+
+import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoanFingerprintTest {
+
+    @Test
+    @DisplayName("Test Inputs Compare by Value but Are Not Rounded")
+    void fingerprint() {
+        assertThat(LoanFingerprint.of(loan("1000.00", "5.5", 360))).isEqualTo(LoanFingerprint.of(loan("1000", "5.50", 360)));
+
+        assertThat(LoanFingerprint.of(loan("1000.00", "5.5", 360)))
+                .isNotEqualTo(LoanFingerprint.of(loan("1000.00", "5.5", 180)))
+                .isNotEqualTo(LoanFingerprint.of(loan("1000.00", "5.50001", 360)))
+                .isNotEqualTo(LoanFingerprint.of(loan("1000.001", "5.5", 360)));
+    }
+
+    private static Loan loan(String amount, String rate, int numberOfPayments) {
+        return Loan.builder()
+                .loanAmount(new BigDecimal(amount))
+                .interestRate(new BigDecimal(rate))
+                .numberOfPayments(numberOfPayments)
+                .build();
+    }
+}
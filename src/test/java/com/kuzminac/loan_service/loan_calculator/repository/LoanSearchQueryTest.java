@@ -0,0 +1,38 @@
+package com.kuzminac.loan_service.loan_calculator.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class LoanSearchQueryTest {
+
+    @Test
+    @DisplayName("Test First Page Without Filters")
+    void firstPage() {
+        LoanSearchQuery query = new LoanSearchQuery(new LoanSearchCriteria(null, null, null, null, null, null), null, 51);
+
+        assertThat(query.sql()).isEqualTo("SELECT id, loan_amount, interest_rate, number_of_payments, total_payment, total_interest, created_at"
+                + " FROM loans ORDER BY created_at DESC, id DESC LIMIT :limit");
+        assertThat(query.parameters()).containsExactly(entry("limit", 51));
+    }
+
+    @Test
+    @DisplayName("Test Only the Given Bounds Are Applied, Plus the Keyset")
+    void filteredNextPage() {
+        LocalDateTime createdAt = LocalDateTime.parse("2026-10-17T10:15:30");
+        LoanSearchCriteria criteria = new LoanSearchCriteria(new BigDecimal("100000"), null, null, new BigDecimal("6.5"), 360, 360);
+
+        LoanSearchQuery query = new LoanSearchQuery(criteria, new LoanKeyset(createdAt, 42L), 11);
+
+        assertThat(query.sql()).endsWith(" FROM loans WHERE loan_amount >= :minAmount AND interest_rate <= :maxRate"
+                + " AND number_of_payments >= :minTerm AND number_of_payments <= :maxTerm"
+                + " AND (created_at, id) < (:afterCreatedAt, :afterId) ORDER BY created_at DESC, id DESC LIMIT :limit");
+        assertThat(query.parameters()).containsOnly(entry("minAmount", new BigDecimal("100000")), entry("maxRate", new BigDecimal("6.5")),
+                entry("minTerm", 360), entry("maxTerm", 360), entry("afterCreatedAt", createdAt), entry("afterId", 42L), entry("limit", 11));
+    }
+}
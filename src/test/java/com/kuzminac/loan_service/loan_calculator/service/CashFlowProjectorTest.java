@@ -0,0 +1,140 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.config.CalculationProperties;
+import com.kuzminac.loan_service.loan_calculator.dto.CashFlowMonthDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.CashFlowProjectionDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanCashFlowRepository;
+import com.kuzminac.loan_service.loan_calculator.service.engine.BigDecimalAmortizationEngine;
+import com.kuzminac.loan_service.loan_calculator.service.engine.FixedPointAmortizationEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+
+class CashFlowProjectorTest {
+
+    private static final YearMonth FROM_MONTH = YearMonth.of(2026, 11);
+
+    private final LoanCalculator loanCalculator = new LoanCalculator(
+            new FixedPointAmortizationEngine(new BigDecimalAmortizationEngine()), null, null);
+    private final LoanCashFlowRepository cashFlowRepository = Mockito.mock(LoanCashFlowRepository.class);
+    private final CalculationProperties properties = new CalculationProperties();
+    private final BatchCalculationExecutor batchExecutor;
+    private final CashFlowProjector projector;
+
+    CashFlowProjectorTest() {
+        // A small queue, so some chunks run on the reading thread
+        properties.getBatch().setParallelism(3);
+        properties.getBatch().setQueueCapacity(2);
+        batchExecutor = new BatchCalculationExecutor(properties);
+        projector = new CashFlowProjector(cashFlowRepository, loanCalculator, batchExecutor, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchExecutor.destroy();
+    }
+
+    @Test
+    @DisplayName("Test Projection Equals the Schedules Summed by Month")
+    void project_MatchesSummedSchedules() {
+        // Arrange: several chunks of loans created up to 40 years ago, some paid off, and one created next month
+        List<Loan> loans = new ArrayList<>();
+        for (int i = 0; i < CashFlowProjector.CHUNK_SIZE * 2 + 517; i++) {
+            loans.add(loan(1000 + i * 113 + "." + i % 100, i % 13 + ".125", 1 + i * 7 % 480,
+                    FROM_MONTH.atDay(1).atStartOfDay().minusMonths(i % 480).minusHours(i % 50)));
+        }
+        loans.add(loan("5000.00", "4.0", 12, LocalDateTime.of(2020, 1, 15, 10, 0)));
+        loans.add(loan("7500.00", "0", 3, LocalDateTime.of(2026, 11, 2, 8, 30)));
+        stream(loans);
+
+        // Act
+        CashFlowProjectionDTO projection = projector.project(FROM_MONTH);
+
+        // Assert
+        TreeMap<YearMonth, CashFlowMonthDTO> expected = new TreeMap<>();
+        long outstanding = 0;
+        for (Loan loan : loans) {
+            BigDecimal monthlyRate = loanCalculator.calculateMonthlyInterestRate(loan.getInterestRate());
+            BigDecimal payment = loanCalculator.calculateMonthlyPayment(loan.getLoanAmount(), monthlyRate, loan.getNumberOfPayments());
+            boolean due = false;
+            for (PaymentScheduleDTO period : loanCalculator.generatePaymentSchedule(loan.getLoanAmount(), monthlyRate,
+                    loan.getNumberOfPayments(), payment)) {
+                YearMonth month = YearMonth.from(loan.getCreatedAt()).plusMonths(period.getPeriod());
+                if (month.isBefore(FROM_MONTH)) {
+                    continue;
+                }
+                due = true;
+                CashFlowMonthDTO total = expected.computeIfAbsent(month, m -> new CashFlowMonthDTO(m, 0,
+                        BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO));
+                total.setPayments(total.getPayments() + 1);
+                total.setPayment(total.getPayment().add(period.getPayment()));
+                total.setPrincipalAmount(total.getPrincipalAmount().add(period.getPrincipalAmount()));
+                total.setInterestAmount(total.getInterestAmount().add(period.getInterestAmount()));
+            }
+            outstanding += due ? 1 : 0;
+        }
+        assertThat(projection.getFromMonth()).isEqualTo(FROM_MONTH);
+        assertThat(outstanding).isBetween((long) CashFlowProjector.CHUNK_SIZE, loans.size() - 1L);
+        assertThat(projection.getLoans()).isEqualTo(outstanding);
+        assertThat(projection.getMonths()).hasSize((int) FROM_MONTH.until(expected.lastKey(), ChronoUnit.MONTHS) + 1);
+        assertThat(projection.getMonths()).filteredOn(month -> month.getPayments() > 0)
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(expected.values());
+        assertThat(projection.getTotalPrincipal()).isEqualByComparingTo(sum(expected, CashFlowMonthDTO::getPrincipalAmount));
+        assertThat(projection.getTotalInterest()).isEqualByComparingTo(sum(expected, CashFlowMonthDTO::getInterestAmount));
+        assertThat(projection.getTotalPayment()).isEqualByComparingTo(sum(expected, CashFlowMonthDTO::getPayment));
+        Mockito.verify(cashFlowRepository).forEachOutstanding(eq(LocalDateTime.of(2026, 11, 1, 0, 0)),
+                eq(properties.getCashFlow().getFetchSize()), any());
+    }
+
+    @Test
+    @DisplayName("Test Empty Portfolio Projects No Months")
+    void project_NoLoans() {
+        stream(List.of());
+
+        CashFlowProjectionDTO projection = projector.project(FROM_MONTH);
+
+        assertThat(projection.getLoans()).isZero();
+        assertThat(projection.getMonths()).isEmpty();
+        assertThat(projection.getTotalPayment()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    private void stream(List<Loan> loans) {
+        Mockito.doAnswer(invocation -> {
+            Consumer<Loan> action = invocation.getArgument(2);
+            loans.forEach(action);
+            return null;
+        }).when(cashFlowRepository).forEachOutstanding(any(), anyInt(), any());
+    }
+
+    private static BigDecimal sum(TreeMap<YearMonth, CashFlowMonthDTO> months, Function<CashFlowMonthDTO, BigDecimal> amount) {
+        return months.values().stream().map(amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static Loan loan(String loanAmount, String interestRate, int numberOfPayments, LocalDateTime createdAt) {
+        return Loan.builder()
+                .loanAmount(new BigDecimal(loanAmount))
+                .interestRate(new BigDecimal(interestRate))
+                .numberOfPayments(numberOfPayments)
+                .createdAt(createdAt)
+                .build();
+    }
+}
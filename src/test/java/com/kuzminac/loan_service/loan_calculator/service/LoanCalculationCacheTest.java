@@ -0,0 +1,75 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.config.CalculationProperties;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentScheduleDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoanCalculationCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger calculations = new AtomicInteger();
+
+    @Test
+    @DisplayName("Test Amounts Differing Only in Scale Share an Entry")
+    void get_ScaleIndependentKey() {
+        LoanCalculationCache cache = new LoanCalculationCache(new CalculationProperties(), meterRegistry);
+
+        CalculatedLoan first = cache.get(new BigDecimal("10000"), new BigDecimal("5.5"), 36, false, this::summary);
+        CalculatedLoan second = cache.get(new BigDecimal("10000.00"), new BigDecimal("5.50"), 36, false, this::summary);
+
+        assertThat(second).isSameAs(first);
+        assertThat(calculations).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "loan.calculations").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "loan.calculations").tag("result", "miss").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test Summary and Full Results Are Cached Separately")
+    void get_ScheduleIsPartOfTheKey() {
+        LoanCalculationCache cache = new LoanCalculationCache(new CalculationProperties(), meterRegistry);
+
+        cache.get(new BigDecimal("10000"), new BigDecimal("5.5"), 36, false, this::summary);
+        CalculatedLoan full = cache.get(new BigDecimal("10000"), new BigDecimal("5.5"), 36, true, this::withSchedule);
+
+        assertThat(full.schedule()).hasSize(1);
+        assertThat(calculations).hasValue(2);
+        assertThatThrownBy(() -> full.schedule().clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Test Disabled Cache Always Calculates")
+    void get_Disabled() {
+        CalculationProperties properties = new CalculationProperties();
+        properties.getCache().setEnabled(false);
+        LoanCalculationCache cache = new LoanCalculationCache(properties, meterRegistry);
+
+        cache.get(new BigDecimal("10000"), new BigDecimal("5.5"), 36, false, this::summary);
+        cache.get(new BigDecimal("10000"), new BigDecimal("5.5"), 36, false, this::summary);
+
+        assertThat(calculations).hasValue(2);
+    }
+
+    private CalculatedLoan summary() {
+        calculations.incrementAndGet();
+        return new CalculatedLoan(new BigDecimal("10870.20"), new BigDecimal("870.20"), null);
+    }
+
+    private CalculatedLoan withSchedule() {
+        calculations.incrementAndGet();
+        List<PaymentScheduleDTO> schedule = new ArrayList<>();
+        schedule.add(PaymentScheduleDTO.builder().period(1).build());
+        return new CalculatedLoan(new BigDecimal("10870.20"), new BigDecimal("870.20"), schedule);
+    }
+}
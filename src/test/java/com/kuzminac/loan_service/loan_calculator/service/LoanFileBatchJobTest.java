@@ -0,0 +1,188 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.service.engine.BigDecimalAmortizationEngine;
+import com.kuzminac.loan_service.loan_calculator.service.engine.FixedPointAmortizationEngine;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoanFileBatchJobTest {
+
+    private final LoanCalculator loanCalculator = new LoanCalculator(
+            new FixedPointAmortizationEngine(new BigDecimalAmortizationEngine()), null, null);
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @TempDir
+    private Path directory;
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Totals come out in input order, invalid rows as rejected records")
+    void totals_InInputOrder() throws IOException {
+        // Arrange: columns in another order plus an unused one, CRLF line ends, and chunks of a few lines
+        StringBuilder csv = new StringBuilder("numberOfPayments,branch,id,interestRate,loanAmount\r\n");
+        for (int i = 0; i < 300; i++) {
+            csv.append(12 + i % 348).append(",north,L").append(i).append(',').append(i % 10).append(".25,")
+                    .append(1000 + i * 37).append(".50\r\n");
+        }
+        csv.append("12,north,bad-amount,5.0,abc\r\n")
+                .append("12,north,zero-amount,5.0,0\r\n")
+                .append("12,north,too-few-fields\r\n")
+                .append("\r\n");
+        Path input = write(csv.toString());
+        Path output = directory.resolve("loans.bin");
+
+        // Act
+        LoanFileBatchJob.Result result = new LoanFileBatchJob(loanCalculator, validator, false, 64, 100)
+                .run(input, output, pool);
+
+        // Assert
+        assertThat(result.rows()).isEqualTo(303);
+        assertThat(result.rejected()).isEqualTo(3);
+        Decoder decoder = new Decoder(Files.readAllBytes(output));
+        assertThat(decoder.flags()).isZero();
+        for (int i = 0; i < 300; i++) {
+            BigDecimal principal = new BigDecimal((1000 + i * 37) + ".50");
+            int numberOfPayments = 12 + i % 348;
+            BigDecimal payment = loanCalculator.calculateMonthlyPayment(principal,
+                    loanCalculator.calculateMonthlyInterestRate(new BigDecimal(i % 10 + ".25")), numberOfPayments);
+            BigDecimal totalPayment = LoanCalculator.totalPayment(payment, numberOfPayments);
+
+            assertThat(decoder.string()).isEqualTo("L" + i);
+            assertThat(decoder.status()).isEqualTo(LoanFileBatchJob.CALCULATED);
+            assertThat(decoder.amount()).isEqualByComparingTo(payment);
+            assertThat(decoder.amount()).isEqualByComparingTo(totalPayment);
+            assertThat(decoder.amount()).isEqualByComparingTo(LoanCalculator.totalInterest(totalPayment, principal));
+        }
+        assertThat(List.of(decoder.string(), decoder.status(), decoder.string()))
+                .containsExactly("bad-amount", LoanFileBatchJob.REJECTED,
+                        "Loan amount and interest rate must be numbers and number of payments a whole number");
+        assertThat(List.of(decoder.string(), decoder.status(), decoder.string()))
+                .containsExactly("zero-amount", LoanFileBatchJob.REJECTED, "Field 'loanAmount' Loan amount must be greater than 0");
+        assertThat(List.of(decoder.string(), decoder.status(), decoder.string()))
+                .containsExactly("too-few-fields", LoanFileBatchJob.REJECTED, "Row has 3 fields, the header 5");
+        assertThat(decoder.remaining()).isZero();
+        assertThat(Files.list(directory)).containsExactlyInAnyOrder(input, output);
+    }
+
+    @Test
+    @DisplayName("Schedules match the ones calculate returns")
+    void schedules_MatchCalculate() throws IOException {
+        // Arrange
+        Path input = write("id,loanAmount,interestRate,numberOfPayments\nA,250000.00,6.5,360\nB,1000,0,7");
+        Path output = directory.resolve("schedules.bin");
+
+        // Act
+        new LoanFileBatchJob(loanCalculator, validator, true, 16, 100).run(input, output, pool);
+
+        // Assert
+        Decoder decoder = new Decoder(Files.readAllBytes(output));
+        assertThat(decoder.flags()).isEqualTo(1);
+        for (String[] loan : List.of(new String[]{"A", "250000.00", "6.5", "360"}, new String[]{"B", "1000", "0", "7"})) {
+            BigDecimal principal = new BigDecimal(loan[1]);
+            int numberOfPayments = Integer.parseInt(loan[3]);
+            BigDecimal monthlyInterestRate = loanCalculator.calculateMonthlyInterestRate(new BigDecimal(loan[2]));
+            List<PaymentScheduleDTO> expected = loanCalculator.generatePaymentSchedule(principal, monthlyInterestRate,
+                    numberOfPayments, loanCalculator.calculateMonthlyPayment(principal, monthlyInterestRate, numberOfPayments));
+
+            assertThat(decoder.string()).isEqualTo(loan[0]);
+            assertThat(decoder.status()).isEqualTo(LoanFileBatchJob.CALCULATED);
+            decoder.amount();
+            decoder.amount();
+            decoder.amount();
+            assertThat(decoder.number()).isEqualTo(numberOfPayments);
+            List<PaymentScheduleDTO> schedule = new ArrayList<>();
+            for (int period = 1; period <= numberOfPayments; period++) {
+                schedule.add(PaymentScheduleDTO.builder().period(period).payment(decoder.amount()).principalAmount(decoder.amount())
+                        .interestAmount(decoder.amount()).balanceOwed(decoder.amount()).build());
+            }
+            assertThat(schedule).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(expected);
+        }
+        assertThat(decoder.remaining()).isZero();
+    }
+
+    @Test
+    @DisplayName("Header without the required columns fails the job")
+    void header_MissingColumns() throws IOException {
+        Path input = write("id,amount,rate,term\nA,1000,5,12\n");
+
+        assertThatThrownBy(() -> new LoanFileBatchJob(loanCalculator, validator, false, 1024, 100)
+                .run(input, directory.resolve("loans.bin"), pool))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Batch file header must name the columns id, loanAmount, interestRate, numberOfPayments");
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(directory.resolve("loans.csv"), content);
+    }
+
+    /**
+     * Reads the output format back.
+     */
+    private static final class Decoder {
+
+        private final ByteBuffer buffer;
+
+        Decoder(byte[] bytes) {
+            assertThat(Arrays.copyOf(bytes, LoanFileBatchJob.MAGIC.length)).isEqualTo(LoanFileBatchJob.MAGIC);
+            buffer = ByteBuffer.wrap(bytes, LoanFileBatchJob.MAGIC.length, bytes.length - LoanFileBatchJob.MAGIC.length);
+        }
+
+        int flags() {
+            return buffer.get();
+        }
+
+        byte status() {
+            return buffer.get();
+        }
+
+        long number() {
+            long zigzag = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get();
+                zigzag |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        BigDecimal amount() {
+            return BigDecimal.valueOf(number(), 2);
+        }
+
+        String string() {
+            byte[] utf8 = new byte[(int) number()];
+            buffer.get(utf8);
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        int remaining() {
+            return buffer.remaining();
+        }
+    }
+}
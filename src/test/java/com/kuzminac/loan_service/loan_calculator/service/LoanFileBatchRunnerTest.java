@@ -0,0 +1,60 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the batch profile without any database around; migrations or a connection attempt would fail the startup.
+ */
+@SpringBootTest
+@ActiveProfiles("batch")
+class LoanFileBatchRunnerTest {
+
+    private static final Path DIRECTORY = createDirectory();
+
+    @Autowired
+    private ApplicationContext context;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) throws IOException {
+        Path input = Files.writeString(DIRECTORY.resolve("loans.csv"), "id,loanAmount,interestRate,numberOfPayments\nA,1000,5,3\n");
+        registry.add("app.batch-file.input", input::toString);
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(DIRECTORY);
+    }
+
+    @Test
+    @DisplayName("Batch profile writes the output file without a database")
+    void run_WithoutDatabase() {
+        assertThat(DIRECTORY.resolve("loans.csv.bin")).isNotEmptyFile();
+        assertThat(context.getBeanNamesForType(DataSource.class)).isEmpty();
+        assertThat(context.getBeanNamesForType(LoanService.class)).isEmpty();
+    }
+
+    private static Path createDirectory() {
+        try {
+            return Files.createTempDirectory("loan-batch");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
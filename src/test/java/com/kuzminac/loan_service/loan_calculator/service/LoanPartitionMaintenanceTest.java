@@ -0,0 +1,174 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.config.PersistenceProperties;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanPartitionRepository;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanPartitionRepository.LoanPartition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LoanPartitionMaintenanceTest {
+
+    private static final YearMonth CURRENT_MONTH = YearMonth.of(2026, 10);
+
+    @Mock
+    private LoanPartitionRepository loanPartitionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path archiveDirectory;
+
+    private final PersistenceProperties persistenceProperties = new PersistenceProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoanPartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        persistenceProperties.getPartitions().setMonthsAhead(2);
+        persistenceProperties.getPartitions().setArchiveDirectory(archiveDirectory);
+        maintenance = new LoanPartitionMaintenance(loanPartitionRepository, transactionManager, persistenceProperties, meterRegistry);
+        when(loanPartitionRepository.tryLock()).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Test Missing Months Up To Months-Ahead Are Created, Nothing Archived Without Retention")
+    void maintain_CreatesPartitions() {
+        // Arrange
+        when(loanPartitionRepository.findAll()).thenReturn(List.of(
+                new LoanPartition(YearMonth.of(2020, 1), true), new LoanPartition(CURRENT_MONTH, true)));
+
+        // Act
+        maintenance.maintain(CURRENT_MONTH);
+
+        // Assert
+        verify(loanPartitionRepository).create(YearMonth.of(2026, 11));
+        verify(loanPartitionRepository).create(YearMonth.of(2026, 12));
+        verify(loanPartitionRepository, never()).create(CURRENT_MONTH);
+        verify(loanPartitionRepository, never()).create(YearMonth.of(2027, 1));
+        verify(loanPartitionRepository, never()).detach(any());
+    }
+
+    @Test
+    @DisplayName("Test Expired Partition Is Detached, Written to Gzipped Files and Dropped")
+    void maintain_ArchivesExpiredPartitions() throws IOException {
+        // Arrange: 2025-09 is the oldest month kept with a retention of 13 months
+        persistenceProperties.getPartitions().setRetentionMonths(13);
+        YearMonth expired = YearMonth.of(2025, 8);
+        List<LoanPartition> attached = List.of(new LoanPartition(expired, true), new LoanPartition(YearMonth.of(2025, 9), true),
+                new LoanPartition(CURRENT_MONTH, true), new LoanPartition(YearMonth.of(2026, 11), true),
+                new LoanPartition(YearMonth.of(2026, 12), true));
+        List<LoanPartition> detached = List.of(new LoanPartition(expired, false));
+        findAllReturns(attached, 3, detached);
+        when(loanPartitionRepository.exportLoans(eq(expired), any())).thenAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("id\n1\n2\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+        when(loanPartitionRepository.exportSchedules(eq(expired), any())).thenReturn(0L);
+
+        // Act
+        maintenance.maintain(CURRENT_MONTH);
+
+        // Assert
+        var order = inOrder(loanPartitionRepository);
+        order.verify(loanPartitionRepository).detach(expired);
+        order.verify(loanPartitionRepository).exportLoans(eq(expired), any());
+        order.verify(loanPartitionRepository).drop(expired);
+        verify(loanPartitionRepository, never()).detach(YearMonth.of(2025, 9));
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(archiveDirectory.resolve("loans_2025_08.csv.gz")))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("id\n1\n2\n");
+        }
+        assertThat(archiveDirectory.resolve("loan_schedule_2025_08.csv.gz")).exists();
+        assertThat(meterRegistry.get("loans.archived").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test Partition Is Not Dropped When Writing the Archive Fails")
+    void maintain_KeepsPartitionWhenExportFails() {
+        // Arrange: left detached by an earlier run
+        persistenceProperties.getPartitions().setRetentionMonths(1);
+        YearMonth expired = YearMonth.of(2026, 1);
+        when(loanPartitionRepository.findAll()).thenReturn(List.of(new LoanPartition(expired, false),
+                new LoanPartition(CURRENT_MONTH, true), new LoanPartition(YearMonth.of(2026, 11), true),
+                new LoanPartition(YearMonth.of(2026, 12), true)));
+        when(loanPartitionRepository.exportLoans(eq(expired), any())).thenThrow(new IllegalStateException("connection lost"));
+
+        // Act
+        maintenance.maintain(CURRENT_MONTH);
+
+        // Assert
+        verify(loanPartitionRepository, never()).detach(any());
+        verify(loanPartitionRepository, never()).drop(any());
+        assertThat(archiveDirectory.resolve("loans_2026_01.csv.gz")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Test Detach Waiting Longer Than the Lock Timeout Is Retried on the Next Run")
+    void maintain_RetriesDetachAfterLockTimeout() {
+        // Arrange: the first detach gives up behind a long reader of loans, the second one gets the lock
+        persistenceProperties.getPartitions().setRetentionMonths(1);
+        YearMonth expired = YearMonth.of(2026, 1);
+        List<LoanPartition> attached = List.of(new LoanPartition(expired, true), new LoanPartition(CURRENT_MONTH, true),
+                new LoanPartition(YearMonth.of(2026, 11), true), new LoanPartition(YearMonth.of(2026, 12), true));
+        List<LoanPartition> detached = List.of(new LoanPartition(expired, false));
+        findAllReturns(attached, 6, detached);
+        doThrow(new CannotAcquireLockException("canceling statement due to lock timeout"))
+                .doNothing()
+                .when(loanPartitionRepository).detach(expired);
+
+        // Act
+        maintenance.maintain(CURRENT_MONTH);
+
+        // Assert: nothing exported or dropped while the partition is still attached
+        verify(loanPartitionRepository).setLockTimeout(Duration.ofSeconds(2));
+        verify(loanPartitionRepository, never()).exportLoans(any(), any());
+        verify(loanPartitionRepository, never()).drop(any());
+
+        // Act: the next run
+        maintenance.maintain(CURRENT_MONTH);
+
+        // Assert
+        verify(loanPartitionRepository, times(2)).detach(expired);
+        verify(loanPartitionRepository).drop(expired);
+        assertThat(archiveDirectory.resolve("loans_2026_01.csv.gz")).exists();
+    }
+
+    private void findAllReturns(List<LoanPartition> partitions, int times, List<LoanPartition> afterwards) {
+        OngoingStubbing<List<LoanPartition>> stubbing = when(loanPartitionRepository.findAll());
+        for (int i = 0; i < times; i++) {
+            stubbing = stubbing.thenReturn(partitions);
+        }
+        stubbing.thenReturn(afterwards);
+    }
+}
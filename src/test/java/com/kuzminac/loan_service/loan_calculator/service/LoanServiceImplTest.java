@@ -1,11 +1,35 @@
 // src/test/java/com/kuzminac/loan_service/loan_calculator/service/LoanServiceImplTest.java
 package com.kuzminac.loan_service.loan_calculator.service;
 
+import com.kuzminac.loan_service.loan_calculator.config.CalculationProperties;
+import com.kuzminac.loan_service.loan_calculator.config.PersistenceProperties;
+import com.kuzminac.loan_service.loan_calculator.dto.LazyPaymentSchedule;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanBatchItemDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanPageDTO;
 import com.kuzminac.loan_service.loan_calculator.dto.LoanRequestDTO;
 import com.kuzminac.loan_service.loan_calculator.dto.LoanResponseDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanSummaryDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedule;
 import com.kuzminac.loan_service.loan_calculator.dto.PaymentScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedulePageDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.RecalculatedScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.ScheduleEventDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.ScheduleRecalculationRequestDTO;
 import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+import com.kuzminac.loan_service.loan_calculator.exception.InvalidLoanParametersException;
+import com.kuzminac.loan_service.loan_calculator.exception.LoanNotFoundException;
 import com.kuzminac.loan_service.loan_calculator.repository.LoanRepository;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanKeyset;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanScheduleRepository;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanSearchCriteria;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanSearchRepository;
+import com.kuzminac.loan_service.loan_calculator.service.engine.AmortizationEngine;
+import com.kuzminac.loan_service.loan_calculator.service.engine.BigDecimalAmortizationEngine;
+import com.kuzminac.loan_service.loan_calculator.service.engine.FixedPointAmortizationEngine;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -14,17 +38,21 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.assertj.core.api.Assertions.within;
 import static org.mockito.Mockito.*;
 
@@ -34,9 +62,38 @@ class LoanServiceImplTest {
     @Mock
     private LoanRepository loanRepository;
 
-    @InjectMocks
+    @Mock
+    private LoanScheduleRepository loanScheduleRepository;
+
+    @Mock
+    private LoanSearchRepository loanSearchRepository;
+
+    @Mock
+    private LoanWriter loanWriter;
+
+    @Spy
+    private AmortizationEngine amortizationEngine = new FixedPointAmortizationEngine(new BigDecimalAmortizationEngine());
+
+    @Spy
+    private LoanCalculationCache calculationCache = new LoanCalculationCache(new CalculationProperties(), new SimpleMeterRegistry());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private LoanMetrics loanMetrics = new LoanMetrics(meterRegistry);
+
+    private final PersistenceProperties persistenceProperties = new PersistenceProperties();
+
+    private LoanCalculator loanCalculator;
     private LoanServiceImpl loanService;
 
+    @BeforeEach
+    void setUp() {
+        loanCalculator = new LoanCalculator(amortizationEngine, calculationCache, loanMetrics);
+        loanService = new LoanServiceImpl(loanRepository, loanScheduleRepository, loanSearchRepository, loanWriter, loanCalculator,
+                null, null, loanMetrics, persistenceProperties);
+    }
+
     /**
      * Provides test data for successful loan calculations.
      * Each Arguments instance contains:
@@ -104,7 +161,7 @@ class LoanServiceImplTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        when(loanRepository.save(any(Loan.class))).thenReturn(savedLoan);
+        when(loanWriter.save(any(Loan.class))).thenReturn(savedLoan);
 
         // Act
         LoanResponseDTO responseDTO = loanService.calculateLoan(requestDTO);
@@ -117,7 +174,7 @@ class LoanServiceImplTest {
         assertThat(responseDTO.getNumberOfPayments()).isEqualTo(requestDTO.getNumberOfPayments());
         assertThat(responseDTO.getTotalPayment()).isCloseTo(expectedTotalPayment, within(new BigDecimal("0.1")));
         assertThat(responseDTO.getTotalInterest()).isCloseTo(expectedTotalInterest, within(new BigDecimal("0.1")));
-        assertThat(responseDTO.getPaymentSchedule()).hasSize(requestDTO.getNumberOfPayments());
+        assertThat(responseDTO.getPaymentSchedule()).isInstanceOf(LazyPaymentSchedule.class).hasSize(requestDTO.getNumberOfPayments());
 
         // Verify each payment in the schedule
         List<PaymentScheduleDTO> schedule = responseDTO.getPaymentSchedule();
@@ -150,7 +207,7 @@ class LoanServiceImplTest {
 
         // Capture the Loan entity being saved
         ArgumentCaptor<Loan> loanCaptor = ArgumentCaptor.forClass(Loan.class);
-        verify(loanRepository, times(1)).save(loanCaptor.capture());
+        verify(loanWriter, times(1)).save(loanCaptor.capture());
         Loan capturedLoan = loanCaptor.getValue();
 
         assertThat(capturedLoan.getLoanAmount()).isEqualByComparingTo(requestDTO.getLoanAmount());
@@ -159,6 +216,13 @@ class LoanServiceImplTest {
         assertThat(capturedLoan.getTotalPayment()).isCloseTo(expectedTotalPayment, within(new BigDecimal("0.1")));
         assertThat(capturedLoan.getTotalInterest()).isCloseTo(expectedTotalInterest, within(new BigDecimal("0.1")));
         assertThat(capturedLoan.getCreatedAt()).isNotNull();
+
+        // Every phase is timed once and the loan size is recorded
+        assertThat(meterRegistry.get("loans.calculation.phase").timers())
+                .extracting(timer -> timer.getId().getTag("phase"), Timer::count)
+                .containsExactlyInAnyOrder(tuple("payment", 1L), tuple("schedule", 1L), tuple("persistence", 1L), tuple("response", 1L));
+        assertThat(meterRegistry.get("loans.number_of_payments").summary().totalAmount()).isEqualTo((double) requestDTO.getNumberOfPayments());
+        assertThat(meterRegistry.get("loans.schedule.size").summary().totalAmount()).isEqualTo((double) requestDTO.getNumberOfPayments());
     }
 
 
@@ -177,7 +241,7 @@ class LoanServiceImplTest {
                     .numberOfPayments(1)
                     .build();
 
-            when(loanRepository.save(any(Loan.class))).thenReturn(
+            when(loanWriter.save(any(Loan.class))).thenReturn(
                     Loan.builder()
                             .id(5L)
                             .loanAmount(requestDTO.getLoanAmount())
@@ -207,7 +271,384 @@ class LoanServiceImplTest {
             assertThat(payment.getBalanceOwed()).isEqualByComparingTo(BigDecimal.ZERO);
 
             // Verify that save was called once
-            verify(loanRepository, times(1)).save(any(Loan.class));
+            verify(loanWriter, times(1)).save(any(Loan.class));
+        }
+
+        @Test
+        @DisplayName("Test Amounts Beyond the Range of Cents in a Long")
+        void calculateLoan_HugeAmount() {
+            // Arrange: 10^20 is more cents than a long holds, so the schedule cannot be columnar
+            LoanRequestDTO requestDTO = LoanRequestDTO.builder()
+                    .loanAmount(new BigDecimal("100000000000000000000.00"))
+                    .interestRate(new BigDecimal("5.0"))
+                    .numberOfPayments(3)
+                    .build();
+            when(loanWriter.save(any(Loan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // Act
+            LoanResponseDTO responseDTO = loanService.calculateLoan(requestDTO);
+
+            // Assert
+            assertThat(((LazyPaymentSchedule) responseDTO.getPaymentSchedule()).resolve()).isNotInstanceOf(PaymentSchedule.class).hasSize(3);
+            assertThat(responseDTO.getPaymentSchedule().get(0).getPayment()).isEqualByComparingTo(loanCalculator.calculateMonthlyPayment(
+                    requestDTO.getLoanAmount(), loanCalculator.calculateMonthlyInterestRate(requestDTO.getInterestRate()), 3));
+            assertThat(responseDTO.getPaymentSchedule().get(2).getBalanceOwed()).isEqualByComparingTo(BigDecimal.ZERO);
+        }
+    }
+
+    @Nested
+    @DisplayName("Summary and Period Range Tests")
+    class PeriodRangeTests {
+
+        private final Loan storedLoan = Loan.builder()
+                .id(7L)
+                .loanAmount(new BigDecimal("10000.00"))
+                .interestRate(new BigDecimal("5.0000"))
+                .numberOfPayments(12)
+                .totalPayment(new BigDecimal("10272.84"))
+                .totalInterest(new BigDecimal("272.84"))
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        @Test
+        @DisplayName("Test Summary-only Calculation Skips the Schedule")
+        void calculateLoan_SummaryOnly() {
+            // Arrange
+            LoanRequestDTO requestDTO = LoanRequestDTO.builder()
+                    .loanAmount(new BigDecimal("10000.00"))
+                    .interestRate(new BigDecimal("5.0"))
+                    .numberOfPayments(12)
+                    .build();
+            when(loanWriter.save(any(Loan.class))).thenReturn(storedLoan);
+
+            // Act
+            LoanResponseDTO responseDTO = loanService.calculateLoan(requestDTO, false);
+
+            // Assert
+            assertThat(responseDTO.getTotalPayment()).isEqualByComparingTo(new BigDecimal("10272.84"));
+            assertThat(responseDTO.getPaymentSchedule()).isNull();
+            verify(amortizationEngine, never()).generatePaymentSchedule(any(), any(), anyInt(), any(), any());
+
+            // Nothing is stored either; reads regenerate the schedule
+            ArgumentCaptor<Loan> loanCaptor = ArgumentCaptor.forClass(Loan.class);
+            verify(loanWriter).save(loanCaptor.capture());
+            assertThat(loanCaptor.getValue().getPaymentSchedule()).isNull();
+        }
+
+        @Test
+        @DisplayName("Test Summary-only Calculation Stores the Schedule When Configured")
+        void calculateLoan_SummaryOnly_StoreSchedule() {
+            // Arrange
+            persistenceProperties.setStoreSummarySchedules(true);
+            LoanRequestDTO requestDTO = LoanRequestDTO.builder()
+                    .loanAmount(new BigDecimal("10000.00"))
+                    .interestRate(new BigDecimal("5.0"))
+                    .numberOfPayments(12)
+                    .build();
+            when(loanWriter.save(any(Loan.class))).thenReturn(storedLoan);
+
+            // Act
+            LoanResponseDTO responseDTO = loanService.calculateLoan(requestDTO, false);
+
+            // Assert: the loan carries its schedule for storage, generated only when the writer reads it
+            assertThat(responseDTO.getPaymentSchedule()).isNull();
+            ArgumentCaptor<Loan> loanCaptor = ArgumentCaptor.forClass(Loan.class);
+            verify(loanWriter).save(loanCaptor.capture());
+            LazyPaymentSchedule storedSchedule = (LazyPaymentSchedule) loanCaptor.getValue().getPaymentSchedule();
+            assertThat(storedSchedule.isResolved()).isFalse();
+            assertThat(storedSchedule.resolve()).hasSize(12);
+            assertThat(storedSchedule.get(11).getBalanceOwed()).isEqualByComparingTo(BigDecimal.ZERO);
+        }
+
+        @Test
+        @DisplayName("Test Schedule Is Generated Once, When First Read")
+        void calculateLoan_LazySchedule() {
+            // Arrange
+            LoanRequestDTO requestDTO = LoanRequestDTO.builder()
+                    .loanAmount(new BigDecimal("10000.00"))
+                    .interestRate(new BigDecimal("5.0"))
+                    .numberOfPayments(12)
+                    .build();
+            when(loanWriter.save(any(Loan.class))).thenReturn(storedLoan);
+
+            // Act
+            LoanResponseDTO responseDTO = loanService.calculateLoan(requestDTO, true);
+
+            // Assert: totals are there, periods are not generated until somebody reads them
+            assertThat(responseDTO.getTotalPayment()).isEqualByComparingTo(new BigDecimal("10272.84"));
+            assertThat(responseDTO.getPaymentSchedule()).hasSize(12);
+            verify(amortizationEngine, never()).generatePaymentSchedule(any(), any(), anyInt(), any(), any());
+
+            assertThat(responseDTO.getPaymentSchedule().get(11).getBalanceOwed()).isEqualByComparingTo(BigDecimal.ZERO);
+            assertThat(responseDTO.getPaymentSchedule().get(0).getPeriod()).isEqualTo(1);
+            verify(amortizationEngine, times(1)).generatePaymentSchedule(any(), any(), anyInt(), any(), any());
+            assertThat(meterRegistry.get("loans.calculation.phase").tag("phase", "schedule").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Test Period Range Matches the Full Schedule")
+        void getPaymentSchedule_Range() {
+            // Arrange
+            when(loanRepository.findById(7L)).thenReturn(Optional.of(storedLoan));
+            List<PaymentScheduleDTO> fullSchedule = loanCalculator.generatePaymentSchedule(
+                    storedLoan.getLoanAmount(),
+                    loanCalculator.calculateMonthlyInterestRate(storedLoan.getInterestRate()),
+                    12,
+                    new BigDecimal("856.07"));
+
+            // Act
+            PaymentSchedulePageDTO page = loanService.getPaymentSchedule(7L, 4, 6);
+
+            // Assert
+            assertThat(page.getLoanId()).isEqualTo(7L);
+            assertThat(page.getNumberOfPayments()).isEqualTo(12);
+            assertThat(page.getFromPeriod()).isEqualTo(4);
+            assertThat(page.getToPeriod()).isEqualTo(6);
+            assertThat(page.getPaymentSchedule()).hasSize(3);
+            for (int i = 0; i < 3; i++) {
+                PaymentScheduleDTO expected = fullSchedule.get(3 + i);
+                PaymentScheduleDTO actual = page.getPaymentSchedule().get(i);
+                assertThat(actual.getPeriod()).isEqualTo(expected.getPeriod());
+                assertThat(actual.getPayment()).isEqualByComparingTo(expected.getPayment());
+                assertThat(actual.getPrincipalAmount()).isEqualByComparingTo(expected.getPrincipalAmount());
+                assertThat(actual.getInterestAmount()).isEqualByComparingTo(expected.getInterestAmount());
+                assertThat(actual.getBalanceOwed()).isEqualByComparingTo(expected.getBalanceOwed());
+            }
+        }
+
+        @Test
+        @DisplayName("Test Period Range Defaults to the Last Payment")
+        void getPaymentSchedule_DefaultToPeriod() {
+            // Arrange
+            when(loanRepository.findById(7L)).thenReturn(Optional.of(storedLoan));
+
+            // Act
+            PaymentSchedulePageDTO page = loanService.getPaymentSchedule(7L, 10, null);
+
+            // Assert
+            assertThat(page.getToPeriod()).isEqualTo(12);
+            assertThat(page.getPaymentSchedule()).extracting(PaymentScheduleDTO::getPeriod).containsExactly(10, 11, 12);
+            assertThat(page.getPaymentSchedule().get(2).getBalanceOwed()).isEqualByComparingTo(BigDecimal.ZERO);
+        }
+
+        @Test
+        @DisplayName("Test Invalid Period Range")
+        void getPaymentSchedule_InvalidRange() {
+            // Arrange
+            when(loanRepository.findById(7L)).thenReturn(Optional.of(storedLoan));
+
+            // Act & Assert
+            assertThatThrownBy(() -> loanService.getPaymentSchedule(7L, 13, null))
+                    .isInstanceOf(InvalidLoanParametersException.class)
+                    .hasMessage("fromPeriod must be between 1 and 12");
+            assertThatThrownBy(() -> loanService.getPaymentSchedule(7L, 5, 4))
+                    .isInstanceOf(InvalidLoanParametersException.class)
+                    .hasMessage("toPeriod must not be before fromPeriod");
+        }
+
+        @Test
+        @DisplayName("Test Saved Loan Is Returned With Its Stored Schedule")
+        void getLoan_StoredSchedule() {
+            // Arrange
+            PaymentSchedule storedSchedule = new PaymentSchedule(new int[]{1}, new long[]{85607}, new long[]{81441},
+                    new long[]{4166}, new long[]{918559}, 1);
+            when(loanRepository.findById(7L)).thenReturn(Optional.of(storedLoan));
+            when(loanScheduleRepository.findByLoanId(7L, 12)).thenReturn(Optional.of(storedSchedule));
+
+            // Act
+            LoanResponseDTO responseDTO = loanService.getLoan(7L);
+
+            // Assert: served as stored, nothing is recomputed
+            assertThat(responseDTO.getLoanId()).isEqualTo(7L);
+            assertThat(responseDTO.getTotalPayment()).isEqualByComparingTo(new BigDecimal("10272.84"));
+            assertThat(responseDTO.getPaymentSchedule()).isSameAs(storedSchedule);
+            verifyNoInteractions(amortizationEngine);
+        }
+
+        @Test
+        @DisplayName("Test Schedule of a Loan Saved Without One Is Regenerated")
+        void getLoan_WithoutStoredSchedule() {
+            // Arrange
+            when(loanRepository.findById(7L)).thenReturn(Optional.of(storedLoan));
+            when(loanScheduleRepository.findByLoanId(7L, 12)).thenReturn(Optional.empty());
+
+            // Act
+            LoanResponseDTO responseDTO = loanService.getLoan(7L);
+
+            // Assert
+            assertThat(responseDTO.getNumberOfPayments()).isEqualTo(12);
+            assertThat(responseDTO.getPaymentSchedule()).hasSize(12);
+            assertThat(responseDTO.getPaymentSchedule().get(0).getPayment()).isEqualByComparingTo(new BigDecimal("856.07"));
+            assertThat(responseDTO.getPaymentSchedule().get(11).getBalanceOwed()).isEqualByComparingTo(BigDecimal.ZERO);
+        }
+
+        @Test
+        @DisplayName("Test Recalculation Reads Only the Stored Periods Before the First Event")
+        void recalculateSchedule_StoredPeriods() {
+            // Arrange
+            PaymentSchedule storedPeriods = new PaymentSchedule(new int[]{1, 2}, new long[]{85607, 85607}, new long[]{81441, 81780},
+                    new long[]{4166, 3827}, new long[]{918559, 836779}, 2);
+            when(loanRepository.findById(7L)).thenReturn(Optional.of(storedLoan));
+            when(loanScheduleRepository.findPeriodsBefore(7L, 3)).thenReturn(Optional.of(storedPeriods));
+            ScheduleRecalculationRequestDTO request = ScheduleRecalculationRequestDTO.builder()
+                    .events(List.of(ScheduleEventDTO.builder().type(ScheduleEventDTO.Type.EXTRA_PAYMENT).period(3)
+                            .amount(new BigDecimal("1000")).build()))
+                    .build();
+
+            // Act
+            RecalculatedScheduleDTO recalculated = loanService.recalculateSchedule(7L, request);
+
+            // Assert
+            assertThat(recalculated.getRecalculatedFromPeriod()).isEqualTo(3);
+            assertThat(recalculated.getPaymentSchedule()).hasSize(12);
+            assertThat(recalculated.getPaymentSchedule().subList(0, 2)).usingRecursiveFieldByFieldElementComparator()
+                    .containsExactlyElementsOf(storedPeriods);
+            assertThat(recalculated.getPaymentSchedule().get(2).getPayment()).isEqualByComparingTo(new BigDecimal("1856.07"));
+            assertThat(recalculated.getPaymentSchedule().get(11).getBalanceOwed()).isEqualByComparingTo(BigDecimal.ZERO);
+            verify(loanScheduleRepository, never()).findByLoanId(anyLong(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Test Unknown Loan")
+        void getPaymentSchedule_NotFound() {
+            // Arrange
+            when(loanRepository.findById(99L)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThatThrownBy(() -> loanService.getPaymentSchedule(99L, 1, null))
+                    .isInstanceOf(LoanNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch Calculation Tests")
+    class BatchTests {
+
+        private LoanServiceImpl batchService;
+
+        @BeforeEach
+        void setUp() {
+            batchService = new LoanServiceImpl(loanRepository, loanScheduleRepository, loanSearchRepository, loanWriter, loanCalculator,
+                    Validation.buildDefaultValidatorFactory().getValidator(), new BatchCalculationExecutor(new CalculationProperties()), loanMetrics,
+                    persistenceProperties);
+        }
+
+        @Test
+        @DisplayName("Test Batch Keeps Input Order and Reports Invalid Items")
+        void calculateLoans_MixedBatch() {
+            // Arrange
+            List<LoanRequestDTO> requests = Arrays.asList(
+                    LoanRequestDTO.builder().loanAmount(new BigDecimal("1000.00")).interestRate(new BigDecimal("5.0")).numberOfPayments(3).build(),
+                    LoanRequestDTO.builder().loanAmount(BigDecimal.ZERO).interestRate(new BigDecimal("5.0")).build(),
+                    null,
+                    LoanRequestDTO.builder().loanAmount(new BigDecimal("27000.00")).interestRate(new BigDecimal("4.875")).numberOfPayments(36).build());
+            when(loanWriter.saveAll(anyList())).thenAnswer(invocation -> {
+                List<Loan> loans = invocation.getArgument(0);
+                for (int i = 0; i < loans.size(); i++) {
+                    loans.get(i).setId(100L + i);
+                }
+                return loans;
+            });
+
+            // Act
+            List<LoanBatchItemDTO> results = batchService.calculateLoans(requests, false);
+
+            // Assert
+            assertThat(results).extracting(LoanBatchItemDTO::getIndex).containsExactly(0, 1, 2, 3);
+            assertThat(results).extracting(LoanBatchItemDTO::getStatus).containsExactly(200, 400, 400, 200);
+
+            assertThat(results.get(0).getLoan().getLoanId()).isEqualTo(100L);
+            assertThat(results.get(0).getLoan().getTotalPayment()).isEqualByComparingTo(new BigDecimal("1008.33"));
+            assertThat(results.get(0).getLoan().getPaymentSchedule()).isNull();
+            assertThat(results.get(3).getLoan().getLoanId()).isEqualTo(101L);
+            assertThat(results.get(3).getLoan().getTotalPayment()).isEqualByComparingTo(new BigDecimal("29077.20"));
+
+            assertThat(results.get(1).getLoan()).isNull();
+            assertThat(results.get(1).getDetails()).containsExactly(
+                    "Field 'loanAmount' Loan amount must be greater than 0",
+                    "Field 'numberOfPayments' Number of payments is required");
+            assertThat(results.get(2).getDetails()).containsExactly("Loan request is required");
+
+            // Saved together, never one by one
+            verify(loanWriter, times(1)).saveAll(anyList());
+            verify(loanWriter, never()).save(any(Loan.class));
+        }
+
+        @Test
+        @DisplayName("Test Empty and Oversized Batches")
+        void calculateLoans_InvalidBatchSize() {
+            CalculationProperties properties = new CalculationProperties();
+            properties.getBatch().setMaxSize(1);
+            LoanServiceImpl limitedService = new LoanServiceImpl(loanRepository, loanScheduleRepository, loanSearchRepository, loanWriter, loanCalculator,
+                    Validation.buildDefaultValidatorFactory().getValidator(), new BatchCalculationExecutor(properties), loanMetrics,
+                    persistenceProperties);
+            LoanRequestDTO requestDTO = LoanRequestDTO.builder()
+                    .loanAmount(new BigDecimal("1000.00"))
+                    .interestRate(new BigDecimal("5.0"))
+                    .numberOfPayments(3)
+                    .build();
+
+            // Act & Assert
+            assertThatThrownBy(() -> limitedService.calculateLoans(List.of(), true))
+                    .isInstanceOf(InvalidLoanParametersException.class)
+                    .hasMessage("Batch must contain at least one loan");
+            assertThatThrownBy(() -> limitedService.calculateLoans(List.of(requestDTO, requestDTO), true))
+                    .isInstanceOf(InvalidLoanParametersException.class)
+                    .hasMessage("Batch must not contain more than 1 loans");
+            verifyNoInteractions(loanWriter);
+        }
+    }
+
+    @Nested
+    @DisplayName("Listing Tests")
+    class ListingTests {
+
+        private final LoanSearchCriteria criteria = new LoanSearchCriteria(null, null, null, null, 360, 360);
+
+        @Test
+        @DisplayName("Test Full Page Carries a Cursor That Continues After Its Last Loan")
+        void findLoans_NextPage() {
+            // Arrange: one row more than the limit means there is a next page
+            List<LoanSummaryDTO> rows = List.of(summary(9L, "2026-10-17T10:15:30.123456"), summary(8L, "2026-10-17T10:15:30.123456"),
+                    summary(3L, "2026-10-16T08:00:00"));
+            when(loanSearchRepository.find(criteria, null, 3)).thenReturn(rows);
+
+            // Act
+            LoanPageDTO page = loanService.findLoans(criteria, null, 2);
+
+            // Assert
+            assertThat(page.getLoans()).extracting(LoanSummaryDTO::getLoanId).containsExactly(9L, 8L);
+            assertThat(page.getNextCursor()).isNotNull();
+
+            when(loanSearchRepository.find(criteria, new LoanKeyset(LocalDateTime.parse("2026-10-17T10:15:30.123456"), 8L), 3))
+                    .thenReturn(List.of(summary(3L, "2026-10-16T08:00:00")));
+            LoanPageDTO lastPage = loanService.findLoans(criteria, page.getNextCursor(), 2);
+            assertThat(lastPage.getLoans()).extracting(LoanSummaryDTO::getLoanId).containsExactly(3L);
+            assertThat(lastPage.getNextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Test Invalid Limit and Cursor")
+        void findLoans_InvalidParameters() {
+            assertThatThrownBy(() -> loanService.findLoans(criteria, null, 0))
+                    .isInstanceOf(InvalidLoanParametersException.class)
+                    .hasMessage("limit must be between 1 and 500");
+            assertThatThrownBy(() -> loanService.findLoans(criteria, null, 501))
+                    .isInstanceOf(InvalidLoanParametersException.class);
+            assertThatThrownBy(() -> loanService.findLoans(criteria, "not-a-cursor", 50))
+                    .isInstanceOf(InvalidLoanParametersException.class)
+                    .hasMessage("Invalid cursor: not-a-cursor");
+            verifyNoInteractions(loanSearchRepository);
+        }
+
+        private LoanSummaryDTO summary(long id, String createdAt) {
+            return LoanSummaryDTO.builder()
+                    .loanId(id)
+                    .loanAmount(new BigDecimal("250000.00"))
+                    .interestRate(new BigDecimal("5.5000"))
+                    .numberOfPayments(360)
+                    .createdAt(LocalDateTime.parse(createdAt))
+                    .build();
         }
     }
 }
@@ -1,10 +1,19 @@
 
 package com.kuzminac.loan_service.loan_calculator.service;
 
+import com.kuzminac.loan_service.loan_calculator.dto.CashFlowMonthDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.CashFlowProjectionDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanBatchItemDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanPageDTO;
 import com.kuzminac.loan_service.loan_calculator.dto.LoanRequestDTO;
 import com.kuzminac.loan_service.loan_calculator.dto.LoanResponseDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanSummaryDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.RecalculatedScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.ScheduleEventDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.ScheduleRecalculationRequestDTO;
 import com.kuzminac.loan_service.loan_calculator.entity.Loan;
 import com.kuzminac.loan_service.loan_calculator.repository.LoanRepository;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanSearchCriteria;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -19,6 +28,9 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -37,7 +49,7 @@ class LoanServiceIntegrationTest {
 
     @DynamicPropertySource
     static void configureProperties(DynamicPropertyRegistry registry) {
-        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.url", () -> postgreSQLContainer.getJdbcUrl() + "&reWriteBatchedInserts=true");
         registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
         registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
         registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
@@ -53,6 +65,9 @@ class LoanServiceIntegrationTest {
     @Autowired
     private LoanRepository loanRepository;
 
+    @Autowired
+    private CashFlowProjector cashFlowProjector;
+
     private static Stream<Arguments> provideSuccessfulLoanCalculations() {
         return Stream.of(
                 Arguments.of(
@@ -129,5 +144,133 @@ class LoanServiceIntegrationTest {
         assertThat(optionalLoan).isPresent();
         Loan savedLoan = optionalLoan.get();
         assertThat(savedLoan.getCreatedAt()).isNotNull();
+
+        // The stored schedule comes back exactly as calculated
+        LoanResponseDTO storedDTO = loanService.getLoan(responseDTO.getLoanId());
+        assertThat(storedDTO.getPaymentSchedule()).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(responseDTO.getPaymentSchedule());
+    }
+
+    @Test
+    @DisplayName("Integration Test: Batch Is Saved with Pooled Sequence Ids")
+    void calculateLoans_PooledIds() {
+        // Arrange
+        List<LoanRequestDTO> requests = Stream.of("5001.00", "5002.00", "5003.00")
+                .map(amount -> LoanRequestDTO.builder()
+                        .loanAmount(new BigDecimal(amount))
+                        .interestRate(new BigDecimal("5.0"))
+                        .numberOfPayments(12)
+                        .build())
+                .toList();
+
+        // Act
+        List<LoanBatchItemDTO> results = loanService.calculateLoans(requests, false);
+
+        // Assert
+        List<Long> ids = results.stream().map(item -> item.getLoan().getLoanId()).toList();
+        assertThat(ids).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(loanRepository.findAllById(ids)).hasSize(3);
+        assertThat(ids).allSatisfy(id -> assertThat(loanService.getLoan(id).getPaymentSchedule()).hasSize(12));
+    }
+
+    @Test
+    @DisplayName("Integration Test: Keyset Pages Cover Every Matching Loan Once")
+    void findLoans_KeysetPages() {
+        // Arrange: a term no other test uses
+        List<LoanRequestDTO> requests = Stream.of("8001.00", "8002.00", "8003.00", "8004.00", "8005.00")
+                .map(amount -> LoanRequestDTO.builder()
+                        .loanAmount(new BigDecimal(amount))
+                        .interestRate(new BigDecimal("4.0"))
+                        .numberOfPayments(7)
+                        .build())
+                .toList();
+        List<Long> ids = loanService.calculateLoans(requests, false)
+                .stream().map(item -> item.getLoan().getLoanId()).toList();
+        LoanSearchCriteria criteria = new LoanSearchCriteria(null, null, null, null, 7, 7);
+
+        // Act
+        LoanPageDTO firstPage = loanService.findLoans(criteria, null, 2);
+        LoanPageDTO secondPage = loanService.findLoans(criteria, firstPage.getNextCursor(), 2);
+        LoanPageDTO lastPage = loanService.findLoans(criteria, secondPage.getNextCursor(), 2);
+
+        // Assert
+        assertThat(lastPage.getNextCursor()).isNull();
+        assertThat(Stream.of(firstPage, secondPage, lastPage).flatMap(page -> page.getLoans().stream()).map(LoanSummaryDTO::getLoanId))
+                .containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    @Test
+    @DisplayName("Integration Test: Repeated Calculation Returns the Stored Loan")
+    void calculateLoan_Deduplicated() {
+        // Arrange
+        LoanRequestDTO requestDTO = LoanRequestDTO.builder()
+                .loanAmount(new BigDecimal("6000.00"))
+                .interestRate(new BigDecimal("3.25"))
+                .numberOfPayments(9)
+                .build();
+        LoanRequestDTO sameLoan = LoanRequestDTO.builder()
+                .loanAmount(new BigDecimal("6000"))
+                .interestRate(new BigDecimal("3.250"))
+                .numberOfPayments(9)
+                .build();
+
+        // Act
+        LoanResponseDTO first = loanService.calculateLoan(requestDTO);
+        LoanResponseDTO repeated = loanService.calculateLoan(sameLoan, false);
+        List<LoanBatchItemDTO> batch = loanService.calculateLoans(List.of(requestDTO, sameLoan), false);
+
+        // Assert
+        assertThat(repeated.getLoanId()).isEqualTo(first.getLoanId());
+        assertThat(repeated.getTotalPayment()).isEqualByComparingTo(first.getTotalPayment());
+        assertThat(batch).extracting(item -> item.getLoan().getLoanId()).containsOnly(first.getLoanId());
+        assertThat(loanService.findLoans(new LoanSearchCriteria(null, null, null, null, 9, 9), null, 10).getLoans()).hasSize(1);
+        assertThat(loanService.getLoan(first.getLoanId()).getPaymentSchedule()).hasSize(9);
+    }
+
+    @Test
+    @DisplayName("Integration Test: Recalculated Schedule Keeps the Stored Periods Before the First Event")
+    void recalculateSchedule_StoredPeriods() {
+        // Arrange
+        LoanResponseDTO loan = loanService.calculateLoan(LoanRequestDTO.builder()
+                .loanAmount(new BigDecimal("7000.00"))
+                .interestRate(new BigDecimal("6.5"))
+                .numberOfPayments(24)
+                .build());
+        ScheduleRecalculationRequestDTO request = ScheduleRecalculationRequestDTO.builder()
+                .events(List.of(
+                        ScheduleEventDTO.builder().type(ScheduleEventDTO.Type.EXTRA_PAYMENT).period(6).amount(new BigDecimal("500")).build(),
+                        ScheduleEventDTO.builder().type(ScheduleEventDTO.Type.RATE_CHANGE).period(12).interestRate(new BigDecimal("8")).build()))
+                .build();
+
+        // Act
+        RecalculatedScheduleDTO recalculated = loanService.recalculateSchedule(loan.getLoanId(), request);
+
+        // Assert
+        assertThat(recalculated.getPaymentSchedule()).hasSize(24);
+        assertThat(recalculated.getPaymentSchedule().subList(0, 5)).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(loan.getPaymentSchedule().subList(0, 5));
+        assertThat(recalculated.getPaymentSchedule().get(23).getBalanceOwed()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Integration Test: Cash Flow Projection Streams the Stored Loans")
+    void projectCashFlow_StoredLoans() {
+        // Arrange: longer than any other loan of this test, so the last projected month is its last payment
+        LoanResponseDTO loan = loanService.calculateLoan(LoanRequestDTO.builder()
+                .loanAmount(new BigDecimal("90000.00"))
+                .interestRate(new BigDecimal("5.75"))
+                .numberOfPayments(720)
+                .build());
+
+        // Act
+        CashFlowProjectionDTO projection = cashFlowProjector.project();
+
+        // Assert
+        CashFlowMonthDTO lastMonth = projection.getMonths().get(projection.getMonths().size() - 1);
+        assertThat(projection.getFromMonth()).isEqualTo(YearMonth.now(ZoneOffset.UTC).plusMonths(1));
+        assertThat(projection.getMonths()).hasSize(720);
+        assertThat(lastMonth.getPayments()).isEqualTo(1);
+        assertThat(lastMonth.getPrincipalAmount()).isEqualByComparingTo(loan.getPaymentSchedule().get(719).getPrincipalAmount());
+        assertThat(projection.getTotalPrincipal()).isGreaterThanOrEqualTo(loan.getLoanAmount());
     }
 }
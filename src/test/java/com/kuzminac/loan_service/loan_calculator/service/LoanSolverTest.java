@@ -0,0 +1,126 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.dto.LoanSolutionDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanSolverRequestDTO;
+import com.kuzminac.loan_service.loan_calculator.exception.InvalidLoanParametersException;
+import com.kuzminac.loan_service.loan_calculator.service.engine.BigDecimalAmortizationEngine;
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Label;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import net.jqwik.api.constraints.IntRange;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoanSolverTest {
+
+    // Only the payment math is used, which needs neither the cache nor the metrics
+    private final LoanCalculator loanCalculator = new LoanCalculator(new BigDecimalAmortizationEngine(), null, null);
+    private final LoanSolver solver = new LoanSolver(loanCalculator);
+
+    @Provide
+    Arbitrary<BigDecimal> principals() {
+        return Arbitraries.bigDecimals().between(new BigDecimal("100"), new BigDecimal("10000000")).ofScale(2);
+    }
+
+    @Provide
+    Arbitrary<BigDecimal> annualRates() {
+        return Arbitraries.oneOf(
+                Arbitraries.bigDecimals().between(BigDecimal.ZERO, new BigDecimal("30")).ofScale(3),
+                Arbitraries.of(BigDecimal.ZERO, new BigDecimal("5.5")));
+    }
+
+    @Property(tries = 200)
+    @Label("Solved loan amount is the largest whose payment fits the budget")
+    void loanAmount_IsLargestFitting(@ForAll("principals") BigDecimal budget,
+                                     @ForAll("annualRates") BigDecimal annualRate,
+                                     @ForAll @IntRange(min = 1, max = 600) int numberOfPayments) {
+        LoanSolutionDTO solution = solver.solveLoanAmount(LoanSolverRequestDTO.builder()
+                .payment(budget).interestRate(annualRate).numberOfPayments(numberOfPayments).build());
+
+        assertThat(solution.getPayment()).isLessThanOrEqualTo(budget);
+        assertThat(payment(solution.getLoanAmount().add(new BigDecimal("0.01")), annualRate, numberOfPayments)).isGreaterThan(budget);
+    }
+
+    @Property(tries = 200)
+    @Label("Solved number of payments is the fewest whose payment fits the budget")
+    void numberOfPayments_IsFewestFitting(@ForAll("principals") BigDecimal principal,
+                                          @ForAll("annualRates") BigDecimal annualRate,
+                                          @ForAll @IntRange(min = 1, max = 1200) int term) {
+        // A budget that some term up to 1200 fits
+        BigDecimal budget = payment(principal, annualRate, term);
+
+        LoanSolutionDTO solution = solver.solveNumberOfPayments(LoanSolverRequestDTO.builder()
+                .payment(budget).loanAmount(principal).interestRate(annualRate).build());
+
+        assertThat(solution.getNumberOfPayments()).isLessThanOrEqualTo(term);
+        assertThat(solution.getPayment()).isLessThanOrEqualTo(budget);
+        if (solution.getNumberOfPayments() > 1) {
+            assertThat(payment(principal, annualRate, solution.getNumberOfPayments() - 1)).isGreaterThan(budget);
+        }
+    }
+
+    @Property(tries = 200)
+    @Label("Solved interest rate is where the payment reaches the given payment")
+    void interestRate_ReachesPayment(@ForAll("principals") BigDecimal principal,
+                                       @ForAll("annualRates") BigDecimal annualRate,
+                                       @ForAll @IntRange(min = 1, max = 600) int numberOfPayments) {
+        BigDecimal payment = payment(principal, annualRate, numberOfPayments);
+
+        LoanSolutionDTO solution = solver.solveInterestRate(LoanSolverRequestDTO.builder()
+                .payment(payment).loanAmount(principal).numberOfPayments(numberOfPayments).build());
+
+        // Equal unless no rate of six decimals produces this payment, which happens for large amounts
+        assertThat(solution.getPayment()).isGreaterThanOrEqualTo(payment);
+        if (solution.getInterestRate().signum() > 0) {
+            BigDecimal lower = solution.getInterestRate().subtract(BigDecimal.valueOf(1, LoanSolver.RATE_SCALE));
+            assertThat(payment(principal, lower, numberOfPayments)).isLessThan(payment);
+        }
+    }
+
+    @Example
+    @Label("Payments that cannot repay the loan are rejected")
+    void unsolvable_Rejected() {
+        assertThatThrownBy(() -> solver.solveNumberOfPayments(LoanSolverRequestDTO.builder()
+                .payment(new BigDecimal("100.00")).loanAmount(new BigDecimal("100000")).interestRate(new BigDecimal("5")).build()))
+                .isInstanceOf(InvalidLoanParametersException.class)
+                .hasMessage("Payment does not repay the loan amount within 1200 payments");
+        assertThatThrownBy(() -> solver.solveInterestRate(LoanSolverRequestDTO.builder()
+                .payment(new BigDecimal("100.00")).loanAmount(new BigDecimal("10000")).numberOfPayments(12).build()))
+                .isInstanceOf(InvalidLoanParametersException.class)
+                .hasMessage("Payment does not repay the loan amount even without interest");
+        assertThatThrownBy(() -> solver.solveLoanAmount(LoanSolverRequestDTO.builder()
+                .payment(new BigDecimal("100.00")).numberOfPayments(12).build()))
+                .isInstanceOf(InvalidLoanParametersException.class)
+                .hasMessage("Interest rate is required");
+    }
+
+    @Example
+    @Label("Searches stay within the iteration bound from any estimate")
+    void largestFitting_Bounded() {
+        assertThat(LoanSolver.largestFitting(1, x -> x <= 1_000_000_000_000L)).isEqualTo(1_000_000_000_000L);
+        assertThat(LoanSolver.largestFitting(1_000_000_000_000L, x -> x <= 7)).isEqualTo(7);
+        assertThat(LoanSolver.largestFitting(50, x -> false)).isZero();
+    }
+
+    @Example
+    @Label("Answers beyond the range of a long are rejected as invalid input")
+    void loanAmount_TooLarge_Rejected() {
+        assertThatThrownBy(() -> solver.solveLoanAmount(LoanSolverRequestDTO.builder()
+                .payment(new BigDecimal("1e20")).interestRate(new BigDecimal("5")).numberOfPayments(12).build()))
+                .isInstanceOf(InvalidLoanParametersException.class)
+                .hasMessage("Payment is too large to solve for");
+        assertThatThrownBy(() -> LoanSolver.largestFitting(Long.MAX_VALUE - 1, x -> true))
+                .isInstanceOf(InvalidLoanParametersException.class);
+    }
+
+    private BigDecimal payment(BigDecimal principal, BigDecimal annualRate, int numberOfPayments) {
+        return loanCalculator.calculateMonthlyPayment(principal, loanCalculator.calculateMonthlyInterestRate(annualRate), numberOfPayments);
+    }
+}
@@ -0,0 +1,105 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.config.CalculationProperties;
+import com.kuzminac.loan_service.loan_calculator.dto.PricingGridAxisDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PricingGridDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PricingGridRequestDTO;
+import com.kuzminac.loan_service.loan_calculator.exception.InvalidLoanParametersException;
+import com.kuzminac.loan_service.loan_calculator.service.engine.AmortizationMath;
+import com.kuzminac.loan_service.loan_calculator.service.engine.AnnuityFactorTable;
+import com.kuzminac.loan_service.loan_calculator.service.engine.BigDecimalAmortizationEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PricingGridCalculatorTest {
+
+    private final CalculationProperties properties = new CalculationProperties();
+    private final BatchCalculationExecutor batchExecutor = new BatchCalculationExecutor(properties);
+    private final AnnuityFactorTable annuityFactorTable = new AnnuityFactorTable(600);
+    private final PricingGridCalculator calculator = new PricingGridCalculator(annuityFactorTable, batchExecutor, properties);
+
+    @AfterEach
+    void tearDown() {
+        batchExecutor.destroy();
+    }
+
+    @Test
+    @DisplayName("Test Every Cell Equals the Single Loan Calculation")
+    void calculate_MatchesSingleCalculations() {
+        // Arrange: one rate on the rate sheet, the others computed; more cells than one chunk
+        annuityFactorTable.load(List.of(new BigDecimal("5.5")));
+        PricingGridRequestDTO request = PricingGridRequestDTO.builder()
+                .loanAmounts(range("1000.00", "50950.00", "50"))
+                .interestRates(values("0", "5.5", "7.125"))
+                .numberOfPayments(values("1", "60", "360"))
+                .build();
+        BigDecimalAmortizationEngine reference = new BigDecimalAmortizationEngine();
+
+        // Act
+        PricingGridDTO grid = calculator.calculate(request);
+
+        // Assert
+        assertThat(grid.getLoanAmounts()).hasSize(1000);
+        assertThat(grid.getPayments()).hasSize(9000).doesNotContainNull();
+        for (int r = 0; r < 3; r++) {
+            BigDecimal monthlyRate = AmortizationMath.monthlyInterestRate(grid.getInterestRates().get(r));
+            for (int t = 0; t < 3; t++) {
+                int numberOfPayments = grid.getNumberOfPayments().get(t);
+                for (int a = 0; a < 1000; a += 37) {
+                    int cell = (r * 3 + t) * 1000 + a;
+                    BigDecimal principal = grid.getLoanAmounts().get(a);
+                    BigDecimal payment = reference.calculateMonthlyPayment(principal, monthlyRate, numberOfPayments);
+                    assertThat(grid.getPayments().get(cell)).isEqualTo(payment);
+                    assertThat(grid.getTotalPayments().get(cell)).isEqualTo(LoanCalculator.totalPayment(payment, numberOfPayments));
+                    assertThat(grid.getTotalInterests().get(cell))
+                            .isEqualTo(LoanCalculator.totalInterest(grid.getTotalPayments().get(cell), principal));
+                }
+            }
+        }
+        assertThat(grid.getPayments().get(999)).isEqualTo(new BigDecimal("50950.00"));
+    }
+
+    @Test
+    @DisplayName("Test Oversized Grids and Invalid Axes Are Rejected")
+    void calculate_Rejected() {
+        properties.getPricingGrid().setMaxCells(1000);
+        PricingGridCalculator limited = new PricingGridCalculator(annuityFactorTable, batchExecutor, properties);
+
+        assertThatThrownBy(() -> limited.calculate(PricingGridRequestDTO.builder()
+                .loanAmounts(range("1000", "100000", "1000")).interestRates(values("5", "6")).numberOfPayments(range("12", "72", "12")).build()))
+                .isInstanceOf(InvalidLoanParametersException.class)
+                .hasMessage("Pricing grid must not have more than 1000 cells, got 1200");
+        assertThatThrownBy(() -> limited.calculate(PricingGridRequestDTO.builder()
+                .loanAmounts(range("1", "1000000", "0.01")).interestRates(values("5")).numberOfPayments(values("12")).build()))
+                .isInstanceOf(InvalidLoanParametersException.class)
+                .hasMessage("loanAmounts must not have more than 1000 values");
+        assertThatThrownBy(() -> limited.calculate(PricingGridRequestDTO.builder()
+                .loanAmounts(values("1000")).interestRates(values("5")).numberOfPayments(values("12.5")).build()))
+                .isInstanceOf(InvalidLoanParametersException.class)
+                .hasMessage("Numbers of payments must be whole numbers of at least 1");
+        assertThatThrownBy(() -> limited.calculate(PricingGridRequestDTO.builder()
+                .loanAmounts(values("1000")).interestRates(values("5")).numberOfPayments(values("1000000000")).build()))
+                .isInstanceOf(InvalidLoanParametersException.class)
+                .hasMessage("Numbers of payments must be at most 1200");
+        assertThatThrownBy(() -> limited.calculate(PricingGridRequestDTO.builder()
+                .loanAmounts(values("1000")).interestRates(PricingGridAxisDTO.builder().from(BigDecimal.ONE).build())
+                .numberOfPayments(values("12")).build()))
+                .isInstanceOf(InvalidLoanParametersException.class)
+                .hasMessage("interestRates must have either values or from, to and step");
+    }
+
+    private static PricingGridAxisDTO values(String... values) {
+        return PricingGridAxisDTO.builder().values(List.of(values).stream().map(BigDecimal::new).toList()).build();
+    }
+
+    private static PricingGridAxisDTO range(String from, String to, String step) {
+        return PricingGridAxisDTO.builder().from(new BigDecimal(from)).to(new BigDecimal(to)).step(new BigDecimal(step)).build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.config.CalculationProperties;
+import com.kuzminac.loan_service.loan_calculator.config.PersistenceProperties;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanRequestDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.LoanResponseDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+import com.kuzminac.loan_service.loan_calculator.exception.LoanNotFoundException;
+import com.kuzminac.loan_service.loan_calculator.repository.ReactiveLoanRepository;
+import com.kuzminac.loan_service.loan_calculator.service.engine.AmortizationEngine;
+import com.kuzminac.loan_service.loan_calculator.service.engine.BigDecimalAmortizationEngine;
+import com.kuzminac.loan_service.loan_calculator.service.engine.FixedPointAmortizationEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveLoanServiceImplTest {
+
+    @Mock
+    private ReactiveLoanRepository loanRepository;
+
+    private static Stream<Arguments> engines() {
+        return Stream.of(
+                Arguments.of(new BigDecimalAmortizationEngine()),
+                Arguments.of(new FixedPointAmortizationEngine(new BigDecimalAmortizationEngine())));
+    }
+
+    @Test
+    @DisplayName("Test Calculated Loan Is Saved Without Blocking")
+    void calculateLoan_Success() {
+        // Arrange
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> {
+            Loan loan = invocation.getArgument(0);
+            loan.setId(51L);
+            return Mono.just(loan);
+        });
+        LoanRequestDTO requestDTO = request("27000.00", "4.875", 36);
+
+        // Act
+        LoanResponseDTO responseDTO = service(new BigDecimalAmortizationEngine()).calculateLoan(requestDTO, false).block();
+
+        // Assert
+        assertThat(responseDTO.getLoanId()).isEqualTo(51L);
+        assertThat(responseDTO.getTotalPayment()).isEqualByComparingTo(new BigDecimal("29077.20"));
+        assertThat(responseDTO.getPaymentSchedule()).isNull();
+    }
+
+    @ParameterizedTest
+    @MethodSource("engines")
+    @DisplayName("Test Schedule Generated in Chunks Matches the Full Schedule")
+    void generatePaymentSchedule_MatchesFullSchedule(AmortizationEngine engine) {
+        // Arrange: 200 periods span several chunks, the last one partial
+        LoanRequestDTO requestDTO = request("123456.78", "6.375", 200);
+        LoanCalculator calculator = calculator(engine);
+        BigDecimal monthlyInterestRate = calculator.calculateMonthlyInterestRate(requestDTO.getInterestRate());
+        List<PaymentScheduleDTO> expected = calculator.generatePaymentSchedule(requestDTO.getLoanAmount(), monthlyInterestRate, 200,
+                calculator.calculateMonthlyPayment(requestDTO.getLoanAmount(), monthlyInterestRate, 200));
+
+        // Act
+        List<PaymentScheduleDTO> streamed = service(engine).generatePaymentSchedule(requestDTO).collectList().block();
+
+        // Assert
+        assertThat(streamed).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("Test Schedule Is Only Calculated as Far as It Is Requested")
+    void generatePaymentSchedule_OnDemand() {
+        AmortizationEngine engine = spy(new FixedPointAmortizationEngine(new BigDecimalAmortizationEngine()));
+
+        List<PaymentScheduleDTO> firstPeriods = service(engine).generatePaymentSchedule(request("10000.00", "5.0", 360))
+                .take(10)
+                .collectList()
+                .block();
+
+        assertThat(firstPeriods).hasSize(10);
+        verify(engine, times(1)).continueSchedule(any(), any(), anyInt(), any(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Test Schedule of a Loan Saved Without One Is Regenerated")
+    void getLoan_WithoutStoredSchedule() {
+        Loan loan = Loan.builder()
+                .id(7L)
+                .loanAmount(new BigDecimal("10000.00"))
+                .interestRate(new BigDecimal("5.0000"))
+                .numberOfPayments(12)
+                .totalPayment(new BigDecimal("10272.84"))
+                .totalInterest(new BigDecimal("272.84"))
+                .build();
+        when(loanRepository.findById(7L)).thenReturn(Mono.just(loan));
+        when(loanRepository.findScheduleByLoanId(7L, 12)).thenReturn(Mono.empty());
+
+        LoanResponseDTO responseDTO = service(new BigDecimalAmortizationEngine()).getLoan(7L).block();
+
+        assertThat(responseDTO.getPaymentSchedule()).hasSize(12);
+        assertThat(responseDTO.getPaymentSchedule().get(11).getBalanceOwed()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Test Payment Schedule of Unknown Loan")
+    void getPaymentSchedule_NotFound() {
+        when(loanRepository.findById(99L)).thenReturn(Mono.empty());
+
+        assertThatThrownBy(() -> service(new BigDecimalAmortizationEngine()).getPaymentSchedule(99L, 1, null).block())
+                .isInstanceOf(LoanNotFoundException.class);
+    }
+
+    private ReactiveLoanServiceImpl service(AmortizationEngine engine) {
+        LoanMetrics loanMetrics = new LoanMetrics(new SimpleMeterRegistry());
+        return new ReactiveLoanServiceImpl(calculator(engine), loanRepository, loanMetrics, new PersistenceProperties());
+    }
+
+    private static LoanCalculator calculator(AmortizationEngine engine) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new LoanCalculator(engine, new LoanCalculationCache(new CalculationProperties(), meterRegistry), new LoanMetrics(meterRegistry));
+    }
+
+    private static LoanRequestDTO request(String loanAmount, String interestRate, int numberOfPayments) {
+        return LoanRequestDTO.builder()
+                .loanAmount(new BigDecimal(loanAmount))
+                .interestRate(new BigDecimal(interestRate))
+                .numberOfPayments(numberOfPayments)
+                .build();
+    }
+}
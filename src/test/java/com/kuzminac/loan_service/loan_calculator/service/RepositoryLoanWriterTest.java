@@ -0,0 +1,111 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanFingerprintRepository;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanScheduleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RepositoryLoanWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private LoanFingerprintRepository loanFingerprintRepository;
+
+    @Mock
+    private LoanScheduleRepository loanScheduleRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RepositoryLoanWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        when(jdbcTemplate.queryForObject(eq("SELECT nextval('loans_id_seq')"), eq(Long.class))).thenReturn(50L);
+        writer = new RepositoryLoanWriter(jdbcTemplate, loanFingerprintRepository, loanScheduleRepository, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Test Only Claimed Loans Are Inserted, Repeated Ones Get the Stored Id")
+    void saveAll_Deduplicated() {
+        // Arrange: the second loan was calculated before and is stored as loan 7
+        Loan first = loan("1000.00");
+        Loan repeated = loan("2000.00");
+        Loan third = loan("3000.00");
+        when(loanFingerprintRepository.claim(List.of(first, repeated, third))).thenReturn(Set.of(1L, 3L));
+        doAnswer(invocation -> {
+            List<Loan> stored = invocation.getArgument(0);
+            stored.forEach(loan -> loan.setId(7L));
+            return null;
+        }).when(loanFingerprintRepository).resolveStored(List.of(repeated));
+
+        // Act
+        List<Loan> saved = writer.saveAll(List.of(first, repeated, third));
+
+        // Assert
+        assertThat(saved).extracting(Loan::getId).containsExactly(1L, 7L, 3L);
+        verify(jdbcTemplate).batchUpdate(anyString(), eq(List.of(first, third)), eq(2), anySetter());
+        verify(loanScheduleRepository).insertAll(List.of(first, third));
+        assertThat(meterRegistry.get("loans.deduplicated").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test Repeated Loan Is Not Inserted At All")
+    void save_Repeated() {
+        // Arrange
+        Loan loan = loan("1000.00");
+        when(loanFingerprintRepository.claim(List.of(loan))).thenReturn(Set.of());
+        doAnswer(invocation -> {
+            loan.setId(7L);
+            return null;
+        }).when(loanFingerprintRepository).resolveStored(List.of(loan));
+
+        // Act
+        Loan saved = writer.save(loan);
+
+        // Assert
+        assertThat(saved.getId()).isEqualTo(7L);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), anySetter());
+        verify(loanScheduleRepository, never()).insertAll(anyList());
+    }
+
+    private static ParameterizedPreparedStatementSetter<Loan> anySetter() {
+        return any();
+    }
+
+    private static Loan loan(String amount) {
+        return Loan.builder()
+                .loanAmount(new BigDecimal(amount))
+                .interestRate(new BigDecimal("5.0"))
+                .numberOfPayments(3)
+                .totalPayment(new BigDecimal("1008.33"))
+                .totalInterest(new BigDecimal("8.33"))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,152 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentSchedule;
+import com.kuzminac.loan_service.loan_calculator.dto.PaymentScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.RecalculatedScheduleDTO;
+import com.kuzminac.loan_service.loan_calculator.dto.ScheduleEventDTO;
+import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+import com.kuzminac.loan_service.loan_calculator.exception.InvalidLoanParametersException;
+import com.kuzminac.loan_service.loan_calculator.service.engine.BigDecimalAmortizationEngine;
+import com.kuzminac.loan_service.loan_calculator.service.engine.FixedPointAmortizationEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScheduleRecalculationTest {
+
+    // Only the schedule math is used, which needs neither the cache nor the metrics
+    private final LoanCalculator loanCalculator = new LoanCalculator(
+            new FixedPointAmortizationEngine(new BigDecimalAmortizationEngine()), null, null);
+
+    private final Loan loan = Loan.builder()
+            .id(7L)
+            .loanAmount(new BigDecimal("200000.00"))
+            .interestRate(new BigDecimal("6.0000"))
+            .numberOfPayments(360)
+            .totalPayment(new BigDecimal("431676.00"))
+            .totalInterest(new BigDecimal("231676.00"))
+            .build();
+
+    private final BigDecimal monthlyInterestRate = loanCalculator.calculateMonthlyInterestRate(loan.getInterestRate());
+    private final List<PaymentScheduleDTO> original = loanCalculator.generatePaymentSchedule(loan.getLoanAmount(),
+            monthlyInterestRate, 360, loanCalculator.calculateMonthlyPayment(loan.getLoanAmount(), monthlyInterestRate, 360));
+
+    @Test
+    @DisplayName("Stored periods before the first event are reused as they are")
+    void storedPeriods_Reused() {
+        // Marked, so the copied period can be told apart from a generated one
+        PaymentSchedule stored = columns(original.subList(0, 23), 1);
+        ScheduleEvents events = ScheduleEvents.of(List.of(extraPayment(24, "10000")), 360);
+
+        RecalculatedScheduleDTO fromStored = loanCalculator.recalculateSchedule(loan, stored, events);
+        RecalculatedScheduleDTO generated = loanCalculator.recalculateSchedule(loan, null, events);
+
+        assertThat(fromStored.getRecalculatedFromPeriod()).isEqualTo(24);
+        assertThat(fromStored.getPaymentSchedule().get(0).getInterestAmount())
+                .isEqualByComparingTo(original.get(0).getInterestAmount().add(new BigDecimal("0.01")));
+        assertThat(fromStored.getPaymentSchedule().subList(1, 23)).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(original.subList(1, 23));
+        // Both continue from the balance owed in cents, so it does not matter where the earlier periods came from
+        assertThat(fromStored.getPaymentSchedule().subList(23, 360)).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(generated.getPaymentSchedule().subList(23, 360));
+    }
+
+    @Test
+    @DisplayName("Extra payment reduces the balance and the later payments")
+    void extraPayment_ReAmortizes() {
+        RecalculatedScheduleDTO recalculated = loanCalculator.recalculateSchedule(loan, null,
+                ScheduleEvents.of(List.of(extraPayment(24, "10000")), 360));
+        List<PaymentScheduleDTO> schedule = recalculated.getPaymentSchedule();
+
+        PaymentScheduleDTO prepaid = schedule.get(23);
+        assertThat(prepaid.getPayment()).isEqualByComparingTo(original.get(23).getPayment().add(new BigDecimal("10000")));
+        assertThat(prepaid.getInterestAmount()).isEqualByComparingTo(original.get(23).getInterestAmount());
+        assertThat(prepaid.getBalanceOwed()).isEqualByComparingTo(original.get(23).getBalanceOwed().subtract(new BigDecimal("10000")));
+        assertThat(schedule.get(24).getPayment()).isLessThan(original.get(24).getPayment());
+        assertThat(schedule).hasSize(360);
+        assertThat(schedule.get(359).getBalanceOwed()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(recalculated.getTotalInterest()).isLessThan(loan.getTotalInterest());
+        assertThat(recalculated.getTotalPayment()).isEqualByComparingTo(loan.getLoanAmount().add(recalculated.getTotalInterest()));
+    }
+
+    @Test
+    @DisplayName("Extra payment covering the balance ends the schedule")
+    void extraPayment_PaysOff() {
+        RecalculatedScheduleDTO recalculated = loanCalculator.recalculateSchedule(loan, null,
+                ScheduleEvents.of(List.of(extraPayment(100, "1000000"), rateChange(200, "9")), 360));
+        List<PaymentScheduleDTO> schedule = recalculated.getPaymentSchedule();
+
+        PaymentScheduleDTO last = schedule.get(schedule.size() - 1);
+        assertThat(schedule).hasSize(100);
+        assertThat(last.getBalanceOwed()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(last.getPayment()).isEqualByComparingTo(original.get(99).getPayment().add(original.get(99).getBalanceOwed()));
+    }
+
+    @Test
+    @DisplayName("Rate change applies from the interest of its period on")
+    void rateChange_ReAmortizes() {
+        RecalculatedScheduleDTO recalculated = loanCalculator.recalculateSchedule(loan, null,
+                ScheduleEvents.of(List.of(rateChange(13, "9")), 360));
+        List<PaymentScheduleDTO> schedule = recalculated.getPaymentSchedule();
+
+        BigDecimal balance = original.get(11).getBalanceOwed();
+        BigDecimal newRate = loanCalculator.calculateMonthlyInterestRate(new BigDecimal("9"));
+        assertThat(schedule.get(12).getInterestAmount()).isEqualByComparingTo(balance.multiply(newRate).setScale(2, RoundingMode.HALF_UP));
+        assertThat(schedule.get(12).getPayment()).isEqualByComparingTo(loanCalculator.calculateMonthlyPayment(balance, newRate, 348));
+        assertThat(schedule).hasSize(360);
+        assertThat(schedule.get(359).getBalanceOwed()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(recalculated.getTotalInterest()).isGreaterThan(loan.getTotalInterest());
+    }
+
+    @Test
+    @DisplayName("Events are merged per period and validated")
+    void events_MergedAndValidated() {
+        ScheduleEvents events = ScheduleEvents.of(List.of(rateChange(30, "4"), extraPayment(12, "100"), extraPayment(12, "50.50")), 360);
+
+        assertThat(events.firstPeriod()).isEqualTo(12);
+        assertThat(events.changes()).containsExactly(
+                new ScheduleEvents.Change(12, null, new BigDecimal("150.50")),
+                new ScheduleEvents.Change(30, new BigDecimal("4"), null));
+        assertThatThrownBy(() -> ScheduleEvents.of(List.of(rateChange(5, "4"), rateChange(5, "5")), 360))
+                .isInstanceOf(InvalidLoanParametersException.class)
+                .hasMessage("Period 5 has more than one rate change");
+        assertThatThrownBy(() -> ScheduleEvents.of(List.of(extraPayment(361, "100")), 360))
+                .isInstanceOf(InvalidLoanParametersException.class)
+                .hasMessage("Event period must be between 1 and 360");
+        assertThatThrownBy(() -> ScheduleEvents.of(List.of(extraPayment(5, "0.001")), 360))
+                .isInstanceOf(InvalidLoanParametersException.class);
+    }
+
+    private static ScheduleEventDTO extraPayment(int period, String amount) {
+        return ScheduleEventDTO.builder().type(ScheduleEventDTO.Type.EXTRA_PAYMENT).period(period).amount(new BigDecimal(amount)).build();
+    }
+
+    private static ScheduleEventDTO rateChange(int period, String interestRate) {
+        return ScheduleEventDTO.builder().type(ScheduleEventDTO.Type.RATE_CHANGE).period(period).interestRate(new BigDecimal(interestRate)).build();
+    }
+
+    private static PaymentSchedule columns(List<PaymentScheduleDTO> rows, long firstInterestMarker) {
+        int size = rows.size();
+        int[] periods = new int[size];
+        long[] payments = new long[size];
+        long[] principalAmounts = new long[size];
+        long[] interestAmounts = new long[size];
+        long[] balancesOwed = new long[size];
+        for (int i = 0; i < size; i++) {
+            PaymentScheduleDTO row = rows.get(i);
+            periods[i] = row.getPeriod();
+            payments[i] = row.getPayment().movePointRight(2).longValueExact();
+            principalAmounts[i] = row.getPrincipalAmount().movePointRight(2).longValueExact();
+            interestAmounts[i] = row.getInterestAmount().movePointRight(2).longValueExact();
+            balancesOwed[i] = row.getBalanceOwed().movePointRight(2).longValueExact();
+        }
+        interestAmounts[0] += firstInterestMarker;
+        return new PaymentSchedule(periods, payments, principalAmounts, interestAmounts, balancesOwed, size);
+    }
+}
@@ -0,0 +1,187 @@
+package com.kuzminac.loan_service.loan_calculator.service;
+
+import com.kuzminac.loan_service.loan_calculator.config.PersistenceProperties;
+import com.kuzminac.loan_service.loan_calculator.entity.Loan;
+import com.kuzminac.loan_service.loan_calculator.exception.PersistenceUnavailableException;
+import com.kuzminac.loan_service.loan_calculator.repository.LoanScheduleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindLoanWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private LoanScheduleRepository loanScheduleRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<List<Loan>> schedulesCaptor;
+
+    private final PersistenceProperties properties = new PersistenceProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<Long>> insertedBatches = new ArrayList<>();
+    private WriteBehindLoanWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        properties.getWriteBehind().setBatchSize(2);
+        properties.getWriteBehind().setFlushInterval(Duration.ofMillis(10));
+        lenient().when(jdbcTemplate.queryForObject(eq("SELECT nextval('loans_id_seq')"), eq(Long.class))).thenReturn(50L, 100L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null && writer.isRunning()) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Test Queued Loans Get Pooled Ids and Are Drained in Batches on Stop")
+    void save_DrainedOnStop() {
+        // Arrange
+        recordInserts(null);
+        writer = startWriter();
+
+        // Act
+        List<Loan> loans = List.of(loan(), loan(), loan(), loan(), loan());
+        writer.saveAll(loans);
+        writer.stop();
+
+        // Assert
+        assertThat(loans).extracting(Loan::getId).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(insertedBatches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(2));
+        assertThat(insertedBatches.stream().flatMap(List::stream)).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(meterRegistry.get("loans.write_behind.queue.depth").gauge().value()).isZero();
+        assertThat(meterRegistry.get("loans.write_behind.flush.lag").timer().count()).isEqualTo(5);
+        verify(loanScheduleRepository, atLeastOnce()).insertAll(schedulesCaptor.capture());
+        assertThat(schedulesCaptor.getAllValues().stream().flatMap(List::stream)).extracting(Loan::getId)
+                .containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    @DisplayName("Test Full Queue Rejects the Loan After the Offer Timeout")
+    void save_Backpressure() throws InterruptedException {
+        // Arrange
+        properties.getWriteBehind().setQueueCapacity(1);
+        properties.getWriteBehind().setBatchSize(1);
+        properties.getWriteBehind().setOfferTimeout(Duration.ofMillis(200));
+        CountDownLatch release = new CountDownLatch(1);
+        recordInserts(release);
+        writer = startWriter();
+
+        // Act: the writer holds the first loan, the second fills the queue
+        writer.save(loan());
+        writer.save(loan());
+
+        // Assert
+        assertThatThrownBy(() -> writer.save(loan()))
+                .isInstanceOf(PersistenceUnavailableException.class)
+                .hasMessage("Loan persistence queue is full, please retry later");
+        release.countDown();
+        writer.stop();
+        assertThat(insertedBatches.stream().flatMap(List::stream)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Test Failing Batch Is Retried and Then Dropped")
+    void save_RetriesThenDrops() {
+        // Arrange
+        properties.getWriteBehind().setMaxAttempts(2);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), anySetter()))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+        writer = startWriter();
+
+        // Act
+        writer.save(loan());
+        writer.stop();
+
+        // Assert
+        assertThat(meterRegistry.get("loans.write_behind.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test Saving After Stop Is Rejected")
+    void save_AfterStop() {
+        writer = startWriter();
+        writer.stop();
+
+        assertThatThrownBy(() -> writer.save(loan()))
+                .isInstanceOf(PersistenceUnavailableException.class)
+                .hasMessage("Loan persistence is shutting down");
+    }
+
+    private WriteBehindLoanWriter startWriter() {
+        WriteBehindLoanWriter started = new WriteBehindLoanWriter(jdbcTemplate, loanScheduleRepository, transactionManager, properties, meterRegistry);
+        started.start();
+        return started;
+    }
+
+    private void recordInserts(CountDownLatch release) {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), anySetter()))
+                .thenAnswer(invocation -> {
+                    if (release != null) {
+                        release.await(5, TimeUnit.SECONDS);
+                    }
+                    Collection<WriteBehindLoanWriter.PendingLoan> batch = invocation.getArgument(1);
+                    List<Long> ids = batch.stream().map(pending -> pending.loan().getId()).toList();
+                    synchronized (insertedBatches) {
+                        insertedBatches.add(ids);
+                    }
+                    return new int[0][];
+                });
+    }
+
+    private static ParameterizedPreparedStatementSetter<WriteBehindLoanWriter.PendingLoan> anySetter() {
+        return any();
+    }
+
+    private static Loan loan() {
+        return Loan.builder()
+                .loanAmount(new BigDecimal("1000.00"))
+                .interestRate(new BigDecimal("5.0"))
+                .numberOfPayments(3)
+                .totalPayment(new BigDecimal("1008.33"))
+                .totalInterest(new BigDecimal("8.33"))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
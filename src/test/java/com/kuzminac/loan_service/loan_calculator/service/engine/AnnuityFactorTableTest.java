@@ -0,0 +1,56 @@
+package com.kuzminac.loan_service.loan_calculator.service.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnnuityFactorTableTest {
+
+    private final AnnuityFactorTable table = new AnnuityFactorTable(600);
+
+    @Test
+    @DisplayName("Payments with precomputed factors equal the directly computed payments")
+    void payment_MatchesDirectCalculation() {
+        List<BigDecimal> rates = List.of(new BigDecimal("0.125"), new BigDecimal("4.875"), new BigDecimal("5.5"), new BigDecimal("29.99"));
+        table.load(rates);
+        BigDecimalAmortizationEngine tabulated = new BigDecimalAmortizationEngine(table);
+        BigDecimalAmortizationEngine direct = new BigDecimalAmortizationEngine();
+
+        for (BigDecimal annualRate : rates) {
+            BigDecimal monthlyRate = AmortizationMath.monthlyInterestRate(annualRate);
+            for (int term = 1; term <= 600; term++) {
+                for (BigDecimal principal : List.of(new BigDecimal("0.01"), new BigDecimal("27000.00"), new BigDecimal("123456789.12"))) {
+                    assertThat(tabulated.calculateMonthlyPayment(principal, monthlyRate, term))
+                            .isEqualTo(direct.calculateMonthlyPayment(principal, monthlyRate, term));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Rates off the sheet, zero rates and longer terms are not tabulated")
+    void denominator_Misses() {
+        table.load(List.of(BigDecimal.ZERO, new BigDecimal("5.5")));
+
+        assertThat(table.denominator(AmortizationMath.monthlyInterestRate(new BigDecimal("5.50")), 36)).isNotNull();
+        assertThat(table.denominator(AmortizationMath.monthlyInterestRate(new BigDecimal("5.6")), 36)).isNull();
+        assertThat(table.denominator(AmortizationMath.monthlyInterestRate(BigDecimal.ZERO), 36)).isNull();
+        assertThat(table.denominator(AmortizationMath.monthlyInterestRate(new BigDecimal("5.5")), 601)).isNull();
+    }
+
+    @Test
+    @DisplayName("Loading a new sheet replaces the previous one")
+    void load_ReplacesSheet() {
+        table.load(List.of(new BigDecimal("5.5")));
+        table.load(List.of(new BigDecimal("7.25"), new BigDecimal("3.0")));
+
+        assertThat(table.getAnnualRates()).containsExactly(new BigDecimal("3.0"), new BigDecimal("7.25"));
+        assertThat(table.denominator(AmortizationMath.monthlyInterestRate(new BigDecimal("5.5")), 36)).isNull();
+        assertThat(table.denominator(AmortizationMath.monthlyInterestRate(new BigDecimal("7.25")), 36))
+                .isEqualTo(AmortizationMath.annuityDenominator(AmortizationMath.monthlyInterestRate(new BigDecimal("7.25")), 36));
+    }
+}
@@ -0,0 +1,200 @@
+package com.kuzminac.loan_service.loan_calculator.service.engine;
+
+import com.kuzminac.loan_service.loan_calculator.config.CalculationProperties;
+import com.kuzminac.loan_service.loan_calculator.service.BatchCalculationExecutor;
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Label;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import net.jqwik.api.constraints.IntRange;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ClosedFormAmortizationEngineTest {
+
+    private static final BatchCalculationExecutor batchExecutor = new BatchCalculationExecutor(new CalculationProperties());
+
+    private final BigDecimalAmortizationEngine reference = new BigDecimalAmortizationEngine();
+    private final ClosedFormAmortizationEngine engine = new ClosedFormAmortizationEngine(new FixedPointAmortizationEngine(reference), batchExecutor);
+
+    @Provide
+    Arbitrary<BigDecimal> principals() {
+        return Arbitraries.bigDecimals().between(new BigDecimal("100.00"), new BigDecimal("10000000")).ofScale(2);
+    }
+
+    @Provide
+    Arbitrary<BigDecimal> annualRates() {
+        return Arbitraries.bigDecimals().between(BigDecimal.ZERO, new BigDecimal("30")).ofScale(3);
+    }
+
+    @Provide
+    Arbitrary<BigDecimal> lowAnnualRates() {
+        return Arbitraries.bigDecimals().between(BigDecimal.ZERO, new BigDecimal("3")).ofScale(3);
+    }
+
+    @Property(tries = 300)
+    @Label("Any single period matches the sequential schedule within a cent")
+    void period_MatchesReference(@ForAll("principals") BigDecimal principal,
+                                 @ForAll("annualRates") BigDecimal annualRate,
+                                 @ForAll @IntRange(min = 1, max = 600) int numberOfPayments,
+                                 @ForAll @IntRange(min = 1, max = 600) int period) {
+        int requestedPeriod = Math.min(period, numberOfPayments);
+        BigDecimal monthlyRate = AmortizationMath.monthlyInterestRate(annualRate);
+        BigDecimal payment = engine.calculateMonthlyPayment(principal, monthlyRate, numberOfPayments);
+
+        List<long[]> expected = new ArrayList<>();
+        reference.generatePaymentSchedule(principal, monthlyRate, numberOfPayments, payment, requestedPeriod, requestedPeriod, record(expected));
+        List<long[]> actual = new ArrayList<>();
+        engine.generatePaymentSchedule(principal, monthlyRate, numberOfPayments, payment, requestedPeriod, requestedPeriod, record(actual));
+
+        assertWithinOneCent(actual, expected);
+    }
+
+    @Property(tries = 30)
+    @Label("Parallel chunked schedule matches the sequential schedule within a cent")
+    void schedule_MatchesReference(@ForAll("principals") BigDecimal principal,
+                                   @ForAll("lowAnnualRates") BigDecimal annualRate,
+                                   @ForAll @IntRange(min = ClosedFormAmortizationEngine.PARALLEL_THRESHOLD, max = 4800) int numberOfPayments) {
+        BigDecimal monthlyRate = AmortizationMath.monthlyInterestRate(annualRate);
+        BigDecimal payment = engine.calculateMonthlyPayment(principal, monthlyRate, numberOfPayments);
+
+        List<long[]> expected = new ArrayList<>();
+        reference.generatePaymentSchedule(principal, monthlyRate, numberOfPayments, payment, record(expected));
+        List<long[]> actual = new ArrayList<>();
+        engine.generatePaymentSchedule(principal, monthlyRate, numberOfPayments, payment, record(actual));
+
+        assertWithinOneCent(actual, expected);
+    }
+
+    @Example
+    @Label("Final period absorbs the residual like the sequential loop")
+    void schedule_FinalPeriodReconciled() {
+        BigDecimal principal = new BigDecimal("300000.00");
+        BigDecimal monthlyRate = AmortizationMath.monthlyInterestRate(new BigDecimal("4.25"));
+        BigDecimal payment = engine.calculateMonthlyPayment(principal, monthlyRate, 360);
+
+        List<long[]> rows = new ArrayList<>();
+        engine.generatePaymentSchedule(principal, monthlyRate, 360, payment, 360, 360, record(rows));
+        List<long[]> expected = new ArrayList<>();
+        reference.generatePaymentSchedule(principal, monthlyRate, 360, payment, 360, 360, record(expected));
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)[4]).isZero();
+        assertWithinOneCent(rows, expected);
+    }
+
+    @Example
+    @Label("Chunks carry the balance over, so the principal amounts add up to the loan amount")
+    void schedule_PrincipalAddsUpAcrossChunks() {
+        // Balances rounded to cents make the loop drift from the formula by whole cents within a chunk
+        ClosedFormAmortizationEngine chunked = new ClosedFormAmortizationEngine(new CentRoundingEngine(), batchExecutor);
+        BigDecimal principal = new BigDecimal("250000.00");
+        BigDecimal monthlyRate = AmortizationMath.monthlyInterestRate(new BigDecimal("1.0"));
+        int numberOfPayments = 2400;
+        BigDecimal payment = chunked.calculateMonthlyPayment(principal, monthlyRate, numberOfPayments);
+
+        List<long[]> rows = new ArrayList<>();
+        chunked.generatePaymentSchedule(principal, monthlyRate, numberOfPayments, payment, record(rows));
+
+        assertThat(rows).hasSize(numberOfPayments);
+        assertThat(rows.stream().mapToLong(row -> row[2]).sum()).isEqualTo(25_000_000L);
+        long balance = 25_000_000L;
+        for (long[] row : rows) {
+            assertThat(row[4]).as("balance after period %d", row[0]).isEqualTo(balance - row[2]);
+            balance = row[4];
+        }
+        assertThat(balance).isZero();
+    }
+
+    @Example
+    @Label("Schedule generated on a batch worker runs its chunks on that worker")
+    void schedule_OnBatchWorker() {
+        CalculationProperties properties = new CalculationProperties();
+        properties.getBatch().setParallelism(1);
+        BatchCalculationExecutor singleWorker = new BatchCalculationExecutor(properties);
+        try {
+            ClosedFormAmortizationEngine onWorker = new ClosedFormAmortizationEngine(new FixedPointAmortizationEngine(reference), singleWorker);
+            BigDecimal principal = new BigDecimal("250000.00");
+            BigDecimal monthlyRate = AmortizationMath.monthlyInterestRate(new BigDecimal("2.5"));
+            BigDecimal payment = onWorker.calculateMonthlyPayment(principal, monthlyRate, 3000);
+
+            // Waiting for chunks queued behind itself would block the only worker for good
+            List<long[]> rows = new ArrayList<>();
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> singleWorker.forEachIndex(1,
+                    task -> onWorker.generatePaymentSchedule(principal, monthlyRate, 3000, payment, record(rows))));
+
+            assertThat(rows).hasSize(3000);
+            assertThat(rows.get(2999)[4]).isZero();
+        } finally {
+            singleWorker.destroy();
+        }
+    }
+
+    @Example
+    @Label("Balance after payment 240 without walking the schedule")
+    void balanceAfter_MidSchedule() {
+        BigDecimal principal = new BigDecimal("300000.00");
+        BigDecimal monthlyRate = AmortizationMath.monthlyInterestRate(new BigDecimal("4.25"));
+        BigDecimal payment = engine.calculateMonthlyPayment(principal, monthlyRate, 360);
+
+        List<long[]> expected = new ArrayList<>();
+        reference.generatePaymentSchedule(principal, monthlyRate, 360, payment, 240, 240, record(expected));
+
+        BigDecimal balance = engine.balanceAfter(principal, monthlyRate, payment, 240).setScale(2, RoundingMode.HALF_UP);
+        assertThat(balance).isCloseTo(BigDecimal.valueOf(expected.get(0)[4], 2), within(new BigDecimal("0.01")));
+    }
+
+    private static void assertWithinOneCent(List<long[]> actual, List<long[]> expected) {
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i)[0]).isEqualTo(expected.get(i)[0]);
+            for (int column = 1; column < 5; column++) {
+                assertThat(actual.get(i)[column]).isCloseTo(expected.get(i)[column], within(1L));
+            }
+        }
+    }
+
+    private static ScheduleSink record(List<long[]> rows) {
+        return (period, payment, principalAmount, interestAmount, balanceOwed) ->
+                rows.add(new long[]{period, payment, principalAmount, interestAmount, balanceOwed});
+    }
+
+    /**
+     * The sequential loop with every amount rounded to cents instead of to scale 10.
+     */
+    private static final class CentRoundingEngine implements AmortizationEngine {
+
+        @Override
+        public BigDecimal calculateMonthlyPayment(BigDecimal principal, BigDecimal monthlyInterestRate, int numberOfPayments) {
+            return new BigDecimalAmortizationEngine().calculateMonthlyPayment(principal, monthlyInterestRate, numberOfPayments);
+        }
+
+        @Override
+        public BigDecimal continueSchedule(BigDecimal openingBalance, BigDecimal monthlyInterestRate, int numberOfPayments,
+                                           BigDecimal payment, int firstPeriod, int lastPeriod, ScheduleSink sink) {
+            BigDecimal balance = openingBalance;
+            for (int period = firstPeriod; period <= lastPeriod; period++) {
+                BigDecimal interest = balance.multiply(monthlyInterestRate).setScale(2, RoundingMode.HALF_UP);
+                BigDecimal principalAmount = payment.subtract(interest);
+                balance = balance.subtract(principalAmount).setScale(2, RoundingMode.HALF_UP);
+                if (period == numberOfPayments) {
+                    principalAmount = principalAmount.add(balance);
+                    balance = BigDecimal.ZERO;
+                }
+                sink.accept(period, payment, principalAmount.setScale(2, RoundingMode.HALF_UP), interest, balance.max(BigDecimal.ZERO));
+            }
+            return balance;
+        }
+    }
+}
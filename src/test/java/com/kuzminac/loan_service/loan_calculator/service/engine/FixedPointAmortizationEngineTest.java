@@ -0,0 +1,115 @@
+package com.kuzminac.loan_service.loan_calculator.service.engine;
+
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Label;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FixedPointAmortizationEngineTest {
+
+    private final BigDecimalAmortizationEngine reference = new BigDecimalAmortizationEngine();
+    private final FixedPointAmortizationEngine engine = new FixedPointAmortizationEngine(reference);
+
+    @Provide
+    Arbitrary<BigDecimal> principals() {
+        return Arbitraries.oneOf(
+                Arbitraries.bigDecimals().between(new BigDecimal("0.01"), new BigDecimal("100000000")).ofScale(2),
+                Arbitraries.bigDecimals().between(new BigDecimal("0.01"), new BigDecimal("5000")).ofScale(4),
+                Arbitraries.bigDecimals().between(BigDecimal.ONE, new BigDecimal("10000000000000")).ofScale(0));
+    }
+
+    @Provide
+    Arbitrary<BigDecimal> annualRates() {
+        return Arbitraries.oneOf(
+                Arbitraries.bigDecimals().between(BigDecimal.ZERO, new BigDecimal("30")).ofScale(4),
+                Arbitraries.bigDecimals().between(BigDecimal.ZERO, new BigDecimal("250")).ofScale(1),
+                Arbitraries.of(BigDecimal.ZERO, new BigDecimal("5.5"), new BigDecimal("5.50")));
+    }
+
+    @Provide
+    Arbitrary<Integer> terms() {
+        return Arbitraries.oneOf(
+                Arbitraries.integers().between(1, 600),
+                Arbitraries.of(1, 12, 36, 360, 600));
+    }
+
+    @Property(tries = 1500)
+    @Label("Fixed-point schedule is cent-identical to the BigDecimal schedule")
+    void schedule_MatchesReference(@ForAll("principals") BigDecimal principal,
+                                   @ForAll("annualRates") BigDecimal annualRate,
+                                   @ForAll("terms") int numberOfPayments) {
+        assertThat(schedule(engine, principal, annualRate, numberOfPayments))
+                .containsExactlyElementsOf(schedule(reference, principal, annualRate, numberOfPayments));
+    }
+
+    @Example
+    @Label("Balances that outgrow a long are continued on the reference engine")
+    void schedule_OverflowHandsOffToReference() {
+        // Half a cent of payment rounding compounds over 10,000 periods into a balance far beyond long range
+        BigDecimal principal = new BigDecimal("250000.00");
+        BigDecimal annualRate = new BigDecimal("5.5");
+
+        List<String> fixedPoint = schedule(engine, principal, annualRate, 10_000);
+
+        assertThat(fixedPoint).hasSize(10_000).containsExactlyElementsOf(schedule(reference, principal, annualRate, 10_000));
+    }
+
+    @Example
+    @Label("Principal with more decimals than the fixed-point scale falls back to the reference engine")
+    void schedule_UnrepresentablePrincipal() {
+        BigDecimal principal = new BigDecimal("1000.000000000001");
+        BigDecimal annualRate = new BigDecimal("7.25");
+
+        assertThat(schedule(engine, principal, annualRate, 24))
+                .containsExactlyElementsOf(schedule(reference, principal, annualRate, 24));
+    }
+
+    @Example
+    @Label("Interest rounding follows MathContext(20) before scale 10")
+    void interest_DoubleRounding() {
+        // 123456789.0123456789 * 0.0045833333 has 29 significant digits at scale 20
+        long balance = 1_234_567_890_123_456_789L;
+        long rate = 45_833_333L;
+
+        BigDecimal expected = BigDecimal.valueOf(balance, 10)
+                .multiply(BigDecimal.valueOf(rate, 10), AmortizationMath.MC)
+                .setScale(10, java.math.RoundingMode.HALF_UP);
+
+        assertThat(FixedPointAmortizationEngine.interest(balance, rate)).isEqualTo(expected.unscaledValue().longValueExact());
+        assertThat(FixedPointAmortizationEngine.interest(-balance, rate)).isEqualTo(expected.negate().unscaledValue().longValueExact());
+    }
+
+    private static List<String> schedule(AmortizationEngine engine, BigDecimal principal, BigDecimal annualRate, int numberOfPayments) {
+        BigDecimal monthlyRate = AmortizationMath.monthlyInterestRate(annualRate);
+        BigDecimal payment = engine.calculateMonthlyPayment(principal, monthlyRate, numberOfPayments);
+        RecordingSink sink = new RecordingSink();
+        engine.generatePaymentSchedule(principal, monthlyRate, numberOfPayments, payment, sink);
+        return sink.rows;
+    }
+
+    private static class RecordingSink implements ScheduleSink {
+
+        private final List<String> rows = new ArrayList<>();
+
+        @Override
+        public void accept(int period, long payment, long principalAmount, long interestAmount, long balanceOwed) {
+            accept(period, BigDecimal.valueOf(payment, 2), BigDecimal.valueOf(principalAmount, 2),
+                    BigDecimal.valueOf(interestAmount, 2), BigDecimal.valueOf(balanceOwed, 2));
+        }
+
+        @Override
+        public void accept(int period, BigDecimal payment, BigDecimal principalAmount, BigDecimal interestAmount, BigDecimal balanceOwed) {
+            rows.add(period + " " + payment.toPlainString() + " " + principalAmount.toPlainString() + " "
+                    + interestAmount.toPlainString() + " " + balanceOwed.toPlainString());
+        }
+    }
+}